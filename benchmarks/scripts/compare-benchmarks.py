@@ -0,0 +1,127 @@
+#!/usr/bin/env python3
+"""Compares two JMH JSON result files and flags regressions.
+
+Usage:
+    scripts/compare-benchmarks.py baseline.json current.json [--threshold 10] [--alloc-threshold 5]
+
+For every benchmark present in both files, prints the primary score, its change against the
+baseline and the normalised allocation rate (gc.alloc.rate.norm, bytes per operation) reported
+by the GC profiler. A benchmark regresses when its score gets worse by more than --threshold
+percent beyond the combined error margins, or its allocation per operation grows by more than
+--alloc-threshold percent. Exits with status 1 if anything regressed.
+"""
+
+import argparse
+import json
+import sys
+
+ALLOC_METRIC = "gc.alloc.rate.norm"
+
+# Modes where a higher score is better; every other mode reports time per operation.
+HIGHER_IS_BETTER = {"thrpt"}
+
+
+def load(path):
+    with open(path, encoding="utf-8") as results_file:
+        results = json.load(results_file)
+    return {key(result): result for result in results}
+
+
+def key(result):
+    params = result.get("params") or {}
+    suffix = ",".join(f"{name}={value}" for name, value in sorted(params.items()))
+    return f"{result['benchmark']}:{result['mode']}" + (f"[{suffix}]" if suffix else "")
+
+
+def short_name(name):
+    benchmark, _, rest = name.partition(":")
+    return ".".join(benchmark.split(".")[-2:]) + ":" + rest
+
+
+def error(metric):
+    value = metric.get("scoreError")
+    return 0.0 if value in (None, "NaN") else float(value)
+
+
+def allocation(result):
+    metric = (result.get("secondaryMetrics") or {}).get(ALLOC_METRIC)
+    return None if metric is None else float(metric["score"])
+
+
+def percent_change(baseline, current):
+    return 0.0 if baseline == 0 else (current - baseline) / baseline * 100.0
+
+
+def compare(baseline, current, threshold, alloc_threshold):
+    rows = []
+    regressions = []
+    for name in sorted(baseline.keys() & current.keys()):
+        before, after = baseline[name], current[name]
+        metric_before, metric_after = before["primaryMetric"], after["primaryMetric"]
+        score_before, score_after = float(metric_before["score"]), float(metric_after["score"])
+
+        # Normalise so that a positive change is always a slowdown.
+        worse_by = score_after - score_before
+        if before["mode"] in HIGHER_IS_BETTER:
+            worse_by = -worse_by
+        margin = error(metric_before) + error(metric_after)
+        slower = (worse_by > margin
+                  and abs(percent_change(score_before, score_after)) > threshold)
+
+        alloc_before, alloc_after = allocation(before), allocation(after)
+        allocates_more = (alloc_before is not None and alloc_after is not None
+                          and alloc_after - alloc_before > 1.0
+                          and percent_change(alloc_before, alloc_after) > alloc_threshold)
+
+        status = "REGRESSED" if slower or allocates_more else "ok"
+        if status != "ok":
+            regressions.append(name)
+        rows.append((
+            short_name(name),
+            f"{score_before:.3f}",
+            f"{score_after:.3f} ± {error(metric_after):.3f}",
+            metric_after["scoreUnit"],
+            f"{percent_change(score_before, score_after):+.1f}%",
+            "-" if alloc_after is None else f"{alloc_after:.1f}",
+            "-" if alloc_before is None or alloc_after is None
+            else f"{percent_change(alloc_before, alloc_after):+.1f}%",
+            status,
+        ))
+    return rows, regressions
+
+
+def print_table(rows):
+    header = ("benchmark", "baseline", "current", "unit", "change", "B/op", "alloc", "status")
+    widths = [max(len(str(row[i])) for row in [header, *rows]) for i in range(len(header))]
+    for row in [header, *rows]:
+        print("  ".join(str(cell).ljust(width) for cell, width in zip(row, widths)))
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__,
+                                     formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0,
+                        help="allowed score regression in percent (default: 10)")
+    parser.add_argument("--alloc-threshold", type=float, default=5.0,
+                        help="allowed growth of bytes per operation in percent (default: 5)")
+    args = parser.parse_args()
+
+    baseline, current = load(args.baseline), load(args.current)
+    rows, regressions = compare(baseline, current, args.threshold, args.alloc_threshold)
+    print_table(rows)
+
+    for name in sorted(baseline.keys() - current.keys()):
+        print(f"missing from current run: {short_name(name)}")
+    for name in sorted(current.keys() - baseline.keys()):
+        print(f"new benchmark without baseline: {short_name(name)}")
+
+    if regressions:
+        print(f"\n{len(regressions)} benchmark(s) regressed")
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
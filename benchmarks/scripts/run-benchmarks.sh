@@ -0,0 +1,17 @@
+#!/usr/bin/env bash
+# Installs patient-service, builds the benchmarks and runs them with the GC profiler, writing JMH
+# JSON results. Extra arguments are passed to JMH, e.g. a benchmark regex:
+#
+#   scripts/run-benchmarks.sh target/jmh-results.json PatientMapperBenchmark
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+output="${1:-target/jmh-results.json}"
+shift || true
+
+(cd ../patient-service && mvn -B -q install -DskipTests)
+mvn -B -q package
+
+mkdir -p "$(dirname "$output")"
+java -jar target/benchmarks.jar -prof gc -rf json -rff "$output" "$@"
@@ -0,0 +1,78 @@
+package com.pm.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pm.patientservice.model.dto.APIResponse;
+import com.pm.patientservice.model.dto.PatientDTO;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jackson serialization of the response envelopes returned by PatientController, using an
+ * ObjectMapper built with the same defaults Spring Boot applies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class APIResponseSerializationBenchmark {
+
+  private static final int PAGE_SIZE = 50;
+
+  private ObjectMapper objectMapper;
+
+  private ObjectWriter patientWriter;
+
+  private APIResponse<PatientDTO> patientResponse;
+
+  private APIResponse<List<PatientDTO>> pageResponse;
+
+  private byte[] patientJson;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    patientWriter = objectMapper.writerFor(new TypeReference<APIResponse<PatientDTO>>() { });
+    patientResponse = new APIResponse<>(PatientFixtures.patientDTO(1));
+    pageResponse = new APIResponse<>(
+        IntStream.range(0, PAGE_SIZE).mapToObj(PatientFixtures::patientDTO).toList());
+    patientJson = objectMapper.writeValueAsBytes(PatientFixtures.patientDTO(1));
+  }
+
+  @Benchmark
+  public byte[] writePatient() throws IOException {
+    return objectMapper.writeValueAsBytes(patientResponse);
+  }
+
+  @Benchmark
+  public byte[] writePatientWithTypedWriter() throws IOException {
+    return patientWriter.writeValueAsBytes(patientResponse);
+  }
+
+  @Benchmark
+  public byte[] writePage() throws IOException {
+    return objectMapper.writeValueAsBytes(pageResponse);
+  }
+
+  @Benchmark
+  public PatientDTO readPatient() throws IOException {
+    return objectMapper.readValue(patientJson, PatientDTO.class);
+  }
+
+}
@@ -0,0 +1,149 @@
+package com.pm.benchmarks;
+
+import static com.pm.patientservice.service.PatientService.ERROR_MESSAGE_NOT_FOUND_BY_ID;
+
+import com.pm.patientservice.controller.PatientController;
+import com.pm.patientservice.exception.PatientNotFoundException;
+import com.pm.patientservice.exception.advice.GlobalExceptionHandler;
+import com.pm.patientservice.model.dto.APIResponse;
+import com.pm.patientservice.model.dto.PatientDTO;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+/**
+ * Error responses built by GlobalExceptionHandler. The handler's own logging is switched off in
+ * {@code logback.xml} so only exception and response construction is measured.
+ *
+ * <p>The {@code throwNotFound*} pair compares the 404 path before and after domain exceptions
+ * stopped capturing stack traces: the exception is thrown {@code stackDepth} frames down, as from
+ * a repository call under the Spring MVC and proxy frames, and caught and handled at the top by
+ * the same handler method. The two differ only in whether a stack trace is captured at the throw.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class GlobalExceptionHandlerBenchmark {
+
+  /**
+   * Frames between the handler and the throw; a request in the service sits about 150 deep.
+   */
+  @Param({"10", "150"})
+  public int stackDepth;
+
+  private GlobalExceptionHandler handler;
+
+  private UUID id;
+
+  private PatientNotFoundException notFound;
+
+  private MethodArgumentNotValidException notValid;
+
+  @Setup
+  public void setUp() throws NoSuchMethodException {
+    handler = new GlobalExceptionHandler();
+    id = PatientFixtures.patient(1).getId();
+    notFound = new PatientNotFoundException(String.format(ERROR_MESSAGE_NOT_FOUND_BY_ID, id));
+
+    PatientDTO invalidPatient = PatientFixtures.invalidPatientDTO();
+    BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(invalidPatient,
+        "patientDTO");
+    bindingResult.addError(new FieldError("patientDTO", "name", "", false, null, null,
+        "Name is required"));
+    bindingResult.addError(new FieldError("patientDTO", "email", invalidPatient.getEmail(),
+        false, null, null, "Email should be valid"));
+    bindingResult.addError(new FieldError("patientDTO", "registeredDate", null, false, null,
+        null, "Registered date is required"));
+    MethodParameter parameter = new MethodParameter(
+        PatientController.class.getMethod("createPatient", PatientDTO.class), 0);
+    notValid = new MethodArgumentNotValidException(parameter, bindingResult);
+  }
+
+  /**
+   * Handling a pre-built exception: response construction only.
+   */
+  @Benchmark
+  public ResponseEntity<APIResponse<String>> handleNotFound() {
+    return handler.handlePatientNotFoundException(notFound);
+  }
+
+  /**
+   * Creating the exception as the service does, then handling it.
+   */
+  @Benchmark
+  public ResponseEntity<APIResponse<String>> createAndHandleNotFound() {
+    return handler.handlePatientNotFoundException(
+        new PatientNotFoundException(String.format(ERROR_MESSAGE_NOT_FOUND_BY_ID, id)));
+  }
+
+  @Benchmark
+  public ResponseEntity<APIResponse<Map<String, String>>> handleValidationErrors() {
+    return handler.handleMethodArgumentNotValidException(notValid);
+  }
+
+  /**
+   * The former 404 path: the same exception, with a stack trace captured where it is thrown.
+   */
+  @Benchmark
+  public ResponseEntity<APIResponse<String>> throwNotFoundWithStackTrace() {
+    return throwAndHandleNotFound(true);
+  }
+
+  /**
+   * The current 404 path: a stackless PatientNotFoundException.
+   */
+  @Benchmark
+  public ResponseEntity<APIResponse<String>> throwNotFound() {
+    return throwAndHandleNotFound(false);
+  }
+
+  private ResponseEntity<APIResponse<String>> throwAndHandleNotFound(
+      final boolean withStackTrace) {
+    try {
+      throwAt(stackDepth, withStackTrace);
+      throw new IllegalStateException("unreachable");
+    } catch (PatientNotFoundException ex) {
+      return handler.handlePatientNotFoundException(ex);
+    }
+  }
+
+  private void throwAt(final int depth, final boolean withStackTrace) {
+    if (depth > 0) {
+      throwAt(depth - 1, withStackTrace);
+      return;
+    }
+    String message = String.format(ERROR_MESSAGE_NOT_FOUND_BY_ID, id);
+    if (withStackTrace) {
+      throw new PatientNotFoundException(message, new StackTrace());
+    }
+    throw new PatientNotFoundException(message);
+  }
+
+  /**
+   * Captures the stack trace PatientNotFoundException filled in before it became stackless; a
+   * domain exception cannot record one itself, so it is carried as the cause.
+   */
+  private static final class StackTrace extends RuntimeException {
+
+  }
+
+}
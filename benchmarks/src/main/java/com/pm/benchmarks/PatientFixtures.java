@@ -0,0 +1,72 @@
+package com.pm.benchmarks;
+
+import com.pm.patientservice.model.dto.PatientDTO;
+import com.pm.patientservice.model.entities.Patient;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Deterministic patients for the benchmarks. Every run sees the same data, so results can be
+ * compared across machines and commits.
+ */
+public final class PatientFixtures {
+
+  private static final LocalDate DATE_OF_BIRTH = LocalDate.of(1985, 6, 15);
+
+  private static final LocalDate REGISTERED_DATE = LocalDate.of(2024, 1, 10);
+
+  private PatientFixtures() {
+    // Utility class, no instantiation allowed
+  }
+
+  /**
+   * Builds the {@code n}-th valid patient entity.
+   *
+   * @param n the fixture number
+   * @return a fully populated Patient
+   */
+  public static Patient patient(final int n) {
+    return Patient.builder()
+        .id(new UUID(0x0190_0000_0000_7000L + n, 0x8000_0000_0000_0000L + n))
+        .name("Patient " + n)
+        .email("patient" + n + "@example.com")
+        .address(n + " Main St, Springfield")
+        .dateOfBirth(DATE_OF_BIRTH.plusDays(n))
+        .registeredDate(REGISTERED_DATE)
+        .version((long) n)
+        .build();
+  }
+
+  /**
+   * Builds the {@code n}-th valid patient DTO.
+   *
+   * @param n the fixture number
+   * @return a PatientDTO that passes create validation
+   */
+  public static PatientDTO patientDTO(final int n) {
+    Patient patient = patient(n);
+    return PatientDTO.builder()
+        .id(patient.getId())
+        .name(patient.getName())
+        .email(patient.getEmail())
+        .address(patient.getAddress())
+        .dateOfBirth(patient.getDateOfBirth())
+        .registeredDate(patient.getRegisteredDate())
+        .version(patient.getVersion())
+        .build();
+  }
+
+  /**
+   * Builds a patient DTO that breaks several create constraints at once.
+   *
+   * @return a PatientDTO with a blank name, a malformed email and no registered date
+   */
+  public static PatientDTO invalidPatientDTO() {
+    PatientDTO patient = patientDTO(0);
+    patient.setName("");
+    patient.setEmail("invalid-email-format");
+    patient.setRegisteredDate(null);
+    return patient;
+  }
+
+}
@@ -0,0 +1,65 @@
+package com.pm.benchmarks;
+
+import com.pm.patientservice.model.dto.PatientDTO;
+import com.pm.patientservice.model.entities.Patient;
+import com.pm.patientservice.model.mapper.PatientMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MapStruct conversions between Patient and PatientDTO, singly and for a full page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class PatientMapperBenchmark {
+
+  private static final int PAGE_SIZE = 50;
+
+  private PatientMapper patientMapper;
+
+  private Patient patient;
+
+  private PatientDTO patientDTO;
+
+  private List<Patient> page;
+
+  @Setup
+  public void setUp() {
+    patientMapper = Mappers.getMapper(PatientMapper.class);
+    patient = PatientFixtures.patient(1);
+    patientDTO = PatientFixtures.patientDTO(1);
+    page = IntStream.range(0, PAGE_SIZE).mapToObj(PatientFixtures::patient).toList();
+  }
+
+  @Benchmark
+  public PatientDTO toDto() {
+    return patientMapper.toDto(patient);
+  }
+
+  @Benchmark
+  public Patient toEntity() {
+    return patientMapper.toEntity(patientDTO);
+  }
+
+  @Benchmark
+  public List<PatientDTO> toDtoPage() {
+    return page.stream().map(patientMapper::toDto).toList();
+  }
+
+}
@@ -0,0 +1,67 @@
+package com.pm.benchmarks;
+
+import com.pm.patientservice.model.dto.PatientDTO;
+import com.pm.patientservice.model.validators.CreatePatientValidationGroup;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.groups.Default;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bean Validation of a PatientDTO with the groups PatientController applies on create and update.
+ * The invalid case includes building and interpolating the violation messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class PatientValidationBenchmark {
+
+  private ValidatorFactory validatorFactory;
+
+  private Validator validator;
+
+  private PatientDTO validPatient;
+
+  private PatientDTO invalidPatient;
+
+  @Setup
+  public void setUp() {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    validator = validatorFactory.getValidator();
+    validPatient = PatientFixtures.patientDTO(1);
+    invalidPatient = PatientFixtures.invalidPatientDTO();
+  }
+
+  @TearDown
+  public void tearDown() {
+    validatorFactory.close();
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<PatientDTO>> validateValidPatient() {
+    return validator.validate(validPatient, Default.class, CreatePatientValidationGroup.class);
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<PatientDTO>> validateInvalidPatient() {
+    return validator.validate(invalidPatient, Default.class, CreatePatientValidationGroup.class);
+  }
+
+}
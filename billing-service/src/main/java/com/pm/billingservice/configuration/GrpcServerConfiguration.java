@@ -0,0 +1,51 @@
+package com.pm.billingservice.configuration;
+
+import com.pm.billingservice.grpc.BillingGrpcServer;
+import com.pm.billingservice.grpc.BillingGrpcService;
+import com.pm.billingservice.grpc.GrpcServerProperties;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Serves the billing gRPC API on Netty, next to the HTTP server used by the actuator.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(GrpcServerProperties.class)
+public class GrpcServerConfiguration {
+
+  /**
+   * The gRPC server. Calls run on virtual threads by default, or on a bounded platform thread pool
+   * when {@code billing.grpc.server.virtual-threads=false}; Netty's event loops only do I/O.
+   *
+   * @param properties         the server settings
+   * @param billingGrpcService the billing gRPC endpoint
+   * @return the server, started and stopped with the application context
+   */
+  @Bean
+  public BillingGrpcServer billingGrpcServer(final GrpcServerProperties properties,
+      final BillingGrpcService billingGrpcService) {
+    ExecutorService executor = properties.virtualThreads()
+        ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-billing-", 0).factory())
+        : Executors.newFixedThreadPool(properties.maxThreads(),
+            Thread.ofPlatform().name("grpc-billing-", 0).factory());
+
+    Server server = NettyServerBuilder.forPort(properties.port())
+        .executor(executor)
+        .addService(billingGrpcService)
+        .flowControlWindow((int) properties.flowControlWindow().toBytes())
+        .maxInboundMessageSize((int) properties.maxInboundMessageSize().toBytes())
+        .maxConcurrentCallsPerConnection(properties.maxConcurrentCallsPerConnection())
+        .keepAliveTime(properties.keepAliveTime().toNanos(), TimeUnit.NANOSECONDS)
+        .permitKeepAliveTime(properties.permitKeepAliveTime().toNanos(), TimeUnit.NANOSECONDS)
+        .maxConnectionIdle(properties.maxConnectionIdle().toNanos(), TimeUnit.NANOSECONDS)
+        .build();
+    return new BillingGrpcServer(server, executor, properties.shutdownGracePeriod());
+  }
+
+}
@@ -0,0 +1,85 @@
+package com.pm.billingservice.grpc;
+
+import io.grpc.Server;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Runs the gRPC server alongside the application context: started once all beans are ready and
+ * shut down gracefully, letting running calls finish within the grace period, on close.
+ */
+public class BillingGrpcServer implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(BillingGrpcServer.class);
+
+  private final Server server;
+
+  private final ExecutorService executor;
+
+  private final Duration shutdownGracePeriod;
+
+  private volatile boolean running;
+
+  /**
+   * Constructor for BillingGrpcServer.
+   *
+   * @param server              the server to run
+   * @param executor            the executor the server's calls run on, shut down with it
+   * @param shutdownGracePeriod how long running calls may finish on shutdown
+   */
+  public BillingGrpcServer(final Server server, final ExecutorService executor,
+      final Duration shutdownGracePeriod) {
+    this.server = server;
+    this.executor = executor;
+    this.shutdownGracePeriod = shutdownGracePeriod;
+  }
+
+  @Override
+  public void start() {
+    try {
+      server.start();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("gRPC server could not be started", ex);
+    }
+    running = true;
+    log.info("gRPC server listening on port {}", server.getPort());
+  }
+
+  @Override
+  public void stop() {
+    server.shutdown();
+    try {
+      if (!server.awaitTermination(shutdownGracePeriod.toMillis(), TimeUnit.MILLISECONDS)) {
+        log.warn("gRPC calls still running after {}, cancelling them", shutdownGracePeriod);
+        server.shutdownNow();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      server.shutdownNow();
+    } finally {
+      executor.shutdown();
+      running = false;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * The port the server listens on, resolved once it has started.
+   *
+   * @return the listening port
+   */
+  public int getPort() {
+    return server.getPort();
+  }
+
+}
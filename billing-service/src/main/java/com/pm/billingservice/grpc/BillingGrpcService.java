@@ -0,0 +1,153 @@
+package com.pm.billingservice.grpc;
+
+import com.pm.billingservice.grpc.v1.BillingAccountRequest;
+import com.pm.billingservice.grpc.v1.BillingAccountResponse;
+import com.pm.billingservice.grpc.v1.BillingServiceGrpc;
+import com.pm.billingservice.model.BillingAccountResult;
+import com.pm.billingservice.service.BillingAccountService;
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * gRPC endpoint of the billing accounts.
+ *
+ * <p>The streaming call applies manual flow control: the next request is only pulled from the
+ * transport once the previous response could be written without buffering. A client that stops
+ * reading responses therefore stops the server from reading further requests, and HTTP/2 flow
+ * control pushes back on the client, instead of responses piling up in server memory.
+ *
+ * <p>Deadlines are set by the caller and propagate with the call; work for a call whose deadline
+ * has passed or that was cancelled is skipped.
+ */
+@Component
+public class BillingGrpcService extends BillingServiceGrpc.BillingServiceImplBase {
+
+  private static final Logger log = LoggerFactory.getLogger(BillingGrpcService.class);
+
+  public static final String ERROR_MESSAGE_CALL_CANCELLED = "Call was cancelled or its deadline "
+      + "passed before it was processed";
+
+  private final BillingAccountService billingAccountService;
+
+  /**
+   * Constructor for BillingGrpcService.
+   *
+   * @param billingAccountService the service creating billing accounts
+   */
+  public BillingGrpcService(final BillingAccountService billingAccountService) {
+    this.billingAccountService = billingAccountService;
+  }
+
+  @Override
+  public void createBillingAccount(final BillingAccountRequest request,
+      final StreamObserver<BillingAccountResponse> responseObserver) {
+    if (Context.current().isCancelled()) {
+      responseObserver.onError(Status.CANCELLED
+          .withDescription(ERROR_MESSAGE_CALL_CANCELLED)
+          .asRuntimeException());
+      return;
+    }
+    BillingAccountResponse response = createAccount(request);
+    if (response.getStatus() == BillingAccountResponse.Status.INVALID) {
+      responseObserver.onError(Status.INVALID_ARGUMENT
+          .withDescription(response.getErrorMessage())
+          .asRuntimeException());
+      return;
+    }
+    responseObserver.onNext(response);
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public StreamObserver<BillingAccountRequest> createBillingAccounts(
+      final StreamObserver<BillingAccountResponse> responseObserver) {
+    ServerCallStreamObserver<BillingAccountResponse> serverObserver =
+        (ServerCallStreamObserver<BillingAccountResponse>) responseObserver;
+    serverObserver.disableAutoRequest();
+    BulkOnboarding onboarding = new BulkOnboarding(serverObserver);
+    serverObserver.setOnReadyHandler(onboarding::onReady);
+    serverObserver.setOnCancelHandler(() ->
+        log.warn("Bulk onboarding cancelled after {} requests", onboarding.processed));
+    return onboarding;
+  }
+
+  private BillingAccountResponse createAccount(final BillingAccountRequest request) {
+    BillingAccountResponse.Builder response = BillingAccountResponse.newBuilder()
+        .setRequestId(request.getRequestId())
+        .setPatientId(request.getPatientId());
+    try {
+      BillingAccountResult result = billingAccountService.createAccount(request.getPatientId(),
+          request.getName(), request.getEmail());
+      return response
+          .setAccountId(result.account().accountId().toString())
+          .setStatus(result.created()
+              ? BillingAccountResponse.Status.CREATED
+              : BillingAccountResponse.Status.ALREADY_EXISTS)
+          .build();
+    } catch (IllegalArgumentException ex) {
+      return response
+          .setStatus(BillingAccountResponse.Status.INVALID)
+          .setErrorMessage(ex.getMessage())
+          .build();
+    }
+  }
+
+  /**
+   * One CreateBillingAccounts stream. gRPC serializes the callbacks of a call, so the fields need
+   * no synchronization.
+   */
+  private final class BulkOnboarding implements StreamObserver<BillingAccountRequest> {
+
+    private final ServerCallStreamObserver<BillingAccountResponse> responseObserver;
+
+    private boolean wasReady;
+
+    private long processed;
+
+    private BulkOnboarding(
+        final ServerCallStreamObserver<BillingAccountResponse> responseObserver) {
+      this.responseObserver = responseObserver;
+    }
+
+    /**
+     * Pulls the first request, and resumes pulling after the transport drained the responses
+     * that made it not ready.
+     */
+    private void onReady() {
+      if (responseObserver.isReady() && !wasReady) {
+        wasReady = true;
+        responseObserver.request(1);
+      }
+    }
+
+    @Override
+    public void onNext(final BillingAccountRequest request) {
+      responseObserver.onNext(createAccount(request));
+      processed++;
+      if (responseObserver.isReady()) {
+        responseObserver.request(1);
+      } else {
+        wasReady = false;
+      }
+    }
+
+    @Override
+    public void onError(final Throwable t) {
+      log.warn("Bulk onboarding failed after {} requests: {}", processed,
+          Status.fromThrowable(t));
+    }
+
+    @Override
+    public void onCompleted() {
+      log.info("Bulk onboarding processed {} requests", processed);
+      responseObserver.onCompleted();
+    }
+
+  }
+
+}
@@ -0,0 +1,36 @@
+package com.pm.billingservice.grpc;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * gRPC server settings under {@code billing.grpc.server}.
+ *
+ * @param port                            the port to listen on; 0 picks a free port
+ * @param virtualThreads                  whether calls run on virtual threads rather than a
+ *                                        bounded platform thread pool
+ * @param maxThreads                      the size of the platform thread pool
+ * @param flowControlWindow               the initial HTTP/2 flow control window per stream
+ * @param maxInboundMessageSize           the largest request message accepted
+ * @param maxConcurrentCallsPerConnection how many calls one client connection may run at once
+ * @param keepAliveTime                   the idle time after which the server pings a client
+ * @param permitKeepAliveTime             the most frequent client keep-alive ping accepted
+ * @param maxConnectionIdle               the idle time after which a connection is closed
+ * @param shutdownGracePeriod             how long running calls may finish on shutdown
+ */
+@ConfigurationProperties(prefix = "billing.grpc.server")
+public record GrpcServerProperties(
+    @DefaultValue("9001") int port,
+    @DefaultValue("true") boolean virtualThreads,
+    @DefaultValue("64") int maxThreads,
+    @DefaultValue("1MB") DataSize flowControlWindow,
+    @DefaultValue("1MB") DataSize maxInboundMessageSize,
+    @DefaultValue("100") int maxConcurrentCallsPerConnection,
+    @DefaultValue("30s") Duration keepAliveTime,
+    @DefaultValue("10s") Duration permitKeepAliveTime,
+    @DefaultValue("5m") Duration maxConnectionIdle,
+    @DefaultValue("10s") Duration shutdownGracePeriod) {
+
+}
@@ -0,0 +1,18 @@
+package com.pm.billingservice.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The billing account of a patient.
+ *
+ * @param accountId the ID of the account
+ * @param patientId the ID of the patient in patient-service
+ * @param name      the name the account is billed to
+ * @param email     the email invoices are sent to
+ * @param createdAt when the account was created
+ */
+public record BillingAccount(UUID accountId, UUID patientId, String name, String email,
+                             Instant createdAt) {
+
+}
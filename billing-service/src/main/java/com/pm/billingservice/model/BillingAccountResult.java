@@ -0,0 +1,11 @@
+package com.pm.billingservice.model;
+
+/**
+ * Outcome of a billing account creation.
+ *
+ * @param account the patient's account, new or existing
+ * @param created true if the account was created by this request, false if it already existed
+ */
+public record BillingAccountResult(BillingAccount account, boolean created) {
+
+}
@@ -0,0 +1,48 @@
+package com.pm.billingservice.repository;
+
+import com.pm.billingservice.model.BillingAccount;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Repository;
+
+/**
+ * In-memory store of billing accounts, one per patient.
+ */
+@Repository
+public class BillingAccountRepository {
+
+  private final Map<UUID, BillingAccount> accountsByPatientId = new ConcurrentHashMap<>();
+
+  /**
+   * Looks up the account of a patient.
+   *
+   * @param patientId the ID of the patient
+   * @return the account, or empty if the patient has none
+   */
+  public Optional<BillingAccount> findByPatientId(final UUID patientId) {
+    return Optional.ofNullable(accountsByPatientId.get(patientId));
+  }
+
+  /**
+   * Stores an account unless its patient already has one. Atomic, so concurrent creations for the
+   * same patient keep exactly one account.
+   *
+   * @param account the account to store
+   * @return the patient's account before this call, or empty if the given account was stored
+   */
+  public Optional<BillingAccount> saveIfAbsent(final BillingAccount account) {
+    return Optional.ofNullable(accountsByPatientId.putIfAbsent(account.patientId(), account));
+  }
+
+  /**
+   * Number of stored accounts.
+   *
+   * @return the account count
+   */
+  public long count() {
+    return accountsByPatientId.size();
+  }
+
+}
@@ -0,0 +1,83 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.model.BillingAccount;
+import com.pm.billingservice.model.BillingAccountResult;
+import com.pm.billingservice.repository.BillingAccountRepository;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BillingAccountService {
+
+  private static final Logger log = LoggerFactory.getLogger(BillingAccountService.class);
+
+  /**
+   * Error messages for invalid requests.
+   */
+  public static final String ERROR_MESSAGE_PATIENT_ID_REQUIRED = "Patient ID is required";
+  public static final String ERROR_MESSAGE_INVALID_PATIENT_ID = "Patient ID is not a UUID: %s";
+  public static final String ERROR_MESSAGE_NAME_REQUIRED = "Name is required";
+  public static final String ERROR_MESSAGE_EMAIL_REQUIRED = "Email is required";
+
+  private final BillingAccountRepository billingAccountRepository;
+
+  /**
+   * Constructor for BillingAccountService.
+   *
+   * @param billingAccountRepository the store of billing accounts
+   */
+  public BillingAccountService(final BillingAccountRepository billingAccountRepository) {
+    this.billingAccountRepository = billingAccountRepository;
+  }
+
+  /**
+   * Creates the billing account of a patient, or returns the existing one. Idempotent, so a
+   * redelivered request for the same patient is harmless.
+   *
+   * @param patientId the ID of the patient, as a UUID string
+   * @param name      the name to bill
+   * @param email     the email to send invoices to
+   * @return the account and whether this call created it
+   * @throws IllegalArgumentException if the patient ID, name or email is missing or malformed
+   */
+  public BillingAccountResult createAccount(final String patientId, final String name,
+      final String email) {
+    UUID id = parsePatientId(patientId);
+    if (name == null || name.isBlank()) {
+      throw new IllegalArgumentException(ERROR_MESSAGE_NAME_REQUIRED);
+    }
+    if (email == null || email.isBlank()) {
+      throw new IllegalArgumentException(ERROR_MESSAGE_EMAIL_REQUIRED);
+    }
+
+    Optional<BillingAccount> existing = billingAccountRepository.findByPatientId(id);
+    if (existing.isPresent()) {
+      return new BillingAccountResult(existing.get(), false);
+    }
+    BillingAccount account = new BillingAccount(UUID.randomUUID(), id, name, email,
+        Instant.now());
+    return billingAccountRepository.saveIfAbsent(account)
+        .map(raced -> new BillingAccountResult(raced, false))
+        .orElseGet(() -> {
+          log.debug("Created billing account {} for patient {}", account.accountId(), id);
+          return new BillingAccountResult(account, true);
+        });
+  }
+
+  private static UUID parsePatientId(final String patientId) {
+    if (patientId == null || patientId.isBlank()) {
+      throw new IllegalArgumentException(ERROR_MESSAGE_PATIENT_ID_REQUIRED);
+    }
+    try {
+      return UUID.fromString(patientId);
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException(String.format(ERROR_MESSAGE_INVALID_PATIENT_ID,
+          patientId), ex);
+    }
+  }
+
+}
@@ -0,0 +1,131 @@
+package com.pm.billingservice.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.pm.billingservice.grpc.v1.BillingAccountRequest;
+import com.pm.billingservice.grpc.v1.BillingAccountResponse;
+import com.pm.billingservice.grpc.v1.BillingServiceGrpc;
+import com.pm.billingservice.repository.BillingAccountRepository;
+import com.pm.billingservice.service.BillingAccountService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BillingGrpcServiceTests {
+
+  private Server server;
+
+  private ManagedChannel channel;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    String name = InProcessServerBuilder.generateName();
+    BillingGrpcService service = new BillingGrpcService(
+        new BillingAccountService(new BillingAccountRepository()));
+    server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build()
+        .start();
+    channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  @DisplayName("should create a billing account and report a repeated request as existing")
+  void shouldCreateAccountAndReportRepeatedRequestAsExisting() {
+    BillingServiceGrpc.BillingServiceBlockingStub stub = BillingServiceGrpc
+        .newBlockingStub(channel)
+        .withDeadlineAfter(5, TimeUnit.SECONDS);
+    BillingAccountRequest request = request(UUID.randomUUID().toString(), "1");
+
+    BillingAccountResponse created = stub.createBillingAccount(request);
+    BillingAccountResponse repeated = stub.createBillingAccount(request);
+
+    assertEquals(BillingAccountResponse.Status.CREATED, created.getStatus());
+    assertEquals(BillingAccountResponse.Status.ALREADY_EXISTS, repeated.getStatus());
+    assertEquals(created.getAccountId(), repeated.getAccountId());
+  }
+
+  @Test
+  @DisplayName("should fail an invalid unary request with INVALID_ARGUMENT")
+  void shouldFailInvalidUnaryRequestWithInvalidArgument() {
+    BillingServiceGrpc.BillingServiceBlockingStub stub = BillingServiceGrpc
+        .newBlockingStub(channel)
+        .withDeadlineAfter(5, TimeUnit.SECONDS);
+
+    StatusRuntimeException ex = assertThrows(StatusRuntimeException.class,
+        () -> stub.createBillingAccount(request("not-a-uuid", "1")));
+
+    assertEquals(Status.Code.INVALID_ARGUMENT, ex.getStatus().getCode());
+  }
+
+  @Test
+  @DisplayName("should answer every streamed request in order and keep going past invalid ones")
+  void shouldAnswerEveryStreamedRequestInOrder() throws Exception {
+    int count = 500;
+    List<BillingAccountResponse> responses = new CopyOnWriteArrayList<>();
+    CountDownLatch completed = new CountDownLatch(1);
+    StreamObserver<BillingAccountRequest> requests = BillingServiceGrpc.newStub(channel)
+        .withDeadlineAfter(10, TimeUnit.SECONDS)
+        .createBillingAccounts(new StreamObserver<>() {
+          @Override
+          public void onNext(final BillingAccountResponse response) {
+            responses.add(response);
+          }
+
+          @Override
+          public void onError(final Throwable t) {
+            completed.countDown();
+          }
+
+          @Override
+          public void onCompleted() {
+            completed.countDown();
+          }
+        });
+
+    for (int i = 0; i < count; i++) {
+      String patientId = i == 42 ? "not-a-uuid" : UUID.randomUUID().toString();
+      requests.onNext(request(patientId, String.valueOf(i)));
+    }
+    requests.onCompleted();
+
+    assertTrue(completed.await(10, TimeUnit.SECONDS));
+    assertEquals(count, responses.size());
+    for (int i = 0; i < count; i++) {
+      assertEquals(String.valueOf(i), responses.get(i).getRequestId());
+    }
+    assertEquals(BillingAccountResponse.Status.INVALID, responses.get(42).getStatus());
+    assertEquals(count - 1, responses.stream()
+        .filter(response -> response.getStatus() == BillingAccountResponse.Status.CREATED)
+        .count());
+  }
+
+  private static BillingAccountRequest request(final String patientId, final String requestId) {
+    return BillingAccountRequest.newBuilder()
+        .setRequestId(requestId)
+        .setPatientId(patientId)
+        .setName("Jane Doe")
+        .setEmail("jane@example.com")
+        .build();
+  }
+
+}
@@ -0,0 +1,74 @@
+package com.pm.billingservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.pm.billingservice.model.BillingAccountResult;
+import com.pm.billingservice.repository.BillingAccountRepository;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BillingAccountServiceTests {
+
+  private BillingAccountRepository billingAccountRepository;
+
+  private BillingAccountService billingAccountService;
+
+  @BeforeEach
+  void setUp() {
+    billingAccountRepository = new BillingAccountRepository();
+    billingAccountService = new BillingAccountService(billingAccountRepository);
+  }
+
+  @Test
+  @DisplayName("should create an account for a new patient")
+  void shouldCreateAccountForNewPatient() {
+    String patientId = UUID.randomUUID().toString();
+
+    BillingAccountResult result = billingAccountService.createAccount(patientId, "Jane Doe",
+        "jane@example.com");
+
+    assertTrue(result.created());
+    assertEquals(patientId, result.account().patientId().toString());
+    assertEquals(1, billingAccountRepository.count());
+  }
+
+  @Test
+  @DisplayName("should return the existing account when the patient already has one")
+  void shouldReturnExistingAccountWhenPatientAlreadyHasOne() {
+    String patientId = UUID.randomUUID().toString();
+    BillingAccountResult first = billingAccountService.createAccount(patientId, "Jane Doe",
+        "jane@example.com");
+
+    BillingAccountResult second = billingAccountService.createAccount(patientId, "Jane Doe",
+        "jane@example.com");
+
+    assertFalse(second.created());
+    assertEquals(first.account().accountId(), second.account().accountId());
+    assertEquals(1, billingAccountRepository.count());
+  }
+
+  @Test
+  @DisplayName("should reject a patient ID that is not a UUID")
+  void shouldRejectPatientIdThatIsNotUuid() {
+    IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+        () -> billingAccountService.createAccount("not-a-uuid", "Jane Doe", "jane@example.com"));
+
+    assertEquals(String.format(BillingAccountService.ERROR_MESSAGE_INVALID_PATIENT_ID,
+        "not-a-uuid"), ex.getMessage());
+  }
+
+  @Test
+  @DisplayName("should reject a request without an email")
+  void shouldRejectRequestWithoutEmail() {
+    IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+        () -> billingAccountService.createAccount(UUID.randomUUID().toString(), "Jane Doe", " "));
+
+    assertEquals(BillingAccountService.ERROR_MESSAGE_EMAIL_REQUIRED, ex.getMessage());
+  }
+
+}
@@ -0,0 +1,89 @@
+package com.pm.patientservice.accesslog;
+
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code /actuator/accesslog}: reads and changes access log sample rates at runtime.
+ *
+ * <p>{@code POST /actuator/accesslog/getPatientById} with {@code {"sampleRate": 0.01}} samples
+ * one in a hundred lookups by ID; posting no rate returns the operation to the default rate,
+ * which is itself addressed as {@value AccessLogSampler#DEFAULT}.
+ */
+@Endpoint(id = "accesslog")
+public class AccessLogEndpoint {
+
+  private final AccessLogSampler sampler;
+
+  /**
+   * Constructor for AccessLogEndpoint.
+   *
+   * @param sampler the sampler whose rates are exposed
+   */
+  public AccessLogEndpoint(final AccessLogSampler sampler) {
+    this.sampler = sampler;
+  }
+
+  /**
+   * The current rates.
+   *
+   * @return the default rate and the rates of operations that have their own
+   */
+  @ReadOperation
+  public SampleRates sampleRates() {
+    return new SampleRates(sampler.defaultSampleRate(), sampler.sampleRates());
+  }
+
+  /**
+   * The rate an operation is sampled at.
+   *
+   * @param operation the operation, or {@value AccessLogSampler#DEFAULT}
+   * @return the operation's effective rate
+   */
+  @ReadOperation
+  public OperationSampleRate sampleRate(@Selector final String operation) {
+    return new OperationSampleRate(operation, sampler.sampleRate(operation));
+  }
+
+  /**
+   * Sets or clears the rate of an operation.
+   *
+   * @param operation  the operation, or {@value AccessLogSampler#DEFAULT}
+   * @param sampleRate the rate from 0 to 1, or null to use the default rate
+   */
+  @WriteOperation
+  public void configureSampleRate(@Selector final String operation,
+      @Nullable final Double sampleRate) {
+    try {
+      sampler.setSampleRate(operation, sampleRate);
+    } catch (IllegalArgumentException ex) {
+      throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+    }
+  }
+
+  /**
+   * All sample rates.
+   *
+   * @param defaultSampleRate the rate of operations without a rate of their own
+   * @param sampleRates       the rates by operation
+   */
+  public record SampleRates(double defaultSampleRate, Map<String, Double> sampleRates) {
+
+  }
+
+  /**
+   * The effective rate of one operation.
+   *
+   * @param operation  the operation
+   * @param sampleRate its rate
+   */
+  public record OperationSampleRate(String operation, double sampleRate) {
+
+  }
+
+}
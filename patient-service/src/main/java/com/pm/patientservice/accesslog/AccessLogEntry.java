@@ -0,0 +1,38 @@
+package com.pm.patientservice.accesslog;
+
+/**
+ * One logged request. Holds no request or response body, only what identifies the call and its
+ * outcome.
+ *
+ * @param operation    the controller method that handled the request
+ * @param method       the HTTP method
+ * @param route        the matched route template, e.g. {@code /patients/{id}}
+ * @param status       the response status
+ * @param latencyNanos the time from receiving the request to the handler returning
+ * @param patientId    the patient ID from the route, or null if the route has none
+ */
+public record AccessLogEntry(String operation, String method, String route, int status,
+                             long latencyNanos, String patientId) {
+
+  /**
+   * Outcome of a request by status class.
+   */
+  public enum Outcome {
+    SUCCESS,
+    CLIENT_ERROR,
+    SERVER_ERROR
+  }
+
+  /**
+   * Classifies the response status.
+   *
+   * @return the outcome
+   */
+  public Outcome outcome() {
+    if (status >= 500) {
+      return Outcome.SERVER_ERROR;
+    }
+    return status >= 400 ? Outcome.CLIENT_ERROR : Outcome.SUCCESS;
+  }
+
+}
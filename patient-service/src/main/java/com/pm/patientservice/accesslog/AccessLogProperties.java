@@ -0,0 +1,24 @@
+package com.pm.patientservice.accesslog;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Access log settings under {@code patient.access-log}. Sample rates are fractions from 0 (log
+ * nothing) to 1 (log every request) and can be changed at runtime through the {@code accesslog}
+ * actuator endpoint.
+ *
+ * @param sampleRate      the rate of operations without a rate of their own
+ * @param sampleRates     rates per controller operation, e.g. {@code getPatientById}
+ * @param alwaysLogErrors whether requests answered with a 5xx are logged regardless of sampling
+ * @param queueCapacity   how many entries may wait for the writer before new ones are dropped
+ */
+@ConfigurationProperties(prefix = "patient.access-log")
+public record AccessLogProperties(
+    @DefaultValue("1.0") double sampleRate,
+    Map<String, Double> sampleRates,
+    @DefaultValue("true") boolean alwaysLogErrors,
+    @DefaultValue("10000") int queueCapacity) {
+
+}
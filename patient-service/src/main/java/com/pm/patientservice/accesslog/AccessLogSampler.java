@@ -0,0 +1,112 @@
+package com.pm.patientservice.accesslog;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which requests are access-logged. Each operation is sampled at its own rate, or at the
+ * default rate if it has none; rates can be changed while the application runs.
+ */
+public class AccessLogSampler {
+
+  public static final String ERROR_MESSAGE_INVALID_SAMPLE_RATE = "Sample rate must be between 0 "
+      + "and 1, got %s";
+
+  /**
+   * Name addressing the default rate where an operation name is expected.
+   */
+  public static final String DEFAULT = "default";
+
+  private final Map<String, Double> sampleRates = new ConcurrentHashMap<>();
+
+  private final boolean alwaysLogErrors;
+
+  private volatile double defaultSampleRate;
+
+  /**
+   * Constructor for AccessLogSampler.
+   *
+   * @param properties the initial rates
+   */
+  public AccessLogSampler(final AccessLogProperties properties) {
+    this.alwaysLogErrors = properties.alwaysLogErrors();
+    this.defaultSampleRate = requireValid(properties.sampleRate());
+    if (properties.sampleRates() != null) {
+      properties.sampleRates().forEach(this::setSampleRate);
+    }
+  }
+
+  /**
+   * Whether a request should be logged.
+   *
+   * @param operation the controller method that handled the request
+   * @param status    the response status
+   * @return true to log the request
+   */
+  public boolean sample(final String operation, final int status) {
+    if (alwaysLogErrors && status >= 500) {
+      return true;
+    }
+    double rate = sampleRate(operation);
+    return rate >= 1.0 || rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+  }
+
+  /**
+   * The rate an operation is sampled at.
+   *
+   * @param operation the operation, or {@value #DEFAULT}
+   * @return its own rate, or the default rate if it has none
+   */
+  public double sampleRate(final String operation) {
+    Double rate = sampleRates.get(operation);
+    return rate != null ? rate : defaultSampleRate;
+  }
+
+  /**
+   * Sets the rate of an operation, or the default rate.
+   *
+   * @param operation the operation, or {@value #DEFAULT}
+   * @param rate      the rate from 0 to 1, or null to have the operation use the default rate
+   * @throws IllegalArgumentException if the rate is outside 0 to 1, or null for the default rate
+   */
+  public void setSampleRate(final String operation, final Double rate) {
+    if (DEFAULT.equals(operation)) {
+      if (rate == null) {
+        throw new IllegalArgumentException(String.format(ERROR_MESSAGE_INVALID_SAMPLE_RATE, rate));
+      }
+      defaultSampleRate = requireValid(rate);
+    } else if (rate == null) {
+      sampleRates.remove(operation);
+    } else {
+      sampleRates.put(operation, requireValid(rate));
+    }
+  }
+
+  /**
+   * The default rate.
+   *
+   * @return the rate of operations without a rate of their own
+   */
+  public double defaultSampleRate() {
+    return defaultSampleRate;
+  }
+
+  /**
+   * The operations with a rate of their own.
+   *
+   * @return the rates by operation, sorted by operation
+   */
+  public Map<String, Double> sampleRates() {
+    return new TreeMap<>(sampleRates);
+  }
+
+  private static double requireValid(final double rate) {
+    if (!(rate >= 0.0 && rate <= 1.0)) {
+      throw new IllegalArgumentException(String.format(ERROR_MESSAGE_INVALID_SAMPLE_RATE, rate));
+    }
+    return rate;
+  }
+
+}
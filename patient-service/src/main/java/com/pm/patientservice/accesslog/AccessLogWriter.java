@@ -0,0 +1,149 @@
+package com.pm.patientservice.accesslog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Writes access log entries on a background thread, so request threads only enqueue a small
+ * record and never format or do I/O.
+ *
+ * <p>Each operation logs to its own logger, {@code patient.access.<operation>}, at INFO, with the
+ * fields attached as key/value pairs for structured log formats. When the queue is full, entries
+ * are dropped and counted rather than blocking requests.
+ */
+public class AccessLogWriter implements SmartLifecycle {
+
+  /**
+   * Prefix of the per-operation access loggers.
+   */
+  public static final String LOGGER_PREFIX = "patient.access.";
+
+  private static final long POLL_INTERVAL_MILLIS = 100;
+
+  private final BlockingQueue<AccessLogEntry> queue;
+
+  private final Map<String, Logger> loggers = new ConcurrentHashMap<>();
+
+  private final Counter dropped;
+
+  private volatile Thread worker;
+
+  /**
+   * Constructor for AccessLogWriter.
+   *
+   * @param queueCapacity how many entries may wait to be written
+   * @param meterRegistry the registry the queue metrics are published to
+   */
+  public AccessLogWriter(final int queueCapacity, final MeterRegistry meterRegistry) {
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.dropped = Counter.builder("patient.accesslog.dropped")
+        .description("Access log entries dropped because the writer fell behind")
+        .register(meterRegistry);
+    Gauge.builder("patient.accesslog.queued", queue, BlockingQueue::size)
+        .description("Access log entries waiting to be written")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Whether the logger of an operation would write an entry.
+   *
+   * @param operation the controller method
+   * @return true if its logger is enabled at INFO
+   */
+  public boolean isEnabled(final String operation) {
+    return logger(operation).isInfoEnabled();
+  }
+
+  /**
+   * Queues an entry without blocking; drops it if the queue is full.
+   *
+   * @param entry the entry to write
+   */
+  public void submit(final AccessLogEntry entry) {
+    if (!queue.offer(entry)) {
+      dropped.increment();
+    }
+  }
+
+  @Override
+  public void start() {
+    worker = Thread.ofPlatform().daemon().name("access-log-writer").start(this::run);
+  }
+
+  /**
+   * Stops the writer thread and writes what is still queued.
+   */
+  @Override
+  public void stop() {
+    Thread running = worker;
+    worker = null;
+    if (running != null) {
+      try {
+        running.join(TimeUnit.SECONDS.toMillis(1));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    AccessLogEntry entry;
+    while ((entry = queue.poll()) != null) {
+      write(entry);
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return worker != null;
+  }
+
+  /**
+   * Takes the next queued entry, if any.
+   *
+   * @return the entry, or null if the queue is empty
+   */
+  AccessLogEntry poll() {
+    return queue.poll();
+  }
+
+  void write(final AccessLogEntry entry) {
+    double latencyMillis = entry.latencyNanos() / 1_000_000.0;
+    logger(entry.operation()).atInfo()
+        .addKeyValue("operation", entry.operation())
+        .addKeyValue("method", entry.method())
+        .addKeyValue("route", entry.route())
+        .addKeyValue("status", entry.status())
+        .addKeyValue("outcome", entry.outcome())
+        .addKeyValue("latency_ms", latencyMillis)
+        .addKeyValue("patient_id", entry.patientId())
+        .log("{} {} {} {} {}ms patient_id={}", entry.method(), entry.route(), entry.status(),
+            entry.outcome(), String.format("%.3f", latencyMillis), entry.patientId());
+  }
+
+  private void run() {
+    while (worker != null) {
+      try {
+        AccessLogEntry entry = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        if (entry != null) {
+          write(entry);
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private Logger logger(final String operation) {
+    return loggers.computeIfAbsent(operation,
+        name -> LoggerFactory.getLogger(LOGGER_PREFIX + name));
+  }
+
+}
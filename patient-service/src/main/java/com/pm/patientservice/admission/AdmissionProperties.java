@@ -0,0 +1,24 @@
+package com.pm.patientservice.admission;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits of {@link ConnectionAdmission} under {@code patient.admission}.
+ *
+ * @param maxConcurrent how many patient operations may use the database at once, normally the
+ *     connection pool size
+ * @param maxQueued how many operations may wait for a slot before new ones are shed at once
+ * @param queueTimeout how long a queued operation waits for a slot before it is shed; keep it
+ *     below the pool's connection-timeout so callers fail here rather than in the pool
+ * @param retryAfter the Retry-After sent with a 503 when an operation is shed
+ */
+@ConfigurationProperties(prefix = "patient.admission")
+public record AdmissionProperties(
+    @DefaultValue("10") int maxConcurrent,
+    @DefaultValue("100") int maxQueued,
+    @DefaultValue("1s") Duration queueTimeout,
+    @DefaultValue("1s") Duration retryAfter) {
+
+}
@@ -0,0 +1,144 @@
+package com.pm.patientservice.admission;
+
+import com.pm.patientservice.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds how many patient operations hold or wait for a database connection.
+ *
+ * <p>With virtual threads every request gets its own thread, so a burst can park thousands of
+ * threads in the connection pool until each times out. Admission caps concurrent operations at
+ * {@code max-concurrent}, lets at most {@code max-queued} more wait, in arrival order, for up to
+ * {@code queue-timeout}, and sheds everything beyond that at once with a
+ * {@link ServiceOverloadedException}, which is answered with 503 and Retry-After.
+ *
+ * <p>Admission is reentrant: an operation that calls another admitted operation on the same
+ * thread does not take a second slot.
+ */
+public class ConnectionAdmission {
+
+  public static final String ERROR_MESSAGE_OVERLOADED = "Too many concurrent requests, please "
+      + "retry later";
+
+  /**
+   * Rejection reason tag values.
+   */
+  public static final String REASON_QUEUE_FULL = "queue_full";
+  public static final String REASON_TIMEOUT = "timeout";
+
+  private final int maxConcurrent;
+
+  private final int maxQueued;
+
+  private final Duration queueTimeout;
+
+  private final Duration retryAfter;
+
+  private final Semaphore permits;
+
+  private final AtomicInteger queued = new AtomicInteger();
+
+  private final ThreadLocal<Boolean> admitted = new ThreadLocal<>();
+
+  private final Counter rejectedQueueFull;
+
+  private final Counter rejectedTimeout;
+
+  /**
+   * Constructor for ConnectionAdmission.
+   *
+   * @param properties    the admission limits
+   * @param meterRegistry the registry the admission gauges and counters are published to
+   */
+  public ConnectionAdmission(final AdmissionProperties properties,
+      final MeterRegistry meterRegistry) {
+    this.maxConcurrent = properties.maxConcurrent();
+    this.maxQueued = properties.maxQueued();
+    this.queueTimeout = properties.queueTimeout();
+    this.retryAfter = properties.retryAfter();
+    this.permits = new Semaphore(maxConcurrent, true);
+
+    Gauge.builder("patient.admission.active", this, ConnectionAdmission::active)
+        .description("Patient operations admitted to the database")
+        .register(meterRegistry);
+    Gauge.builder("patient.admission.queued", queued, AtomicInteger::get)
+        .description("Patient operations waiting for admission")
+        .register(meterRegistry);
+    this.rejectedQueueFull = rejectedCounter(meterRegistry, REASON_QUEUE_FULL);
+    this.rejectedTimeout = rejectedCounter(meterRegistry, REASON_TIMEOUT);
+  }
+
+  /**
+   * Admits the current thread, waiting in line if all slots are taken.
+   *
+   * @return true if a slot was taken and must be handed back with {@link #release()}, false if
+   *     the thread was already admitted
+   * @throws ServiceOverloadedException if the queue is full or the wait times out
+   */
+  public boolean acquire() {
+    if (admitted.get() != null) {
+      return false;
+    }
+    try {
+      if (!permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+        awaitPermit();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw overloaded();
+    }
+    admitted.set(Boolean.TRUE);
+    return true;
+  }
+
+  /**
+   * Hands back the slot taken by {@link #acquire()}.
+   */
+  public void release() {
+    admitted.remove();
+    permits.release();
+  }
+
+  /**
+   * Number of operations currently admitted.
+   *
+   * @return the number of taken slots
+   */
+  public int active() {
+    return maxConcurrent - permits.availablePermits();
+  }
+
+  private void awaitPermit() throws InterruptedException {
+    if (queued.incrementAndGet() > maxQueued) {
+      queued.decrementAndGet();
+      rejectedQueueFull.increment();
+      throw overloaded();
+    }
+    try {
+      if (!permits.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+        rejectedTimeout.increment();
+        throw overloaded();
+      }
+    } finally {
+      queued.decrementAndGet();
+    }
+  }
+
+  private ServiceOverloadedException overloaded() {
+    return new ServiceOverloadedException(ERROR_MESSAGE_OVERLOADED, retryAfter);
+  }
+
+  private static Counter rejectedCounter(final MeterRegistry meterRegistry, final String reason) {
+    return Counter.builder("patient.admission.rejected")
+        .description("Patient operations shed before reaching the database")
+        .tag("reason", reason)
+        .register(meterRegistry);
+  }
+
+}
@@ -0,0 +1,61 @@
+package com.pm.patientservice.admission;
+
+import com.pm.patientservice.exception.ServiceOverloadedException;
+import com.pm.patientservice.metrics.PatientMetrics;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Runs every public PatientService and PatientImportService call through
+ * {@link ConnectionAdmission}.
+ *
+ * <p>Ordered ahead of the transaction interceptor: a transaction takes its connection when it
+ * begins, so admission has to happen before it. Request coalescing runs first, so callers joining
+ * an identical read in progress are not admitted at all. Shed calls are timed as
+ * {@value PatientMetrics#OUTCOME_OVERLOADED}.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConnectionAdmissionAspect {
+
+  private final ConnectionAdmission connectionAdmission;
+
+  private final PatientMetrics patientMetrics;
+
+  /**
+   * Constructor for ConnectionAdmissionAspect.
+   *
+   * @param connectionAdmission the admission the service calls go through
+   * @param patientMetrics      the metrics shed calls are recorded in
+   */
+  public ConnectionAdmissionAspect(final ConnectionAdmission connectionAdmission,
+      final PatientMetrics patientMetrics) {
+    this.connectionAdmission = connectionAdmission;
+    this.patientMetrics = patientMetrics;
+  }
+
+  @Around("execution(public * com.pm.patientservice.service.PatientService.*(..))"
+      + " || execution(public * com.pm.patientservice.service.PatientImportService.*(..))")
+  public Object admit(final ProceedingJoinPoint joinPoint) throws Throwable {
+    long start = System.nanoTime();
+    boolean acquired;
+    try {
+      acquired = connectionAdmission.acquire();
+    } catch (ServiceOverloadedException ex) {
+      patientMetrics.recordOverloaded(joinPoint.getSignature().getName(),
+          System.nanoTime() - start);
+      throw ex;
+    }
+    try {
+      return joinPoint.proceed();
+    } finally {
+      if (acquired) {
+        connectionAdmission.release();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,169 @@
+package com.pm.patientservice.billing;
+
+import com.pm.billingservice.grpc.v1.BillingAccountRequest;
+import com.pm.billingservice.grpc.v1.BillingAccountResponse;
+import com.pm.billingservice.grpc.v1.BillingServiceGrpc;
+import io.grpc.Channel;
+import io.grpc.Status;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls billing-service over a shared gRPC channel. Every call carries a deadline, so a slow or
+ * unreachable billing-service fails the call instead of holding its caller.
+ */
+public class BillingClient {
+
+  /**
+   * Fully qualified name of the billing gRPC service, as used in the service config.
+   */
+  static final String SERVICE_NAME = BillingServiceGrpc.SERVICE_NAME;
+
+  private final BillingServiceGrpc.BillingServiceBlockingStub blockingStub;
+
+  private final BillingServiceGrpc.BillingServiceStub asyncStub;
+
+  private final BillingClientProperties properties;
+
+  /**
+   * Constructor for BillingClient.
+   *
+   * @param channel    the channel to billing-service
+   * @param properties the call deadlines
+   */
+  public BillingClient(final Channel channel, final BillingClientProperties properties) {
+    this.blockingStub = BillingServiceGrpc.newBlockingStub(channel);
+    this.asyncStub = BillingServiceGrpc.newStub(channel);
+    this.properties = properties;
+  }
+
+  /**
+   * Creates one billing account with a unary call, retried or hedged per the channel's service
+   * config.
+   *
+   * @param request the account to create
+   * @return billing-service's response
+   * @throws io.grpc.StatusRuntimeException if the call failed or its deadline passed
+   */
+  public BillingAccountResponse createAccount(final BillingAccountRequest request) {
+    return blockingStub
+        .withDeadlineAfter(properties.deadline().toMillis(), TimeUnit.MILLISECONDS)
+        .createBillingAccount(request);
+  }
+
+  /**
+   * Creates billing accounts over one streaming call. Requests are written only while the stream
+   * is ready, so a slow billing-service backs up into HTTP/2 flow control rather than into the
+   * channel's buffers.
+   *
+   * @param requests the accounts to create
+   * @return billing-service's responses, in request order
+   * @throws io.grpc.StatusRuntimeException if the call failed or its deadline passed
+   * @throws InterruptedException           if interrupted while waiting for the responses
+   */
+  public List<BillingAccountResponse> createAccounts(final List<BillingAccountRequest> requests)
+      throws InterruptedException {
+    CompletableFuture<List<BillingAccountResponse>> result = new CompletableFuture<>();
+    asyncStub
+        .withDeadlineAfter(properties.batchDeadline().toMillis(), TimeUnit.MILLISECONDS)
+        .createBillingAccounts(new BatchObserver(requests, result));
+    try {
+      return result.get();
+    } catch (ExecutionException ex) {
+      throw Status.fromThrowable(ex.getCause()).asRuntimeException();
+    }
+  }
+
+  /**
+   * Service config applying the retry, or hedging, policy to single account creations, which
+   * billing-service makes idempotent. Only UNAVAILABLE is retried: the call did not reach
+   * billing-service or it is shutting down.
+   *
+   * @param properties the attempts, backoff and hedging delay
+   * @return the service config, for {@code ManagedChannelBuilder.defaultServiceConfig}
+   */
+  public static Map<String, Object> serviceConfig(final BillingClientProperties properties) {
+    Map<String, Object> name = Map.of("service", SERVICE_NAME, "method", "CreateBillingAccount");
+    Map<String, Object> methodConfig = properties.hedgingDelay() != null
+        ? Map.of("name", List.of(name), "hedgingPolicy", Map.of(
+            "maxAttempts", (double) properties.maxAttempts(),
+            "hedgingDelay", seconds(properties.hedgingDelay().toMillis()),
+            "nonFatalStatusCodes", List.of("UNAVAILABLE")))
+        : Map.of("name", List.of(name), "retryPolicy", Map.of(
+            "maxAttempts", (double) properties.maxAttempts(),
+            "initialBackoff", seconds(properties.initialBackoff().toMillis()),
+            "maxBackoff", seconds(properties.maxBackoff().toMillis()),
+            "backoffMultiplier", 2.0,
+            "retryableStatusCodes", List.of("UNAVAILABLE")));
+    return Map.of("methodConfig", List.of(methodConfig));
+  }
+
+  private static String seconds(final long millis) {
+    return (millis / 1000.0) + "s";
+  }
+
+  /**
+   * Writes a batch onto the request stream as flow control allows and collects the responses.
+   * gRPC serializes the callbacks of a call, so the fields need no synchronization.
+   */
+  private static final class BatchObserver
+      implements ClientResponseObserver<BillingAccountRequest, BillingAccountResponse> {
+
+    private final Iterator<BillingAccountRequest> pending;
+
+    private final List<BillingAccountResponse> responses;
+
+    private final CompletableFuture<List<BillingAccountResponse>> result;
+
+    private ClientCallStreamObserver<BillingAccountRequest> requestStream;
+
+    private boolean halfClosed;
+
+    private BatchObserver(final List<BillingAccountRequest> requests,
+        final CompletableFuture<List<BillingAccountResponse>> result) {
+      this.pending = requests.iterator();
+      this.responses = new ArrayList<>(requests.size());
+      this.result = result;
+    }
+
+    @Override
+    public void beforeStart(final ClientCallStreamObserver<BillingAccountRequest> requestStream) {
+      this.requestStream = requestStream;
+      requestStream.setOnReadyHandler(this::writeWhileReady);
+    }
+
+    private void writeWhileReady() {
+      while (requestStream.isReady() && pending.hasNext()) {
+        requestStream.onNext(pending.next());
+      }
+      if (!pending.hasNext() && !halfClosed) {
+        halfClosed = true;
+        requestStream.onCompleted();
+      }
+    }
+
+    @Override
+    public void onNext(final BillingAccountResponse response) {
+      responses.add(response);
+    }
+
+    @Override
+    public void onError(final Throwable t) {
+      result.completeExceptionally(t);
+    }
+
+    @Override
+    public void onCompleted() {
+      result.complete(responses);
+    }
+
+  }
+
+}
@@ -0,0 +1,35 @@
+package com.pm.patientservice.billing;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * billing-service gRPC client settings under {@code billing.grpc.client}.
+ *
+ * @param target           the billing-service address, e.g. {@code dns:///billing-service:9001}
+ * @param deadline         the deadline of a single account creation
+ * @param batchDeadline    the deadline of a streamed batch of account creations
+ * @param keepAliveTime    the idle time after which the channel pings billing-service
+ * @param keepAliveTimeout how long a ping may go unanswered before the connection is dropped
+ * @param idleTimeout      the idle time after which the channel releases its connection
+ * @param maxAttempts      the attempts a single creation gets, the first one included
+ * @param initialBackoff   the delay before the first retry, doubling up to max-backoff
+ * @param maxBackoff       the cap of the retry delay
+ * @param hedgingDelay     when set, single creations are hedged instead of retried: a further
+ *                         attempt starts each time this delay passes without a response
+ */
+@ConfigurationProperties(prefix = "billing.grpc.client")
+public record BillingClientProperties(
+    String target,
+    @DefaultValue("2s") Duration deadline,
+    @DefaultValue("10s") Duration batchDeadline,
+    @DefaultValue("30s") Duration keepAliveTime,
+    @DefaultValue("10s") Duration keepAliveTimeout,
+    @DefaultValue("5m") Duration idleTimeout,
+    @DefaultValue("3") int maxAttempts,
+    @DefaultValue("100ms") Duration initialBackoff,
+    @DefaultValue("1s") Duration maxBackoff,
+    Duration hedgingDelay) {
+
+}
@@ -0,0 +1,123 @@
+package com.pm.patientservice.billing;
+
+import com.pm.billingservice.grpc.v1.BillingAccountRequest;
+import com.pm.billingservice.grpc.v1.BillingAccountResponse;
+import com.pm.patientservice.outbox.PatientEventSink;
+import com.pm.patientservice.outbox.PatientEventSinkUnavailableException;
+import com.pm.patientservice.outbox.PatientEventType;
+import com.pm.patientservice.outbox.PatientOutboxMessage;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opens a billing account for each created patient.
+ *
+ * <p>Patients created close together reach the outbox relay as one batch, which is sent as a
+ * single streaming call; a lone event uses the unary call and its retry policy. Creation runs on
+ * the relay's thread, never on a request thread. Other event types are not billing's concern and
+ * are acknowledged as published. When billing-service is unreachable or misses the deadline, the
+ * sink reports itself unavailable so the relay backs off the batch rather than retrying each
+ * event.
+ */
+public class BillingPatientEventSink implements PatientEventSink {
+
+  private static final Logger log = LoggerFactory.getLogger(BillingPatientEventSink.class);
+
+  public static final String ERROR_MESSAGE_MISSING_RESPONSES = "billing-service answered %d of %d "
+      + "account creations";
+
+  public static final String ERROR_MESSAGE_UNAVAILABLE = "billing-service is unavailable";
+
+  /**
+   * Codes meaning billing-service could not be reached or did not answer in time, which would fail
+   * every other event of the batch the same way.
+   */
+  private static final Set<Status.Code> UNAVAILABLE_CODES = EnumSet.of(Status.Code.UNAVAILABLE,
+      Status.Code.DEADLINE_EXCEEDED);
+
+  private final BillingClient billingClient;
+
+  /**
+   * Constructor for BillingPatientEventSink.
+   *
+   * @param billingClient the client of billing-service
+   */
+  public BillingPatientEventSink(final BillingClient billingClient) {
+    this.billingClient = billingClient;
+  }
+
+  @Override
+  public void publish(final List<PatientOutboxMessage> messages)
+      throws InterruptedException, PatientEventSinkUnavailableException {
+    List<BillingAccountRequest> requests = messages.stream()
+        .filter(message -> message.event().type() == PatientEventType.CREATED)
+        .map(BillingPatientEventSink::toRequest)
+        .toList();
+    if (requests.isEmpty()) {
+      return;
+    }
+
+    List<BillingAccountResponse> responses;
+    try {
+      responses = requests.size() == 1
+          ? List.of(createAccount(requests.getFirst()))
+          : billingClient.createAccounts(requests);
+    } catch (StatusRuntimeException ex) {
+      if (UNAVAILABLE_CODES.contains(ex.getStatus().getCode())) {
+        throw new PatientEventSinkUnavailableException(ERROR_MESSAGE_UNAVAILABLE, ex);
+      }
+      throw ex;
+    }
+    if (responses.size() != requests.size()) {
+      throw new IllegalStateException(String.format(ERROR_MESSAGE_MISSING_RESPONSES,
+          responses.size(), requests.size()));
+    }
+    for (BillingAccountResponse response : responses) {
+      if (response.getStatus() == BillingAccountResponse.Status.INVALID) {
+        // Retrying cannot fix the request, so the event is dropped rather than blocking the
+        // patient's later events.
+        log.warn("billing-service rejected patient event {} for patient {}: {}",
+            response.getRequestId(), response.getPatientId(), response.getErrorMessage());
+      }
+    }
+  }
+
+  /**
+   * Creates a single account. The unary call reports an invalid request as INVALID_ARGUMENT,
+   * which is turned into the INVALID response the streaming call would have given.
+   */
+  private BillingAccountResponse createAccount(final BillingAccountRequest request) {
+    try {
+      return billingClient.createAccount(request);
+    } catch (StatusRuntimeException ex) {
+      if (ex.getStatus().getCode() != Status.Code.INVALID_ARGUMENT) {
+        throw ex;
+      }
+      return BillingAccountResponse.newBuilder()
+          .setRequestId(request.getRequestId())
+          .setPatientId(request.getPatientId())
+          .setStatus(BillingAccountResponse.Status.INVALID)
+          .setErrorMessage(String.valueOf(ex.getStatus().getDescription()))
+          .build();
+    }
+  }
+
+  /**
+   * Maps a CREATED event to its account request. The outbox ID is the request ID, which stays the
+   * same when the event is redelivered.
+   */
+  private static BillingAccountRequest toRequest(final PatientOutboxMessage message) {
+    return BillingAccountRequest.newBuilder()
+        .setRequestId(String.valueOf(message.id()))
+        .setPatientId(message.event().patientId().toString())
+        .setName(message.event().name())
+        .setEmail(message.event().email())
+        .build();
+  }
+
+}
@@ -0,0 +1,255 @@
+package com.pm.patientservice.cache;
+
+import static com.pm.patientservice.configuration.CacheConfiguration.PATIENTS_BY_EMAIL_CACHE;
+import static com.pm.patientservice.configuration.CacheConfiguration.PATIENTS_BY_ID_CACHE;
+
+import com.pm.patientservice.datasource.ReadYourWrites;
+import com.pm.patientservice.model.dto.PatientDTO;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache of patients addressable by both ID and email.
+ *
+ * <p>PatientDTOs are stored once, keyed by ID; the email cache only maps an email to an ID. An
+ * email hit is accepted only if the patient it points to still carries that email, so a stale
+ * email entry (for example after an update changed the address) can never serve the wrong patient
+ * even if it outlives its explicit eviction.
+ *
+ * <p>Evictions issued inside a transaction are applied after it commits, so a rolled-back write
+ * never invalidates the cache. Puts of patients read by a lookup are applied at once, but never
+ * replace a newer version: an eviction leaves a tombstone carrying the version written (or, for a
+ * delete, every version), so a reader that loaded the row before a concurrent update, or from a
+ * replica that has not replayed it, cannot cache the old row after the writer's eviction.
+ *
+ * <p>Requests {@linkplain ReadYourWrites pinned} to the primary after a write bypass the cache on
+ * reads: an entry reloaded by another client from a replica that has not replayed the write yet
+ * must not be served to the writer. What they read from the primary is cached as usual.
+ *
+ * <p>A tombstone is an ordinary entry, so it may be dropped by the size bound before a lagging
+ * replica has replayed the write. With {@code patient.cache.replica-eviction-delay} set, every
+ * eviction is repeated once that long after the commit, dropping anything reloaded meanwhile.
+ */
+@Component
+public class PatientCache {
+
+  /**
+   * Tombstone version of a deleted patient, which no read may cache again.
+   */
+  private static final long DELETED = Long.MAX_VALUE;
+
+  private final Cache patientsById;
+
+  private final Cache patientsByEmail;
+
+  private final ConcurrentMap<Object, Object> patientsByIdEntries;
+
+  private final Duration replicaEvictionDelay;
+
+  /**
+   * Constructor for PatientCache without delayed re-eviction.
+   *
+   * @param cacheManager the cache manager holding the patient caches
+   */
+  public PatientCache(final CacheManager cacheManager) {
+    this(cacheManager, Duration.ZERO);
+  }
+
+  /**
+   * Constructor for PatientCache.
+   *
+   * @param cacheManager the cache manager holding the patient caches
+   * @param replicaEvictionDelay how long after a commit evictions are repeated, or zero to not
+   *     repeat them
+   */
+  @Autowired
+  public PatientCache(final CacheManager cacheManager,
+      @Value("${patient.cache.replica-eviction-delay:0s}") final Duration replicaEvictionDelay) {
+    this.patientsById = requireCache(cacheManager, PATIENTS_BY_ID_CACHE);
+    this.patientsByEmail = requireCache(cacheManager, PATIENTS_BY_EMAIL_CACHE);
+    this.patientsByIdEntries = entries(patientsById);
+    this.replicaEvictionDelay = replicaEvictionDelay;
+  }
+
+  /**
+   * Looks up a cached patient by ID.
+   *
+   * @param id the ID of the patient
+   * @return the cached PatientDTO, or empty on a miss or when pinned to the primary
+   */
+  public Optional<PatientDTO> getById(final UUID id) {
+    if (ReadYourWrites.isPinnedToPrimary()) {
+      return Optional.empty();
+    }
+    return cached(id);
+  }
+
+  /**
+   * Looks up a cached patient by email.
+   *
+   * @param email the email of the patient
+   * @return the cached PatientDTO, or empty on a miss or when pinned to the primary
+   */
+  public Optional<PatientDTO> getByEmail(final String email) {
+    if (ReadYourWrites.isPinnedToPrimary()) {
+      return Optional.empty();
+    }
+    UUID id = patientsByEmail.get(email, UUID.class);
+    if (id == null) {
+      return Optional.empty();
+    }
+    Optional<PatientDTO> patient = cached(id);
+    if (patient.isEmpty() || !Objects.equals(email, patient.get().getEmail())) {
+      patientsByEmail.evict(email);
+      return Optional.empty();
+    }
+    return patient;
+  }
+
+  /**
+   * Caches a patient under both its ID and its email, unless a newer version of it is cached or
+   * was evicted since. Patients read inside a read-write transaction may be uncommitted and are
+   * not cached.
+   *
+   * @param patient the patient to cache
+   */
+  public void put(final PatientDTO patient) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return;
+    }
+    long version = versionOf(patient);
+    Object stored = patientsByIdEntries.compute(patient.getId(),
+        (id, existing) -> newerThan(existing, version) ? existing : patient);
+    if (stored == patient) {
+      patientsByEmail.put(patient.getEmail(), patient.getId());
+    }
+  }
+
+  /**
+   * Evicts an updated patient by ID, together with the email it is currently cached under. Until
+   * the entry expires, only the given or a later version can be cached again.
+   *
+   * @param id      the ID of the patient
+   * @param version the version the patient was updated to
+   */
+  public void evict(final UUID id, final long version) {
+    afterCommit(() -> evictById(id, version));
+    evictAgainAfterReplicaLag(() -> evictById(id, version));
+  }
+
+  /**
+   * Evicts a deleted patient by ID, together with the email it is currently cached under. Until
+   * the entry expires, no read can cache the patient again.
+   *
+   * @param id the ID of the patient
+   */
+  public void evict(final UUID id) {
+    evict(id, DELETED);
+  }
+
+  /**
+   * Evicts an email entry, e.g. when the address is taken by another patient.
+   *
+   * @param email the email to evict
+   */
+  public void evictEmail(final String email) {
+    afterCommit(() -> patientsByEmail.evict(email));
+    evictAgainAfterReplicaLag(() -> patientsByEmail.evict(email));
+  }
+
+  private Optional<PatientDTO> cached(final UUID id) {
+    Cache.ValueWrapper entry = patientsById.get(id);
+    return entry != null && entry.get() instanceof PatientDTO patient
+        ? Optional.of(patient) : Optional.empty();
+  }
+
+  private void evictById(final UUID id, final long version) {
+    Object[] previous = new Object[1];
+    patientsByIdEntries.compute(id, (key, existing) -> {
+      previous[0] = existing;
+      return newerThan(existing, version) ? existing : new Tombstone(version);
+    });
+    if (previous[0] instanceof PatientDTO cached) {
+      patientsByEmail.evict(cached.getEmail());
+    }
+  }
+
+  private void evictAgainAfterReplicaLag(final Runnable eviction) {
+    if (replicaEvictionDelay.isZero()) {
+      return;
+    }
+    afterCommit(() -> CompletableFuture.delayedExecutor(
+        replicaEvictionDelay.toMillis(), TimeUnit.MILLISECONDS).execute(eviction));
+  }
+
+  private static void afterCommit(final Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+  /**
+   * Whether a cache entry holds a later version than the given one.
+   */
+  private static boolean newerThan(final Object entry, final long version) {
+    if (entry instanceof PatientDTO patient) {
+      return versionOf(patient) > version;
+    }
+    return entry instanceof Tombstone tombstone && tombstone.version() > version;
+  }
+
+  private static long versionOf(final PatientDTO patient) {
+    return patient.getVersion() == null ? 0 : patient.getVersion();
+  }
+
+  private static Cache requireCache(final CacheManager cacheManager, final String name) {
+    Cache cache = cacheManager.getCache(name);
+    if (cache == null) {
+      throw new IllegalStateException("Cache not configured: " + name);
+    }
+    return cache;
+  }
+
+  /**
+   * The map behind a cache, for the atomic version checks the Cache abstraction cannot express.
+   */
+  @SuppressWarnings("unchecked")
+  private static ConcurrentMap<Object, Object> entries(final Cache cache) {
+    Object nativeCache = cache.getNativeCache();
+    if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+      return (ConcurrentMap<Object, Object>) caffeine.asMap();
+    }
+    if (nativeCache instanceof ConcurrentMap<?, ?> map) {
+      return (ConcurrentMap<Object, Object>) map;
+    }
+    throw new IllegalStateException("Cache does not support atomic updates: " + cache.getName());
+  }
+
+  /**
+   * Left in place of an evicted patient: versions up to this one were replaced or deleted.
+   */
+  private record Tombstone(long version) {
+
+  }
+
+}
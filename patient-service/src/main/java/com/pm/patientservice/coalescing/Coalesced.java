@@ -0,0 +1,19 @@
+package com.pm.patientservice.coalescing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read whose concurrent calls with equal arguments share one execution, see
+ * {@link RequestCoalescer}. Only for methods without side effects whose result may be shared
+ * between callers.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+
+}
@@ -0,0 +1,18 @@
+package com.pm.patientservice.coalescing;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of {@link RequestCoalescer} under {@code patient.coalescing}.
+ *
+ * @param timeout    how long a caller waits for the execution it joined before it is shed
+ * @param retryAfter the Retry-After sent with the 503 of a caller that waited too long
+ */
+@ConfigurationProperties(prefix = "patient.coalescing")
+public record CoalescingProperties(
+    @DefaultValue("2s") Duration timeout,
+    @DefaultValue("1s") Duration retryAfter) {
+
+}
@@ -0,0 +1,131 @@
+package com.pm.patientservice.coalescing;
+
+import com.pm.patientservice.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-flight execution of identical reads.
+ *
+ * <p>The first caller for a key leads: it runs the read and hands its result, or its exception,
+ * to every caller that arrived for the same key while it was running, so a joining caller sees
+ * data no newer than the start of the leader's read. Nothing is kept once the read completes, so
+ * a later call reads again. A joining caller waits at most {@code timeout} and
+ * is then shed with a {@link ServiceOverloadedException}, answered with 503 and Retry-After,
+ * rather than piling onto a slow read with queries of its own.
+ */
+public class RequestCoalescer {
+
+  public static final String ERROR_MESSAGE_TIMEOUT = "Timed out waiting for an identical request "
+      + "in progress, please retry later";
+  public static final String ERROR_MESSAGE_INTERRUPTED = "Interrupted while waiting for an "
+      + "identical request in progress";
+
+  /**
+   * Role tag values of the call counter.
+   */
+  public static final String ROLE_LEADER = "leader";
+  public static final String ROLE_FOLLOWER = "follower";
+
+  /**
+   * A read to coalesce.
+   */
+  @FunctionalInterface
+  public interface Execution {
+
+    Object execute() throws Throwable;
+
+  }
+
+  private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+  private final Duration timeout;
+
+  private final Duration retryAfter;
+
+  private final Counter leaders;
+
+  private final Counter followers;
+
+  private final Counter timeouts;
+
+  /**
+   * Constructor for RequestCoalescer.
+   *
+   * @param properties    the wait timeout and Retry-After
+   * @param meterRegistry the registry the coalescing metrics are published to
+   */
+  public RequestCoalescer(final CoalescingProperties properties,
+      final MeterRegistry meterRegistry) {
+    this.timeout = properties.timeout();
+    this.retryAfter = properties.retryAfter();
+    this.leaders = callCounter(meterRegistry, ROLE_LEADER);
+    this.followers = callCounter(meterRegistry, ROLE_FOLLOWER);
+    this.timeouts = Counter.builder("patient.coalescing.timeouts")
+        .description("Coalesced calls shed after waiting too long for the leading call")
+        .register(meterRegistry);
+    Gauge.builder("patient.coalescing.in_flight", inFlight, Map::size)
+        .description("Distinct coalesced reads currently running")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Runs the read, or joins the identical one already running.
+   *
+   * @param key       identifies identical reads; must implement equals and hashCode
+   * @param execution the read
+   * @return the read's result
+   * @throws Throwable whatever the read threw, or a ServiceOverloadedException if the leading read
+   *                   did not complete in time
+   */
+  public Object execute(final Object key, final Execution execution) throws Throwable {
+    CompletableFuture<Object> flight = new CompletableFuture<>();
+    CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+    if (running == null) {
+      return lead(key, flight, execution);
+    }
+    followers.increment();
+    try {
+      return running.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException ex) {
+      throw ex.getCause();
+    } catch (TimeoutException ex) {
+      timeouts.increment();
+      throw new ServiceOverloadedException(ERROR_MESSAGE_TIMEOUT, retryAfter);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ERROR_MESSAGE_INTERRUPTED, ex);
+    }
+  }
+
+  private Object lead(final Object key, final CompletableFuture<Object> flight,
+      final Execution execution) throws Throwable {
+    leaders.increment();
+    try {
+      Object result = execution.execute();
+      flight.complete(result);
+      return result;
+    } catch (Throwable t) {
+      flight.completeExceptionally(t);
+      throw t;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  private static Counter callCounter(final MeterRegistry meterRegistry, final String role) {
+    return Counter.builder("patient.coalescing.calls")
+        .description("Coalesced calls by whether they ran the read or joined a running one")
+        .tag("role", role)
+        .register(meterRegistry);
+  }
+
+}
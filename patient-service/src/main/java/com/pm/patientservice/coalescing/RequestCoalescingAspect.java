@@ -0,0 +1,67 @@
+package com.pm.patientservice.coalescing;
+
+import com.pm.patientservice.datasource.ReadYourWrites;
+import com.pm.patientservice.exception.ServiceOverloadedException;
+import com.pm.patientservice.metrics.PatientMetrics;
+import java.util.Arrays;
+import java.util.List;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Runs {@link Coalesced} methods through the {@link RequestCoalescer}, keyed by method and
+ * arguments.
+ *
+ * <p>Ordered ahead of connection admission and the transaction interceptor, so only the leading
+ * call takes an admission slot and a database connection; the callers joining it hold neither
+ * while they wait. Callers shed after waiting too long are timed as
+ * {@value PatientMetrics#OUTCOME_OVERLOADED}; a leader shed by admission is recorded there.
+ *
+ * <p>A joining caller gets data no newer than the start of the leader's read, which may predate
+ * the caller's own write. Requests pinned to the primary for read-your-writes
+ * ({@link ReadYourWrites}) therefore always run their own read and never lead or join.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestCoalescingAspect {
+
+  private final RequestCoalescer requestCoalescer;
+
+  private final PatientMetrics patientMetrics;
+
+  /**
+   * Constructor for RequestCoalescingAspect.
+   *
+   * @param requestCoalescer the coalescer the annotated calls go through
+   * @param patientMetrics   the metrics shed calls are recorded in
+   */
+  public RequestCoalescingAspect(final RequestCoalescer requestCoalescer,
+      final PatientMetrics patientMetrics) {
+    this.requestCoalescer = requestCoalescer;
+    this.patientMetrics = patientMetrics;
+  }
+
+  @Around("@annotation(com.pm.patientservice.coalescing.Coalesced)")
+  public Object coalesce(final ProceedingJoinPoint joinPoint) throws Throwable {
+    if (ReadYourWrites.isPinnedToPrimary()) {
+      return joinPoint.proceed();
+    }
+    Object key = List.of(((MethodSignature) joinPoint.getSignature()).getMethod(),
+        Arrays.asList(joinPoint.getArgs()));
+    long start = System.nanoTime();
+    try {
+      return requestCoalescer.execute(key, joinPoint::proceed);
+    } catch (ServiceOverloadedException ex) {
+      if (RequestCoalescer.ERROR_MESSAGE_TIMEOUT.equals(ex.getMessage())) {
+        patientMetrics.recordOverloaded(joinPoint.getSignature().getName(),
+            System.nanoTime() - start);
+      }
+      throw ex;
+    }
+  }
+
+}
@@ -0,0 +1,79 @@
+package com.pm.patientservice.configuration;
+
+import com.pm.patientservice.accesslog.AccessLogEndpoint;
+import com.pm.patientservice.accesslog.AccessLogFilter;
+import com.pm.patientservice.accesslog.AccessLogProperties;
+import com.pm.patientservice.accesslog.AccessLogSampler;
+import com.pm.patientservice.accesslog.AccessLogWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Sampled, asynchronous access log of the patient endpoints. {@code
+ * patient.access-log.enabled=false} turns it off entirely.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "patient.access-log", name = "enabled", havingValue = "true",
+    matchIfMissing = true)
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogConfiguration {
+
+  /**
+   * The sample rates, seeded from configuration.
+   *
+   * @param properties the access log settings
+   * @return the AccessLogSampler
+   */
+  @Bean
+  public AccessLogSampler accessLogSampler(final AccessLogProperties properties) {
+    return new AccessLogSampler(properties);
+  }
+
+  /**
+   * The background writer.
+   *
+   * @param properties    the access log settings
+   * @param meterRegistry the registry queue metrics are published to
+   * @return the AccessLogWriter
+   */
+  @Bean
+  public AccessLogWriter accessLogWriter(final AccessLogProperties properties,
+      final MeterRegistry meterRegistry) {
+    return new AccessLogWriter(properties.queueCapacity(), meterRegistry);
+  }
+
+  /**
+   * The actuator endpoint for changing sample rates at runtime.
+   *
+   * @param accessLogSampler the sample rates
+   * @return the AccessLogEndpoint
+   */
+  @Bean
+  public AccessLogEndpoint accessLogEndpoint(final AccessLogSampler accessLogSampler) {
+    return new AccessLogEndpoint(accessLogSampler);
+  }
+
+  /**
+   * Registers the access log filter for the patient endpoints, outside the other filters so its
+   * latency covers them.
+   *
+   * @param accessLogSampler the sample rates
+   * @param accessLogWriter  the background writer
+   * @return the filter registration
+   */
+  @Bean
+  public FilterRegistrationBean<AccessLogFilter> accessLogFilter(
+      final AccessLogSampler accessLogSampler, final AccessLogWriter accessLogWriter) {
+    FilterRegistrationBean<AccessLogFilter> registration = new FilterRegistrationBean<>(
+        new AccessLogFilter(accessLogSampler, accessLogWriter));
+    registration.addUrlPatterns("/patients", "/patients/*");
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+    return registration;
+  }
+
+}
@@ -0,0 +1,46 @@
+package com.pm.patientservice.configuration;
+
+import com.pm.patientservice.admission.AdmissionProperties;
+import com.pm.patientservice.admission.ConnectionAdmission;
+import com.pm.patientservice.admission.ConnectionAdmissionAspect;
+import com.pm.patientservice.metrics.PatientMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Puts {@link ConnectionAdmission} in front of the patient services. Limits are set per profile
+ * through the {@code patient.admission.*} properties, next to the pool size they protect.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfiguration {
+
+  /**
+   * The admission limiter.
+   *
+   * @param properties    the admission limits
+   * @param meterRegistry the registry admission metrics are published to
+   * @return the ConnectionAdmission
+   */
+  @Bean
+  public ConnectionAdmission connectionAdmission(final AdmissionProperties properties,
+      final MeterRegistry meterRegistry) {
+    return new ConnectionAdmission(properties, meterRegistry);
+  }
+
+  /**
+   * The aspect applying admission to PatientService and PatientImportService.
+   *
+   * @param connectionAdmission the admission limiter
+   * @param patientMetrics      the metrics shed calls are recorded in
+   * @return the ConnectionAdmissionAspect
+   */
+  @Bean
+  public ConnectionAdmissionAspect connectionAdmissionAspect(
+      final ConnectionAdmission connectionAdmission, final PatientMetrics patientMetrics) {
+    return new ConnectionAdmissionAspect(connectionAdmission, patientMetrics);
+  }
+
+}
@@ -0,0 +1,73 @@
+package com.pm.patientservice.configuration;
+
+import com.pm.patientservice.billing.BillingClient;
+import com.pm.patientservice.billing.BillingClientProperties;
+import com.pm.patientservice.billing.BillingPatientEventSink;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.grpc.MetricCollectingClientInterceptor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sends created patients to billing-service once {@code billing.grpc.client.target} is set; the
+ * {@link BillingPatientEventSink} then replaces the logging sink of the outbox relay.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "billing.grpc.client", name = "target")
+@EnableConfigurationProperties(BillingClientProperties.class)
+public class BillingClientConfiguration {
+
+  /**
+   * The channel to billing-service, shared by all calls. It keeps its connection alive with pings
+   * while calls are running and lets it go after idle-timeout. Every call is recorded in the
+   * {@code grpc.client.*} metrics, tagged with method and status code.
+   *
+   * @param properties    the target, keep-alive and retry settings
+   * @param meterRegistry the registry the client metrics are published to
+   * @return the ManagedChannel
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ManagedChannel billingChannel(final BillingClientProperties properties,
+      final MeterRegistry meterRegistry) {
+    return ManagedChannelBuilder.forTarget(properties.target())
+        .usePlaintext()
+        .keepAliveTime(properties.keepAliveTime().toNanos(), TimeUnit.NANOSECONDS)
+        .keepAliveTimeout(properties.keepAliveTimeout().toNanos(), TimeUnit.NANOSECONDS)
+        .idleTimeout(properties.idleTimeout().toNanos(), TimeUnit.NANOSECONDS)
+        .defaultServiceConfig(BillingClient.serviceConfig(properties))
+        .enableRetry()
+        .maxRetryAttempts(properties.maxAttempts())
+        .intercept(new MetricCollectingClientInterceptor(meterRegistry))
+        .build();
+  }
+
+  /**
+   * The billing-service client.
+   *
+   * @param billingChannel the channel to billing-service
+   * @param properties     the call deadlines
+   * @return the BillingClient
+   */
+  @Bean
+  public BillingClient billingClient(final ManagedChannel billingChannel,
+      final BillingClientProperties properties) {
+    return new BillingClient(billingChannel, properties);
+  }
+
+  /**
+   * The outbox sink opening billing accounts for created patients.
+   *
+   * @param billingClient the billing-service client
+   * @return the BillingPatientEventSink
+   */
+  @Bean
+  public BillingPatientEventSink billingPatientEventSink(final BillingClient billingClient) {
+    return new BillingPatientEventSink(billingClient);
+  }
+
+}
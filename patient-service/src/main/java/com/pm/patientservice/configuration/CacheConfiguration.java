@@ -0,0 +1,25 @@
+package com.pm.patientservice.configuration;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's cache abstraction. The cache provider, cache names and Caffeine spec (size
+ * bound, expiry and statistics recording) are configured through the {@code spring.cache.*}
+ * properties, which also lets the actuator publish hit, miss and eviction metrics per cache.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+  /**
+   * Cache of PatientDTOs keyed by patient ID.
+   */
+  public static final String PATIENTS_BY_ID_CACHE = "patientsById";
+
+  /**
+   * Cache of patient IDs keyed by email address.
+   */
+  public static final String PATIENTS_BY_EMAIL_CACHE = "patientsByEmail";
+
+}
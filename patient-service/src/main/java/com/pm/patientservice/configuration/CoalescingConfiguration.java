@@ -0,0 +1,49 @@
+package com.pm.patientservice.configuration;
+
+import com.pm.patientservice.coalescing.CoalescingProperties;
+import com.pm.patientservice.coalescing.RequestCoalescer;
+import com.pm.patientservice.coalescing.RequestCoalescingAspect;
+import com.pm.patientservice.metrics.PatientMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Coalesces concurrent identical patient lookups. {@code patient.coalescing.enabled=false} runs
+ * every call on its own.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "patient.coalescing", name = "enabled", havingValue = "true",
+    matchIfMissing = true)
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class CoalescingConfiguration {
+
+  /**
+   * The single-flight coalescer.
+   *
+   * @param properties    the wait timeout and Retry-After
+   * @param meterRegistry the registry coalescing metrics are published to
+   * @return the RequestCoalescer
+   */
+  @Bean
+  public RequestCoalescer requestCoalescer(final CoalescingProperties properties,
+      final MeterRegistry meterRegistry) {
+    return new RequestCoalescer(properties, meterRegistry);
+  }
+
+  /**
+   * The aspect applying coalescing to {@code @Coalesced} methods.
+   *
+   * @param requestCoalescer the single-flight coalescer
+   * @param patientMetrics   the metrics shed calls are recorded in
+   * @return the RequestCoalescingAspect
+   */
+  @Bean
+  public RequestCoalescingAspect requestCoalescingAspect(
+      final RequestCoalescer requestCoalescer, final PatientMetrics patientMetrics) {
+    return new RequestCoalescingAspect(requestCoalescer, patientMetrics);
+  }
+
+}
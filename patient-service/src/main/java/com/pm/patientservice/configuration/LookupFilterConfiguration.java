@@ -0,0 +1,96 @@
+package com.pm.patientservice.configuration;
+
+import com.pm.patientservice.lookup.LookupFilterProperties;
+import com.pm.patientservice.lookup.PatientKeyListener;
+import com.pm.patientservice.lookup.PatientKeyNotifier;
+import com.pm.patientservice.lookup.PatientLookupFilter;
+import com.pm.patientservice.lookup.PatientLookupFilterRefresher;
+import com.pm.patientservice.repository.PatientRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Answers lookups of patient IDs and emails that do not exist without a query. The filter is
+ * opt-in: unless {@code patient.lookup-filter.enabled=true}, it is never built, lets every key
+ * through, and no listener connection or refresher is set up.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(LookupFilterProperties.class)
+@EnableScheduling
+public class LookupFilterConfiguration {
+
+  /**
+   * Announces written keys to every instance.
+   *
+   * @param jdbcTemplate the template the notifications are sent with
+   * @return the PatientKeyNotifier
+   */
+  @Bean
+  public PatientKeyNotifier patientKeyNotifier(final JdbcTemplate jdbcTemplate) {
+    return new PatientKeyNotifier(jdbcTemplate);
+  }
+
+  /**
+   * The membership filter consulted before patient lookups.
+   *
+   * @param properties    the false-positive rate, memory budget and refresh interval
+   * @param notifier      the notifier announcing written keys
+   * @param meterRegistry the registry the filter metrics are published to
+   * @return the PatientLookupFilter
+   */
+  @Bean
+  public PatientLookupFilter patientLookupFilter(final LookupFilterProperties properties,
+      final PatientKeyNotifier notifier, final MeterRegistry meterRegistry) {
+    return new PatientLookupFilter(properties, notifier, meterRegistry);
+  }
+
+  /**
+   * Receives the keys written by every instance, over its own connection to the primary.
+   *
+   * @param filter            the filter the keys are added to
+   * @param properties        the spring.datasource properties
+   * @param connectionDetails the connection details, when provided by a service connection
+   * @return the PatientKeyListener
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "patient.lookup-filter", name = "enabled", havingValue = "true")
+  public PatientKeyListener patientKeyListener(final PatientLookupFilter filter,
+      final DataSourceProperties properties,
+      final ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+    JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+    if (details != null) {
+      return new PatientKeyListener(filter, details.getJdbcUrl(), details.getUsername(),
+          details.getPassword());
+    }
+    return new PatientKeyListener(filter, properties.determineUrl(),
+        properties.determineUsername(), properties.determinePassword());
+  }
+
+  /**
+   * Builds and periodically rebuilds the filter.
+   *
+   * @param filter             the filter to rebuild
+   * @param patientRepository  the repository the keys are scanned from
+   * @param transactionManager the transaction manager the count and scan run under
+   * @return the PatientLookupFilterRefresher
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "patient.lookup-filter", name = "enabled", havingValue = "true")
+  public PatientLookupFilterRefresher patientLookupFilterRefresher(
+      final PatientLookupFilter filter, final PatientRepository patientRepository,
+      final PlatformTransactionManager transactionManager) {
+    return new PatientLookupFilterRefresher(filter, patientRepository,
+        new TransactionTemplate(transactionManager));
+  }
+
+}
@@ -0,0 +1,52 @@
+package com.pm.patientservice.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.patientservice.outbox.LoggingPatientEventSink;
+import com.pm.patientservice.outbox.OutboxProperties;
+import com.pm.patientservice.outbox.PatientEventSink;
+import com.pm.patientservice.outbox.PatientOutboxRelay;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Relays the patient outbox to the {@link PatientEventSink} bean, or logs the events when there is
+ * none. {@code patient.outbox.relay-enabled=false} stops relaying on an instance while its writes
+ * keep filling the outbox.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(OutboxProperties.class)
+@EnableScheduling
+public class OutboxConfiguration {
+
+  /**
+   * The background relay.
+   *
+   * @param jdbcTemplate       the template the outbox is read and updated with
+   * @param transactionManager the transaction manager each batch runs under
+   * @param objectMapper       the mapper reading event payloads
+   * @param sink               the destination of the events, logging them if none is defined
+   * @param properties         the batch size and retry backoff
+   * @param meterRegistry      the registry the publish counters are published to
+   * @return the PatientOutboxRelay
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "patient.outbox", name = "relay-enabled", havingValue = "true",
+      matchIfMissing = true)
+  public PatientOutboxRelay patientOutboxRelay(final JdbcTemplate jdbcTemplate,
+      final PlatformTransactionManager transactionManager, final ObjectMapper objectMapper,
+      final ObjectProvider<PatientEventSink> sink, final OutboxProperties properties,
+      final MeterRegistry meterRegistry) {
+    return new PatientOutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager),
+        objectMapper, sink.getIfAvailable(LoggingPatientEventSink::new), properties,
+        meterRegistry);
+  }
+
+}
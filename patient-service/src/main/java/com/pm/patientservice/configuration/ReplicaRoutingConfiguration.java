@@ -0,0 +1,138 @@
+package com.pm.patientservice.configuration;
+
+import com.pm.patientservice.datasource.ReadYourWritesFilter;
+import com.pm.patientservice.datasource.ReplicaDataSourceProperties;
+import com.pm.patientservice.datasource.ReplicaRoutingDataSource;
+import com.pm.patientservice.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Routes read-only transactions to PostgreSQL read replicas once
+ * {@code patient.datasource.replicas[0].url} is set; without replicas Spring Boot's single
+ * datasource is left in place.
+ *
+ * <p>The primary keeps its {@code spring.datasource.*} configuration and is the only target of
+ * Flyway. Replicas are health-checked by {@link ReplicaSet}, and {@link ReadYourWritesFilter}
+ * keeps a client's reads on the primary for a short window after each of its writes.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "patient.datasource.replicas[0]", name = "url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@EnableScheduling
+public class ReplicaRoutingConfiguration {
+
+  /**
+   * Pool name of the primary; replicas are named {@code patient-replica-<n>}.
+   */
+  public static final String PRIMARY_POOL_NAME = "patient-primary";
+
+  /**
+   * The primary connection pool, configured from {@code spring.datasource.*} or a service
+   * connection such as a Testcontainers database.
+   *
+   * @param properties the spring.datasource properties
+   * @param connectionDetails the connection details, when provided by a service connection
+   * @return the primary HikariDataSource
+   */
+  @Bean
+  @FlywayDataSource
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(final DataSourceProperties properties,
+      final ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+    HikariDataSource primary = properties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    connectionDetails.ifAvailable(details -> {
+      primary.setJdbcUrl(details.getJdbcUrl());
+      primary.setUsername(details.getUsername());
+      primary.setPassword(details.getPassword());
+    });
+    primary.setPoolName(PRIMARY_POOL_NAME);
+    return primary;
+  }
+
+  /**
+   * The replica connection pools. A replica that is down at startup does not fail it, and a
+   * replica connection attempt gives up after {@code replica-connection-timeout} so the read can
+   * fall back to the primary. Replica pools are not beans, so their hikaricp.* metrics are bound
+   * here rather than by Spring Boot.
+   *
+   * @param properties the replica properties
+   * @param primary the primary, whose credentials and pool size replicas default to
+   * @param meterRegistry the registry the pool metrics are published to, if any
+   * @return the replicas, in configuration order
+   */
+  @Bean
+  public ReplicaSet replicaSet(final ReplicaDataSourceProperties properties,
+      @Qualifier("primaryDataSource") final HikariDataSource primary,
+      final ObjectProvider<MeterRegistry> meterRegistry) {
+    List<ReplicaDataSourceProperties.Replica> configured = properties.replicas();
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    for (int i = 0; i < configured.size(); i++) {
+      ReplicaDataSourceProperties.Replica replica = configured.get(i);
+      HikariDataSource dataSource = new HikariDataSource();
+      dataSource.setPoolName("patient-replica-" + i);
+      dataSource.setJdbcUrl(replica.url());
+      dataSource.setUsername(Objects.requireNonNullElse(replica.username(),
+          primary.getUsername()));
+      dataSource.setPassword(Objects.requireNonNullElse(replica.password(),
+          primary.getPassword()));
+      dataSource.setReadOnly(true);
+      dataSource.setMaximumPoolSize(primary.getMaximumPoolSize());
+      dataSource.setConnectionTimeout(properties.replicaConnectionTimeout().toMillis());
+      dataSource.setInitializationFailTimeout(-1);
+      meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+      replicas.put(dataSource.getPoolName(), dataSource);
+    }
+    return new ReplicaSet(replicas, properties.maxReplicaLag(),
+        properties.replicaConnectionTimeout());
+  }
+
+  /**
+   * The datasource used by JPA, JDBC and transactions.
+   *
+   * @param primary the primary
+   * @param replicaSet the replicas
+   * @return a lazy proxy over the routing datasource
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(@Qualifier("primaryDataSource") final DataSource primary,
+      final ReplicaSet replicaSet) {
+    return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replicaSet));
+  }
+
+  /**
+   * Pins requests that follow a write to the primary.
+   *
+   * @param properties the replica properties
+   * @return the read-your-writes filter
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "patient.datasource", name = "read-your-writes",
+      havingValue = "true", matchIfMissing = true)
+  public ReadYourWritesFilter readYourWritesFilter(final ReplicaDataSourceProperties properties) {
+    return new ReadYourWritesFilter(properties.readYourWritesWindow(), Clock.systemUTC());
+  }
+
+}
@@ -1,17 +1,33 @@
 package com.pm.patientservice.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pm.patientservice.model.dto.APIResponse;
+import com.pm.patientservice.model.dto.PatientBatchGetRequest;
+import com.pm.patientservice.model.dto.PatientBatchGetResultDTO;
 import com.pm.patientservice.model.dto.PatientDTO;
+import com.pm.patientservice.model.dto.PatientImportResultDTO;
+import com.pm.patientservice.model.dto.PatientMatchDTO;
+import com.pm.patientservice.model.dto.PatientPageDTO;
+import com.pm.patientservice.model.dto.PatientSearchCriteria;
 import com.pm.patientservice.model.validators.CreatePatientValidationGroup;
+import com.pm.patientservice.service.PatientImportService;
+import com.pm.patientservice.service.PatientSearchSort;
 import com.pm.patientservice.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.groups.Default;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,36 +38,52 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/patients")
 @Tag(name = "Patients", description = "API for managing Patients")
 public class PatientController {
 
-  private static final Logger log = LoggerFactory.getLogger(PatientController.class);
+  /**
+   * Number of exported patients between explicit flushes of the NDJSON stream.
+   */
+  private static final int EXPORT_FLUSH_INTERVAL = 100;
 
   private final PatientService patientService;
 
+  private final PatientImportService patientImportService;
+
+  private final ObjectMapper objectMapper;
+
   /**
    * Constructor for PatientController.
    *
-   * @param patientService the service to handle patient-related operations
+   * @param patientService       the service to handle patient-related operations
+   * @param patientImportService the service to handle bulk patient imports
+   * @param objectMapper         the mapper used to stream NDJSON exports and imports
    */
 
-  public PatientController(final PatientService patientService) {
+  public PatientController(final PatientService patientService,
+      final PatientImportService patientImportService, final ObjectMapper objectMapper) {
     this.patientService = patientService;
+    this.patientImportService = patientImportService;
+    this.objectMapper = objectMapper;
   }
 
   /**
-   * Retrieves all patients.
+   * Retrieves all patients, capped at {@link PatientService#MAX_LIST_SIZE}.
    *
    * @return ResponseEntity with APIResponse containing a list of PatientDTOs
    */
   @GetMapping
   @Operation(summary = "Get all patients",
-      description = "Retrieves a list of all patients in the system.",
+      description = "Retrieves a list of patients in the system, capped at "
+          + PatientService.MAX_LIST_SIZE + " entries. Use /patients/page to walk all patients.",
       responses = {
           @io.swagger.v3.oas.annotations.responses.ApiResponse(
               responseCode = "200",
@@ -72,16 +104,205 @@ public class PatientController {
       }
   )
   public ResponseEntity<APIResponse<List<PatientDTO>>> getAllPatients() {
-    log.info("Retrieving all patients");
     List<PatientDTO> patients = patientService.getAllPatients();
     return ResponseEntity.ok().body(new APIResponse<>(patients));
   }
 
   /**
-   * Retrieves a patient by ID.
+   * Retrieves one page of patients using keyset pagination.
    *
-   * @param id the ID of the patient to retrieve
-   * @return ResponseEntity with APIResponse containing the PatientDTO
+   * @param cursor the opaque cursor returned with the previous page, omitted for the first page
+   * @param limit  the maximum number of patients to return
+   * @return ResponseEntity with APIResponse containing the page and the next cursor
+   */
+  @GetMapping("/page")
+  @Operation(summary = "Get a page of patients",
+      description = "Retrieves patients ordered by registered date and ID. Pass the returned "
+          + "'next' cursor to fetch the following page; it is null on the last page.",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Successfully retrieved page of patients",
+              content = @io.swagger.v3.oas.annotations.media.Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = APIResponse.class)
+              )
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "400",
+              description = "Invalid cursor or limit",
+              content = @io.swagger.v3.oas.annotations.media.Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = APIResponse.class)
+              )
+          )
+      }
+  )
+  public ResponseEntity<APIResponse<PatientPageDTO>> getPatientsPage(
+      @RequestParam(name = "cursor", required = false) final String cursor,
+      @RequestParam(name = "limit", defaultValue = "" + PatientService.DEFAULT_PAGE_SIZE)
+      final int limit) {
+    PatientPageDTO page = patientService.getPatientsPage(cursor, limit);
+    return ResponseEntity.ok().body(new APIResponse<>(page));
+  }
+
+  /**
+   * Searches patients by name prefix, address substring and date ranges, with keyset pagination.
+   *
+   * @param name            case-insensitive prefix of the patient's name
+   * @param address         case-insensitive substring of the patient's address
+   * @param dateOfBirthFrom earliest date of birth, inclusive
+   * @param dateOfBirthTo   latest date of birth, inclusive
+   * @param registeredFrom  earliest registered date, inclusive
+   * @param registeredTo    latest registered date, inclusive
+   * @param sort            the ordering of the results
+   * @param direction       the direction of the ordering
+   * @param cursor          the opaque cursor returned with the previous page, omitted for the
+   *                        first page
+   * @param limit           the maximum number of patients to return
+   * @return ResponseEntity with APIResponse containing the page and the next cursor
+   */
+  @GetMapping("/search")
+  @Operation(summary = "Search patients",
+      description = "Filters patients by name prefix, address substring (at least "
+          + PatientService.MIN_ADDRESS_FILTER_LENGTH + " characters), date of birth range and "
+          + "registered date range. Results are ordered by REGISTERED_DATE or DATE_OF_BIRTH, "
+          + "then ID; pass the returned 'next' cursor with the same filters and ordering to fetch "
+          + "the following page.",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Successfully retrieved page of matching patients",
+              content = @io.swagger.v3.oas.annotations.media.Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = APIResponse.class)
+              )
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "400",
+              description = "Invalid filter, ordering, cursor or limit",
+              content = @io.swagger.v3.oas.annotations.media.Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = APIResponse.class)
+              )
+          )
+      }
+  )
+  public ResponseEntity<APIResponse<PatientPageDTO>> searchPatients(
+      @RequestParam(name = "name", required = false) final String name,
+      @RequestParam(name = "address", required = false) final String address,
+      @RequestParam(name = "dateOfBirthFrom", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate dateOfBirthFrom,
+      @RequestParam(name = "dateOfBirthTo", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate dateOfBirthTo,
+      @RequestParam(name = "registeredFrom", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate registeredFrom,
+      @RequestParam(name = "registeredTo", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate registeredTo,
+      @RequestParam(name = "sort", defaultValue = "REGISTERED_DATE") final PatientSearchSort sort,
+      @RequestParam(name = "direction", defaultValue = "ASC") final Sort.Direction direction,
+      @RequestParam(name = "cursor", required = false) final String cursor,
+      @RequestParam(name = "limit", defaultValue = "" + PatientService.DEFAULT_PAGE_SIZE)
+      final int limit) {
+    PatientSearchCriteria criteria = new PatientSearchCriteria(name, dateOfBirthFrom,
+        dateOfBirthTo, registeredFrom, registeredTo, address);
+    PatientPageDTO page = patientService.searchPatients(criteria, sort, direction, cursor, limit);
+    return ResponseEntity.ok().body(new APIResponse<>(page));
+  }
+
+  /**
+   * Finds patients by a possibly misspelled name, ranked by trigram similarity.
+   *
+   * @param name      the name to match, case-insensitively
+   * @param threshold the minimum similarity of a match, from 0.3 to 1
+   * @param limit     the maximum number of matches to return
+   * @return ResponseEntity with APIResponse containing the matches, most similar first
+   */
+  @GetMapping("/search/fuzzy")
+  @Operation(summary = "Fuzzy search patients by name",
+      description = "Returns the patients whose name is most similar to the given one, tolerating "
+          + "typos. Matches below the similarity threshold (0.3 to 1, default "
+          + PatientService.DEFAULT_SIMILARITY_THRESHOLD + ") are dropped and at most "
+          + PatientService.MAX_FUZZY_LIMIT + " are returned.",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Successfully retrieved matching patients",
+              content = @io.swagger.v3.oas.annotations.media.Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = APIResponse.class)
+              )
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "400",
+              description = "Missing name, invalid threshold or limit",
+              content = @io.swagger.v3.oas.annotations.media.Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = APIResponse.class)
+              )
+          )
+      }
+  )
+  public ResponseEntity<APIResponse<List<PatientMatchDTO>>> fuzzySearchPatients(
+      @RequestParam(name = "name", required = false) final String name,
+      @RequestParam(name = "threshold",
+          defaultValue = "" + PatientService.DEFAULT_SIMILARITY_THRESHOLD) final double threshold,
+      @RequestParam(name = "limit", defaultValue = "" + PatientService.DEFAULT_FUZZY_LIMIT)
+      final int limit) {
+    List<PatientMatchDTO> matches = patientService.fuzzySearchByName(name, threshold, limit);
+    return ResponseEntity.ok().body(new APIResponse<>(matches));
+  }
+
+  /**
+   * Exports every patient as newline-delimited JSON. Rows are written to the response as they are
+   * read from the database, on the virtual-thread async executor, so the first byte is sent
+   * immediately and memory use does not grow with the registry.
+   *
+   * @return ResponseEntity streaming one PatientDTO per line
+   */
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(summary = "Export all patients",
+      description = "Streams every patient as newline-delimited JSON, one PatientDTO per line.",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Successfully started patient export",
+              content = @io.swagger.v3.oas.annotations.media.Content(
+                  mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                  schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = PatientDTO.class)
+              )
+          )
+      }
+  )
+  public ResponseEntity<StreamingResponseBody> exportPatients() {
+    StreamingResponseBody body = outputStream -> {
+      try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+        generator.setRootValueSeparator(null);
+        long[] written = {0};
+        patientService.exportPatients(patient -> {
+          try {
+            generator.writeObject(patient);
+            generator.writeRaw('\n');
+            if (written[0]++ % EXPORT_FLUSH_INTERVAL == 0) {
+              generator.flush();
+            }
+          } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+          }
+        });
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  /**
+   * Retrieves a patient by ID. The response carries the patient's version as its ETag; a request
+   * whose If-None-Match names the current version gets a bodiless 304 without the patient being
+   * loaded, mapped or serialized.
+   *
+   * @param id          the ID of the patient to retrieve
+   * @param ifNoneMatch the entity tags the client already holds, if any
+   * @return ResponseEntity with APIResponse containing the PatientDTO, or 304 if unchanged
    */
   @GetMapping("/{id}")
   @Operation(summary = "Get patient by ID",
@@ -95,6 +316,10 @@ public class PatientController {
                   schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = APIResponse.class)
               )
           ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "304",
+              description = "Patient unchanged since the version named in If-None-Match"
+          ),
           @io.swagger.v3.oas.annotations.responses.ApiResponse(
               responseCode = "404",
               description = "Patient not found",
@@ -104,10 +329,17 @@ public class PatientController {
               )
           )
       })
-  public ResponseEntity<APIResponse<PatientDTO>> getPatientById(@PathVariable("id") final UUID id) {
-    log.info("Retrieving patient with ID: {}", id);
+  public ResponseEntity<APIResponse<PatientDTO>> getPatientById(@PathVariable("id") final UUID id,
+      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+    if (ifNoneMatch != null) {
+      long version = patientService.getPatientVersion(id);
+      if (PatientETag.matches(ifNoneMatch, version)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(PatientETag.of(version)).build();
+      }
+    }
     PatientDTO patient = patientService.getPatientById(id);
-    return ResponseEntity.ok().body(new APIResponse<>(patient));
+    return ResponseEntity.ok().eTag(PatientETag.of(patient.getVersion()))
+        .body(new APIResponse<>(patient));
   }
 
   /**
@@ -140,11 +372,49 @@ public class PatientController {
   )
   public ResponseEntity<APIResponse<PatientDTO>> getPatientByEmail(
       @PathVariable("email") final String email) {
-    log.info("Retrieving patient with email: {}", email);
     PatientDTO patient = patientService.getPatientByEmail(email);
     return ResponseEntity.ok().body(new APIResponse<>(patient));
   }
 
+  /**
+   * Retrieves many patients by ID and/or email in one request.
+   *
+   * @param request the IDs and emails to resolve
+   * @return ResponseEntity with APIResponse containing the patients found, in request order, and
+   *     the keys that matched no patient
+   */
+  @PostMapping("/batch-get")
+  @Operation(summary = "Get patients by IDs and emails",
+      description = "Resolves up to " + PatientService.MAX_BATCH_GET_SIZE + " IDs and emails in one "
+          + "call. Patients requested by ID come first, then those requested by email, each in "
+          + "request order and each patient once; keys without a patient are listed in "
+          + "'missingIds' and 'missingEmails'.",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Successfully resolved the requested patients",
+              content = @io.swagger.v3.oas.annotations.media.Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = APIResponse.class)
+              )
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "400",
+              description = "Too many keys",
+              content = @io.swagger.v3.oas.annotations.media.Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = APIResponse.class)
+              )
+          )
+      }
+  )
+  public ResponseEntity<APIResponse<PatientBatchGetResultDTO>> batchGetPatients(
+      @Validated @RequestBody final PatientBatchGetRequest request) {
+    PatientBatchGetResultDTO result = patientService.batchGetPatients(request.ids(),
+        request.emails());
+    return ResponseEntity.ok().body(new APIResponse<>(result));
+  }
+
   /**
    * Creates a new patient.
    *
@@ -153,7 +423,9 @@ public class PatientController {
    */
   @PostMapping
   @Operation(summary = "Create a new patient",
-      description = "Creates a new patient in the system with the provided details.",
+      description = "Creates a new patient in the system with the provided details. Existing "
+          + "patients with a similar name and the same date of birth or a similar address are "
+          + "listed in 'possibleDuplicates'; they do not prevent the create.",
       responses = {
           @io.swagger.v3.oas.annotations.responses.ApiResponse(
               responseCode = "201",
@@ -175,15 +447,52 @@ public class PatientController {
   )
   public ResponseEntity<APIResponse<PatientDTO>> createPatient(@Validated({Default.class,
       CreatePatientValidationGroup.class}) @RequestBody final PatientDTO patientDTO) {
-    log.info("Creating new patient with DTO: {}", patientDTO);
     PatientDTO createdPatient = patientService.createPatient(patientDTO);
-    return ResponseEntity.status(HttpStatus.CREATED).body(new APIResponse<>(createdPatient));
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .eTag(PatientETag.of(createdPatient.getVersion()))
+        .body(new APIResponse<>(createdPatient));
+  }
+
+  /**
+   * Imports many patients in one request. The body is either a JSON array or newline-delimited
+   * JSON of PatientDTOs and is read incrementally, so its size is not bounded by memory.
+   *
+   * @param body the request body
+   * @return ResponseEntity with APIResponse containing one result per row, in input order
+   * @throws IOException if the request body cannot be read
+   */
+  @PostMapping(value = "/bulk",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  @Operation(summary = "Bulk import patients",
+      description = "Creates patients from a JSON array or newline-delimited JSON body. Rows are "
+          + "validated like a single create; each row reports whether it was created, invalid or "
+          + "a duplicate email.",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Import processed; see per-row results",
+              content = @io.swagger.v3.oas.annotations.media.Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = APIResponse.class)
+              )
+          )
+      }
+  )
+  public ResponseEntity<APIResponse<List<PatientImportResultDTO>>> importPatients(
+      final InputStream body) throws IOException {
+    try (MappingIterator<PatientDTO> patients = objectMapper.readerFor(PatientDTO.class)
+        .readValues(body)) {
+      List<PatientImportResultDTO> results = patientImportService.importPatients(patients);
+      return ResponseEntity.ok().body(new APIResponse<>(results));
+    }
   }
 
   /**
-   * Updates an existing patient.
+   * Updates an existing patient. With If-Match, the update only applies if the patient is still at
+   * a version the header lists; weak and unknown tags never match.
    *
    * @param id         the ID of the patient to update
+   * @param ifMatch    the entity tags the patient must match one of, if any
    * @param patientDTO the patient data transfer object containing updated details
    * @return ResponseEntity with APIResponse containing the updated patient
    */
@@ -206,21 +515,32 @@ public class PatientController {
                   mediaType = MediaType.APPLICATION_JSON_VALUE,
                   schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = APIResponse.class)
               )
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "412",
+              description = "Patient no longer matches If-Match",
+              content = @io.swagger.v3.oas.annotations.media.Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = APIResponse.class)
+              )
           )
       })
   public ResponseEntity<APIResponse<PatientDTO>> updatePatient(@PathVariable("id") final UUID id,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
       @Validated({Default.class,
           CreatePatientValidationGroup.class}) @RequestBody final PatientDTO patientDTO) {
-    log.info("Updating patient with ID: {} and DTO: {}", id, patientDTO);
-
-    PatientDTO updatedPatient = patientService.updatePatient(id, patientDTO);
-    return ResponseEntity.accepted().body(new APIResponse<>(updatedPatient));
+    PatientDTO updatedPatient = patientService.updatePatient(id, patientDTO,
+        PatientETag.parseIfMatch(ifMatch));
+    return ResponseEntity.accepted().eTag(PatientETag.of(updatedPatient.getVersion()))
+        .body(new APIResponse<>(updatedPatient));
   }
 
   /**
-   * Deletes a patient by ID.
+   * Deletes a patient by ID. With If-Match, the patient is only deleted if it is still at a version
+   * the header lists; weak and unknown tags never match.
    *
-   * @param id the ID of the patient to delete
+   * @param id      the ID of the patient to delete
+   * @param ifMatch the entity tags the patient must match one of, if any
    * @return ResponseEntity with APIResponse indicating success or failure
    */
   @DeleteMapping("/{id}")
@@ -242,12 +562,20 @@ public class PatientController {
                   mediaType = MediaType.APPLICATION_JSON_VALUE,
                   schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = APIResponse.class)
               )
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "412",
+              description = "Patient no longer matches If-Match",
+              content = @io.swagger.v3.oas.annotations.media.Content(
+                  mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = APIResponse.class)
+              )
           )
       }
   )
-  public ResponseEntity<APIResponse<Void>> deletePatient(@PathVariable("id") final UUID id) {
-    patientService.deletePatient(id);
-    log.info("Deleted patient with ID: {}", id);
+  public ResponseEntity<APIResponse<Void>> deletePatient(@PathVariable("id") final UUID id,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
+    patientService.deletePatient(id, PatientETag.parseIfMatch(ifMatch));
     return ResponseEntity.accepted().body(new APIResponse<>(null));
   }
 
@@ -281,7 +609,6 @@ public class PatientController {
   )
   public ResponseEntity<APIResponse<Void>> deletePatientByEmail(
       @Email @Validated @PathVariable("email") final String email) {
-    log.info("Deleting patient with email: {}", email);
     patientService.deletePatientByEmail(email);
     return ResponseEntity.accepted().body(new APIResponse<>(null));
   }
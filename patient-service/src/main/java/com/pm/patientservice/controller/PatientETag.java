@@ -0,0 +1,112 @@
+package com.pm.patientservice.controller;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Maps patient versions to HTTP entity tags and evaluates the {@code If-None-Match} and
+ * {@code If-Match} request headers against them.
+ */
+public final class PatientETag {
+
+  private static final String ANY = "*";
+
+  private static final String WEAK_PREFIX = "W/";
+
+  public static final String ERROR_MESSAGE_INVALID_IF_MATCH = "Invalid If-Match header: %s";
+
+  private PatientETag() {
+    // Utility class, no instantiation allowed
+  }
+
+  /**
+   * Formats a patient version as a strong entity tag.
+   *
+   * @param version the patient version
+   * @return the quoted entity tag
+   */
+  public static String of(final long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Whether an {@code If-None-Match} header names the given version. Uses weak comparison, as
+   * required for {@code If-None-Match}.
+   *
+   * @param ifNoneMatch the header value
+   * @param version     the current patient version
+   * @return true if the client's copy is current
+   */
+  public static boolean matches(final String ifNoneMatch, final long version) {
+    String current = of(version);
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith(WEAK_PREFIX)) {
+        tag = tag.substring(WEAK_PREFIX.length());
+      }
+      if (tag.equals(ANY) || tag.equals(current)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Parses the versions an {@code If-Match} header accepts. {@code If-Match} uses strong
+   * comparison, so weak tags and tags that are not a patient version are valid but never match;
+   * they are left out.
+   *
+   * @param ifMatch the header value, may be null
+   * @return the acceptable versions, empty if no listed tag can match, or null if any version is
+   *     acceptable
+   * @throws IllegalArgumentException if the header is neither {@code *} nor a list of entity tags
+   */
+  public static Set<Long> parseIfMatch(final String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) {
+      return null;
+    }
+    Set<Long> versions = new TreeSet<>();
+    int position = 0;
+    int length = ifMatch.length();
+    boolean expectTag = true;
+    while (position < length) {
+      char c = ifMatch.charAt(position);
+      if (c == ' ' || c == '\t') {
+        position++;
+      } else if (c == ',') {
+        expectTag = true;
+        position++;
+      } else if (!expectTag) {
+        throw invalidIfMatch(ifMatch);
+      } else {
+        boolean weak = ifMatch.startsWith(WEAK_PREFIX, position);
+        int open = weak ? position + WEAK_PREFIX.length() : position;
+        int close = open < length && ifMatch.charAt(open) == '"'
+            ? ifMatch.indexOf('"', open + 1) : -1;
+        if (close < 0) {
+          throw invalidIfMatch(ifMatch);
+        }
+        if (!weak) {
+          parseVersion(ifMatch.substring(open + 1, close)).ifPresent(versions::add);
+        }
+        expectTag = false;
+        position = close + 1;
+      }
+    }
+    return versions;
+  }
+
+  private static Optional<Long> parseVersion(final String opaqueTag) {
+    try {
+      return Optional.of(Long.parseLong(opaqueTag));
+    } catch (NumberFormatException ex) {
+      return Optional.empty();
+    }
+  }
+
+  private static IllegalArgumentException invalidIfMatch(final String ifMatch) {
+    return new IllegalArgumentException(String.format(ERROR_MESSAGE_INVALID_IF_MATCH, ifMatch));
+  }
+
+}
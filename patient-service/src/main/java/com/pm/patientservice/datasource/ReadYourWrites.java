@@ -0,0 +1,39 @@
+package com.pm.patientservice.datasource;
+
+/**
+ * Pins the current thread's connections to the primary, regardless of the transaction's read-only
+ * flag. Set by {@link ReadYourWritesFilter} for requests that follow a write, so a client never
+ * reads its own change back from a replica that has not replayed it yet.
+ */
+public final class ReadYourWrites {
+
+  private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+  private ReadYourWrites() {
+    // Utility class, no instantiation allowed
+  }
+
+  /**
+   * Routes every connection of the current thread to the primary until {@link #release()}.
+   */
+  public static void pinToPrimary() {
+    PINNED.set(Boolean.TRUE);
+  }
+
+  /**
+   * Lets read-only transactions of the current thread use replicas again.
+   */
+  public static void release() {
+    PINNED.remove();
+  }
+
+  /**
+   * Whether the current thread is pinned to the primary.
+   *
+   * @return true if read-only transactions must not use a replica
+   */
+  public static boolean isPinnedToPrimary() {
+    return PINNED.get() != null;
+  }
+
+}
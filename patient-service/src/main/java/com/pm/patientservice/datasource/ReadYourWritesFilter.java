@@ -0,0 +1,98 @@
+package com.pm.patientservice.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Gives clients read-your-writes consistency across requests.
+ *
+ * <p>Every write request (anything but GET, HEAD and OPTIONS) sets a cookie holding the time
+ * until which the client's reads must stay on the primary. Requests carrying an unexpired cookie
+ * are {@linkplain ReadYourWrites#pinToPrimary() pinned} to the primary for their duration; all
+ * other reads may be served by a replica.
+ *
+ * <p>The cookie is not authenticated. A value further ahead than the window (plus
+ * {@link #MAX_CLOCK_SKEW} between instances) cannot have been set here and is ignored, so one
+ * cookie pins a client no longer than a write of its own would.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  /**
+   * Name of the cookie holding the epoch millisecond until which reads go to the primary.
+   */
+  public static final String COOKIE_NAME = "pm-primary-until";
+
+  /**
+   * How far ahead of this instance's clock the instance that set a cookie may have been.
+   */
+  static final Duration MAX_CLOCK_SKEW = Duration.ofSeconds(1);
+
+  private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+  private final Duration window;
+
+  private final Clock clock;
+
+  /**
+   * Constructor for ReadYourWritesFilter.
+   *
+   * @param window how long after a write the client's reads stay on the primary
+   * @param clock the clock the window is measured with
+   */
+  public ReadYourWritesFilter(final Duration window, final Clock clock) {
+    this.window = window;
+    this.clock = clock;
+  }
+
+  @Override
+  protected void doFilterInternal(final HttpServletRequest request,
+      final HttpServletResponse response, final FilterChain filterChain)
+      throws ServletException, IOException {
+    long now = clock.millis();
+    boolean write = !SAFE_METHODS.contains(request.getMethod());
+    if (write) {
+      Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now + window.toMillis()));
+      cookie.setPath("/");
+      cookie.setHttpOnly(true);
+      cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+      response.addCookie(cookie);
+    }
+
+    long pinnedUntil = pinnedUntil(request);
+    if (write || (pinnedUntil > now
+        && pinnedUntil <= now + window.toMillis() + MAX_CLOCK_SKEW.toMillis())) {
+      ReadYourWrites.pinToPrimary();
+    }
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReadYourWrites.release();
+    }
+  }
+
+  private static long pinnedUntil(final HttpServletRequest request) {
+    Cookie[] cookies = request.getCookies();
+    if (cookies == null) {
+      return 0;
+    }
+    for (Cookie cookie : cookies) {
+      if (COOKIE_NAME.equals(cookie.getName())) {
+        try {
+          return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException ex) {
+          return 0;
+        }
+      }
+    }
+    return 0;
+  }
+
+}
@@ -0,0 +1,38 @@
+package com.pm.patientservice.datasource;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Read replica settings under {@code patient.datasource}. Routing is only enabled when at least
+ * one replica URL is configured; the primary stays configured through {@code spring.datasource}.
+ *
+ * @param replicas the read replicas; username and password default to the primary's
+ * @param maxReplicaLag the replay lag above which a replica stops serving reads
+ * @param replicaConnectionTimeout how long to wait for a replica connection or health check
+ *     before falling back to the primary
+ * @param readYourWrites whether requests that follow a write are pinned to the primary
+ * @param readYourWritesWindow how long after a write the client's reads stay on the primary
+ */
+@ConfigurationProperties(prefix = "patient.datasource")
+public record ReplicaDataSourceProperties(
+    List<Replica> replicas,
+    @DefaultValue("5s") Duration maxReplicaLag,
+    @DefaultValue("2s") Duration replicaConnectionTimeout,
+    @DefaultValue("true") boolean readYourWrites,
+    @DefaultValue("5s") Duration readYourWritesWindow) {
+
+  /**
+   * Connection settings of one read replica.
+   *
+   * @param url the JDBC URL of the replica
+   * @param username the user to connect as, or null to use the primary's
+   * @param password the password, or null to use the primary's
+   */
+  public record Replica(String url, String username, String password) {
+
+  }
+
+}
@@ -0,0 +1,95 @@
+package com.pm.patientservice.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to an available replica, round-robin, and everything else to the
+ * primary.
+ *
+ * <p>The read-only flag is only known once the transaction has begun, so this data source must be
+ * wrapped in a {@link LazyConnectionDataSourceProxy} that defers fetching the physical connection
+ * until the first statement. Reads fall back to the primary when no replica is available, when
+ * the thread is {@linkplain ReadYourWrites pinned} to it, or when the chosen replica refuses the
+ * connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  /**
+   * Lookup key of the primary.
+   */
+  static final String PRIMARY = "primary";
+
+  private final ReplicaSet replicaSet;
+
+  private final AtomicInteger next = new AtomicInteger();
+
+  /**
+   * Constructor for ReplicaRoutingDataSource.
+   *
+   * @param primary the primary, which takes all writes
+   * @param replicaSet the replicas that may serve read-only transactions
+   */
+  public ReplicaRoutingDataSource(final DataSource primary, final ReplicaSet replicaSet) {
+    this.replicaSet = replicaSet;
+    Map<Object, Object> targets = new HashMap<>(replicaSet.replicas());
+    targets.put(PRIMARY, primary);
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    setLenientFallback(false);
+    initialize();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        || ReadYourWrites.isPinnedToPrimary()) {
+      return PRIMARY;
+    }
+    List<String> available = replicaSet.available();
+    if (available.isEmpty()) {
+      return PRIMARY;
+    }
+    return available.get(Math.floorMod(next.getAndIncrement(), available.size()));
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return connect(DataSource::getConnection);
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password)
+      throws SQLException {
+    return connect(dataSource -> dataSource.getConnection(username, password));
+  }
+
+  private Connection connect(final ConnectionSource source) throws SQLException {
+    Object key = determineCurrentLookupKey();
+    if (PRIMARY.equals(key)) {
+      return source.connect(getResolvedDefaultDataSource());
+    }
+    try {
+      return source.connect(getResolvedDataSources().get(key));
+    } catch (SQLException ex) {
+      replicaSet.markUnavailable((String) key, ex);
+      return source.connect(getResolvedDefaultDataSource());
+    }
+  }
+
+  @FunctionalInterface
+  private interface ConnectionSource {
+
+    Connection connect(DataSource dataSource) throws SQLException;
+
+  }
+
+}
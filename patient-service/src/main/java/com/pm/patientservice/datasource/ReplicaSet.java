@@ -0,0 +1,148 @@
+package com.pm.patientservice.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * The read replicas behind {@link ReplicaRoutingDataSource} and which of them may serve reads.
+ *
+ * <p>A replica is available while it answers the health check and its replay lag is at most the
+ * configured maximum. Replicas start out unavailable and are admitted by the first check, which
+ * runs at startup and then on {@code patient.datasource.health-check-interval}. A replica that
+ * refuses a connection between checks is taken out at once and re-admitted by the next successful
+ * check.
+ */
+public class ReplicaSet implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaSet.class);
+
+  /**
+   * Seconds since the last replayed transaction, or 0 when the replica has replayed everything it
+   * received (an idle primary does not make a replica look lagged) or is not in recovery at all.
+   */
+  static final String REPLICA_LAG_QUERY = """
+      SELECT CASE
+        WHEN NOT pg_is_in_recovery() THEN 0
+        WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+      END
+      """;
+
+  private final Map<String, DataSource> replicas;
+
+  private final Duration maxReplicaLag;
+
+  private final Duration checkTimeout;
+
+  private volatile List<String> available = List.of();
+
+  /**
+   * Constructor for ReplicaSet.
+   *
+   * @param replicas the replica data sources by name, in routing order
+   * @param maxReplicaLag the replay lag above which a replica stops serving reads
+   * @param checkTimeout the query timeout of the health check
+   */
+  public ReplicaSet(final Map<String, DataSource> replicas, final Duration maxReplicaLag,
+      final Duration checkTimeout) {
+    this.replicas = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+    this.maxReplicaLag = maxReplicaLag;
+    this.checkTimeout = checkTimeout;
+  }
+
+  /**
+   * All replicas, available or not.
+   *
+   * @return the replica data sources by name
+   */
+  public Map<String, DataSource> replicas() {
+    return replicas;
+  }
+
+  /**
+   * The replicas currently allowed to serve reads.
+   *
+   * @return the names of the available replicas, possibly empty
+   */
+  public List<String> available() {
+    return available;
+  }
+
+  /**
+   * Probes every replica and admits those that answer within the lag limit.
+   */
+  @Scheduled(fixedDelayString = "${patient.datasource.health-check-interval:5s}")
+  public void checkHealth() {
+    List<String> healthy = new ArrayList<>(replicas.size());
+    replicas.forEach((name, replica) -> {
+      try {
+        Duration lag = replicaLag(replica);
+        if (lag.compareTo(maxReplicaLag) <= 0) {
+          healthy.add(name);
+        } else if (available.contains(name)) {
+          log.warn("Replica {} lags {} behind the primary, routing its reads to the primary",
+              name, lag);
+        }
+      } catch (SQLException ex) {
+        if (available.contains(name)) {
+          log.warn("Replica {} failed its health check, routing its reads to the primary: {}",
+              name, ex.getMessage());
+        }
+      }
+    });
+    healthy.stream()
+        .filter(name -> !available.contains(name))
+        .forEach(name -> log.info("Replica {} is serving reads", name));
+    available = List.copyOf(healthy);
+  }
+
+  /**
+   * Takes a replica out of rotation until its next successful health check.
+   *
+   * @param name the name of the replica
+   * @param cause why the replica is unavailable
+   */
+  public synchronized void markUnavailable(final String name, final Exception cause) {
+    if (available.contains(name)) {
+      log.warn("Replica {} refused a connection, routing its reads to the primary: {}", name,
+          cause.getMessage());
+      available = available.stream().filter(other -> !other.equals(name)).toList();
+    }
+  }
+
+  /**
+   * Closes the replica connection pools.
+   */
+  @Override
+  public void close() throws Exception {
+    for (DataSource replica : replicas.values()) {
+      if (replica instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
+  }
+
+  private Duration replicaLag(final DataSource replica) throws SQLException {
+    try (Connection connection = replica.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.setQueryTimeout((int) Math.max(1, checkTimeout.toSeconds()));
+      try (ResultSet result = statement.executeQuery(REPLICA_LAG_QUERY)) {
+        result.next();
+        return Duration.ofMillis(Math.round(result.getDouble(1) * 1000));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,21 @@
+package com.pm.patientservice.exception;
+
+/**
+ * Base of the exceptions that report an expected outcome (not found, conflict, overload) and are
+ * turned into a response by GlobalExceptionHandler.
+ *
+ * <p>These are thrown as control flow, at request rate, and nothing reads their stack traces, so
+ * they skip capturing one and do not record suppressed exceptions. A wrapped cause keeps its
+ * own stack trace.
+ */
+public abstract class DomainException extends RuntimeException {
+
+  protected DomainException(final String message) {
+    this(message, null);
+  }
+
+  protected DomainException(final String message, final Throwable cause) {
+    super(message, cause, false, false);
+  }
+
+}
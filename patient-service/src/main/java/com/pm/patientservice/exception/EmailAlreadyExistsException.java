@@ -1,6 +1,6 @@
 package com.pm.patientservice.exception;
 
-public class EmailAlreadyExistsException extends RuntimeException {
+public class EmailAlreadyExistsException extends DomainException {
 
   public EmailAlreadyExistsException(final String message) {
     super(message);
@@ -1,6 +1,6 @@
 package com.pm.patientservice.exception;
 
-public class PatientNotFoundException extends RuntimeException {
+public class PatientNotFoundException extends DomainException {
 
   public PatientNotFoundException(final String message) {
     super(message);
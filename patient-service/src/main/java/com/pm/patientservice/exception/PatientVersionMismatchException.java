@@ -0,0 +1,13 @@
+package com.pm.patientservice.exception;
+
+public class PatientVersionMismatchException extends DomainException {
+
+  public PatientVersionMismatchException(final String message) {
+    super(message);
+  }
+
+  public PatientVersionMismatchException(final String message, final Throwable cause) {
+    super(message, cause);
+  }
+
+}
@@ -0,0 +1,23 @@
+package com.pm.patientservice.exception;
+
+import java.time.Duration;
+
+public class ServiceOverloadedException extends DomainException {
+
+  private final Duration retryAfter;
+
+  public ServiceOverloadedException(final String message, final Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * How long the client should wait before retrying.
+   *
+   * @return the suggested retry delay
+   */
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+
+}
@@ -1,13 +1,18 @@
 package com.pm.patientservice.exception.advice;
 
+import com.pm.patientservice.admission.ConnectionAdmission;
+import com.pm.patientservice.coalescing.RequestCoalescer;
 import com.pm.patientservice.exception.EmailAlreadyExistsException;
 import com.pm.patientservice.exception.PatientNotFoundException;
+import com.pm.patientservice.exception.PatientVersionMismatchException;
+import com.pm.patientservice.exception.ServiceOverloadedException;
 import com.pm.patientservice.model.dto.APIResponse;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -17,15 +22,46 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
+/**
+ * Maps exceptions to error responses.
+ *
+ * <p>Client errors and overload are expected at high rates (bots probing unknown IDs, load
+ * spikes), so their handlers log through a per-second limit that reports how many lines it
+ * suppressed, and responses whose message never varies are allocated once and shared.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
   private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+  /**
+   * Log lines per second, each, for client errors (DEBUG) and overload (WARN).
+   */
+  static final int LOGS_PER_SECOND = 10;
+
+  static final String ERROR_MESSAGE_UNEXPECTED = "An unexpected error occurred. Please try again "
+      + "later.";
+
+  private static final APIResponse<String> UNEXPECTED_ERROR_RESPONSE = errorResponse(
+      ERROR_MESSAGE_UNEXPECTED);
+
+  /**
+   * Bodies of the overload responses, whose messages are constants.
+   */
+  private static final Map<String, APIResponse<String>> OVERLOADED_RESPONSES = Map.of(
+      ConnectionAdmission.ERROR_MESSAGE_OVERLOADED,
+      errorResponse(ConnectionAdmission.ERROR_MESSAGE_OVERLOADED),
+      RequestCoalescer.ERROR_MESSAGE_TIMEOUT,
+      errorResponse(RequestCoalescer.ERROR_MESSAGE_TIMEOUT));
+
+  private final LogRateLimiter clientErrorLogLimiter = new LogRateLimiter(LOGS_PER_SECOND);
+
+  private final LogRateLimiter overloadLogLimiter = new LogRateLimiter(LOGS_PER_SECOND);
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<APIResponse<Map<String, String>>> handleMethodArgumentNotValidException(
       final MethodArgumentNotValidException ex) {
-    log.error("Validation error: {}", ex.getMessage());
+    logClientError("Validation error", ex);
 
     Map<String, String> errors = (ex
         .getBindingResult()
@@ -45,7 +81,7 @@ public class GlobalExceptionHandler {
   @ExceptionHandler(EmailAlreadyExistsException.class)
   public ResponseEntity<APIResponse<String>> handleEmailAlreadyExistsException(
       final EmailAlreadyExistsException ex) {
-    log.error("Email already exists: {}", ex.getMessage());
+    logClientError("Email already exists", ex);
 
     APIResponse<String> response = new APIResponse<>(null, ex.getMessage(),
         APIResponse.DEFAULT_ERROR_STATUS);
@@ -56,7 +92,7 @@ public class GlobalExceptionHandler {
   @ExceptionHandler(PatientNotFoundException.class)
   public ResponseEntity<APIResponse<String>> handlePatientNotFoundException(
       final PatientNotFoundException ex) {
-    log.error("Patient not found: {}", ex.getMessage());
+    logClientError("Patient not found", ex);
 
     APIResponse<String> response = new APIResponse<>(null, ex.getMessage(),
         APIResponse.DEFAULT_ERROR_STATUS);
@@ -64,10 +100,40 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(404).body(response);
   }
 
+  @ExceptionHandler(PatientVersionMismatchException.class)
+  public ResponseEntity<APIResponse<String>> handlePatientVersionMismatchException(
+      final PatientVersionMismatchException ex) {
+    logClientError("Patient version mismatch", ex);
+
+    APIResponse<String> response = new APIResponse<>(null, ex.getMessage(),
+        APIResponse.DEFAULT_ERROR_STATUS);
+
+    return ResponseEntity.status(412).body(response);
+  }
+
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<APIResponse<String>> handleServiceOverloadedException(
+      final ServiceOverloadedException ex) {
+    if (log.isWarnEnabled() && overloadLogLimiter.tryAcquire()) {
+      log.warn("Service overloaded: {} ({} similar suppressed)", ex.getMessage(),
+          overloadLogLimiter.drainSuppressed());
+    }
+
+    APIResponse<String> response = OVERLOADED_RESPONSES.get(ex.getMessage());
+    if (response == null) {
+      response = errorResponse(ex.getMessage());
+    }
+
+    return ResponseEntity.status(503)
+        .header(HttpHeaders.RETRY_AFTER,
+            Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+        .body(response);
+  }
+
   @ExceptionHandler(NoResourceFoundException.class)
   public ResponseEntity<APIResponse<String>> handleNoResourceFoundException(
       final NoResourceFoundException ex) {
-    log.error("Resource not found: {}", ex.getMessage());
+    logClientError("Resource not found", ex);
 
     APIResponse<String> response = new APIResponse<>(null, ex.getMessage(),
         APIResponse.DEFAULT_ERROR_STATUS);
@@ -78,7 +144,7 @@ public class GlobalExceptionHandler {
   @ExceptionHandler(MethodArgumentTypeMismatchException.class)
   public ResponseEntity<APIResponse<String>> handleMethodArgumentTypeMismatchException(
       final MethodArgumentTypeMismatchException ex) {
-    log.error("Method argument type mismatch: {}", ex.getMessage());
+    logClientError("Method argument type mismatch", ex);
 
     APIResponse<String> response = new APIResponse<>(null,
         "Invalid argument type: " + ex.getMessage(),
@@ -90,7 +156,7 @@ public class GlobalExceptionHandler {
   @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
   public ResponseEntity<APIResponse<String>> handleHttpRequestMethodNotSupportedException(
       final HttpRequestMethodNotSupportedException ex) {
-    log.error("HTTP method not supported: {}", ex.getMessage());
+    logClientError("HTTP method not supported", ex);
 
     APIResponse<String> response = new APIResponse<>(null,
         "HTTP method not supported: " + ex.getMessage(),
@@ -102,7 +168,7 @@ public class GlobalExceptionHandler {
   @ExceptionHandler(IllegalArgumentException.class)
   public ResponseEntity<APIResponse<String>> handleIllegalArgumentException(
       final IllegalArgumentException ex) {
-    log.error("Illegal argument: {}", ex.getMessage());
+    logClientError("Illegal argument", ex);
 
     APIResponse<String> response = new APIResponse<>(null,
         "Invalid argument: " + ex.getMessage(),
@@ -115,11 +181,18 @@ public class GlobalExceptionHandler {
   public ResponseEntity<APIResponse<String>> handleGenericException(final Exception ex) {
     log.error("An unexpected error occurred: {}", ex.getMessage(), ex);
 
-    APIResponse<String> response = new APIResponse<>(null,
-        "An unexpected error occurred. Please try again later.",
-        APIResponse.DEFAULT_ERROR_STATUS);
+    return ResponseEntity.status(500).body(UNEXPECTED_ERROR_RESPONSE);
+  }
+
+  private void logClientError(final String description, final Exception ex) {
+    if (log.isDebugEnabled() && clientErrorLogLimiter.tryAcquire()) {
+      log.debug("{}: {} ({} similar suppressed)", description, ex.getMessage(),
+          clientErrorLogLimiter.drainSuppressed());
+    }
+  }
 
-    return ResponseEntity.status(500).body(response);
+  private static APIResponse<String> errorResponse(final String message) {
+    return new APIResponse<>(null, message, APIResponse.DEFAULT_ERROR_STATUS);
   }
 
 }
@@ -0,0 +1,71 @@
+package com.pm.patientservice.exception.advice;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets through at most a fixed number of log lines per second and counts the rest, so a flood of
+ * identical errors (e.g. clients probing for unknown IDs) cannot flood the log.
+ *
+ * <p>The one-second windows are approximate under contention; the limit only needs to bound the
+ * log volume, not be exact.
+ */
+final class LogRateLimiter {
+
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final int permitsPerSecond;
+
+  private final LongSupplier nanoTime;
+
+  private final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+
+  private final AtomicInteger used = new AtomicInteger();
+
+  private final AtomicLong suppressed = new AtomicLong();
+
+  LogRateLimiter(final int permitsPerSecond) {
+    this(permitsPerSecond, System::nanoTime);
+  }
+
+  /**
+   * Constructor for LogRateLimiter.
+   *
+   * @param permitsPerSecond the log lines let through per second
+   * @param nanoTime         the monotonic clock the windows are measured on, in nanoseconds
+   */
+  LogRateLimiter(final int permitsPerSecond, final LongSupplier nanoTime) {
+    this.permitsPerSecond = permitsPerSecond;
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * Takes a permit for one log line.
+   *
+   * @return true if the line may be logged, false if it was counted as suppressed
+   */
+  boolean tryAcquire() {
+    long now = nanoTime.getAsLong() / WINDOW_NANOS;
+    long current = window.get();
+    if (now != current && window.compareAndSet(current, now)) {
+      used.set(0);
+    }
+    if (used.incrementAndGet() <= permitsPerSecond) {
+      return true;
+    }
+    suppressed.incrementAndGet();
+    return false;
+  }
+
+  /**
+   * The number of lines suppressed since the last call, to report with the next logged line.
+   *
+   * @return the suppressed count, reset to zero
+   */
+  long drainSuppressed() {
+    return suppressed.getAndSet(0);
+  }
+
+}
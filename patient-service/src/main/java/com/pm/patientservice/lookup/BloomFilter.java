@@ -0,0 +1,95 @@
+package com.pm.patientservice.lookup;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over 128-bit key hashes, safe for concurrent puts and reads. Keys are
+ * hashed by the caller; the {@code k} bit positions are derived from the two 64-bit halves by
+ * double hashing.
+ */
+final class BloomFilter {
+
+  /**
+   * Largest bit array the filter allocates, the most a {@code long[]} can hold.
+   */
+  static final long MAX_BITS = (long) (Integer.MAX_VALUE - 8) * Long.SIZE;
+
+  private static final int MAX_HASHES = 30;
+
+  private static final double LN2 = Math.log(2);
+
+  private final AtomicLongArray words;
+
+  private final long bits;
+
+  private final int hashes;
+
+  /**
+   * Constructor for BloomFilter.
+   *
+   * @param bits   the size of the bit array, rounded up to a multiple of 64
+   * @param hashes the number of bits set per key
+   */
+  BloomFilter(final long bits, final int hashes) {
+    int length = (int) Math.min((Math.max(bits, 1) + Long.SIZE - 1) / Long.SIZE,
+        MAX_BITS / Long.SIZE);
+    this.words = new AtomicLongArray(length);
+    this.bits = (long) length * Long.SIZE;
+    this.hashes = hashes;
+  }
+
+  /**
+   * Bits needed to hold {@code keys} keys at the given false-positive rate.
+   */
+  static long optimalBits(final long keys, final double falsePositiveRate) {
+    return (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (LN2 * LN2));
+  }
+
+  /**
+   * Hash count that minimises the false-positive rate of {@code keys} keys in {@code bits} bits.
+   */
+  static int optimalHashes(final long keys, final long bits) {
+    return (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) bits / keys * LN2)));
+  }
+
+  /**
+   * Expected false-positive rate once the filter holds {@code keys} keys.
+   */
+  double expectedFalsePositiveRate(final long keys) {
+    return Math.pow(1 - Math.exp(-(double) hashes * keys / bits), hashes);
+  }
+
+  void put(final long hash1, final long hash2) {
+    long combined = hash1;
+    for (int i = 0; i < hashes; i++) {
+      long bit = Math.floorMod(combined, bits);
+      long mask = 1L << bit;
+      int word = (int) (bit >>> 6);
+      if ((words.get(word) & mask) == 0) {
+        words.getAndUpdate(word, value -> value | mask);
+      }
+      combined += hash2;
+    }
+  }
+
+  boolean mightContain(final long hash1, final long hash2) {
+    long combined = hash1;
+    for (int i = 0; i < hashes; i++) {
+      long bit = Math.floorMod(combined, bits);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+      combined += hash2;
+    }
+    return true;
+  }
+
+  long bitSize() {
+    return bits;
+  }
+
+  int hashCount() {
+    return hashes;
+  }
+
+}
@@ -0,0 +1,29 @@
+package com.pm.patientservice.lookup;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Patient lookup filter settings under {@code patient.lookup-filter}.
+ *
+ * @param enabled           whether lookups of IDs and emails the filter rules out are answered
+ *                          without a query; off by default, as a patient created on another
+ *                          instance is reported missing until its keys are announced here
+ * @param falsePositiveRate the share of absent keys the filter should let through to the database
+ * @param maxMemory         the most memory the filter may take; a registry too large for it gets a
+ *                          higher false-positive rate instead
+ * @param refreshInterval   how often the filter is rebuilt from the table, which also drops the
+ *                          keys of deleted patients
+ * @param checkInterval     how often the need for a rebuild is checked
+ */
+@ConfigurationProperties(prefix = "patient.lookup-filter")
+public record LookupFilterProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("0.01") double falsePositiveRate,
+    @DefaultValue("64MB") DataSize maxMemory,
+    @DefaultValue("1h") Duration refreshInterval,
+    @DefaultValue("5s") Duration checkInterval) {
+
+}
@@ -0,0 +1,138 @@
+package com.pm.patientservice.lookup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Listens on the {@value PatientKeyNotifier#CHANNEL} channel over a dedicated connection to the
+ * primary, outside the connection pool, and adds the announced keys to the
+ * {@link PatientLookupFilter}.
+ *
+ * <p>Notifications sent while the connection is down are lost, so the filter stops rejecting keys
+ * when the connection fails and is rebuilt once it is listening again.
+ */
+public class PatientKeyListener implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(PatientKeyListener.class);
+
+  private static final int POLL_TIMEOUT_MILLIS = 500;
+
+  private static final Duration VALIDATION_INTERVAL = Duration.ofSeconds(10);
+
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+  private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+  private final PatientLookupFilter filter;
+
+  private final String url;
+
+  private final Properties connectionProperties = new Properties();
+
+  private volatile Thread worker;
+
+  /**
+   * Constructor for PatientKeyListener.
+   *
+   * @param filter   the filter the keys are added to
+   * @param url      the JDBC URL of the primary
+   * @param username the database user
+   * @param password the database password
+   */
+  public PatientKeyListener(final PatientLookupFilter filter, final String url,
+      final String username, final String password) {
+    this.filter = filter;
+    this.url = url;
+    if (username != null) {
+      connectionProperties.setProperty("user", username);
+    }
+    if (password != null) {
+      connectionProperties.setProperty("password", password);
+    }
+    connectionProperties.setProperty("tcpKeepAlive", "true");
+    connectionProperties.setProperty("ApplicationName", "patient-service key listener");
+  }
+
+  @Override
+  public void start() {
+    worker = Thread.ofPlatform().daemon().name("patient-key-listener").start(this::run);
+  }
+
+  @Override
+  public void stop() {
+    Thread running = worker;
+    worker = null;
+    if (running != null) {
+      try {
+        running.join(TimeUnit.SECONDS.toMillis(2));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    filter.trackingLost();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return worker != null;
+  }
+
+  private void run() {
+    while (worker != null) {
+      try (Connection connection = DriverManager.getConnection(url, connectionProperties)) {
+        listen(connection);
+      } catch (SQLException | RuntimeException ex) {
+        filter.trackingLost();
+        log.warn("Patient key listener disconnected, lookup filter suspended: {}",
+            ex.getMessage());
+        if (!sleep(RECONNECT_DELAY)) {
+          return;
+        }
+      }
+    }
+  }
+
+  private void listen(final Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("LISTEN " + PatientKeyNotifier.CHANNEL);
+    }
+    filter.trackingStarted();
+    PGConnection pgConnection = connection.unwrap(PGConnection.class);
+    long validated = System.nanoTime();
+    while (worker != null) {
+      PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+      if (notifications != null) {
+        for (PGNotification notification : notifications) {
+          filter.applyNotification(notification.getParameter());
+        }
+      }
+      if (System.nanoTime() - validated >= VALIDATION_INTERVAL.toNanos()) {
+        if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+          throw new SQLException("Listener connection is no longer valid");
+        }
+        validated = System.nanoTime();
+      }
+    }
+  }
+
+  private static boolean sleep(final Duration delay) {
+    try {
+      Thread.sleep(delay);
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+}
@@ -0,0 +1,49 @@
+package com.pm.patientservice.lookup;
+
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Announces patient keys written by a transaction on the {@value #CHANNEL} PostgreSQL channel.
+ * PostgreSQL delivers the notifications to every {@link PatientKeyListener} only if and when the
+ * transaction commits, so each instance's lookup filter learns the keys other instances write.
+ */
+public class PatientKeyNotifier {
+
+  /**
+   * The channel patient keys are announced on.
+   */
+  public static final String CHANNEL = "patient_keys";
+
+  private static final String NOTIFY = "SELECT pg_notify(?, payload) FROM unnest(?) AS payload";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Constructor for PatientKeyNotifier.
+   *
+   * @param jdbcTemplate the template the notifications are sent with
+   */
+  public PatientKeyNotifier(final JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Queues one notification per payload in the caller's transaction, in a single statement.
+   *
+   * @param payloads the encoded keys, see {@link PatientLookupFilter}
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void publish(final List<String> payloads) {
+    if (payloads.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.query(NOTIFY, statement -> {
+      statement.setString(1, CHANNEL);
+      statement.setArray(2, statement.getConnection().createArrayOf("text", payloads.toArray()));
+    }, row -> { });
+  }
+
+}
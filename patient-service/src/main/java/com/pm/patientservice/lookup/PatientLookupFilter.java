@@ -0,0 +1,412 @@
+package com.pm.patientservice.lookup;
+
+import com.pm.patientservice.datasource.ReadYourWrites;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory membership filter over the IDs and emails of all patients, so lookups of keys no
+ * patient has can be answered without a query. It may let an absent key through (at roughly
+ * {@code patient.lookup-filter.false-positive-rate}) but never rules out a key that exists.
+ *
+ * <p>The filter is rebuilt from a scan of the table by {@link PatientLookupFilterRefresher} and
+ * kept current between scans by the writes of every instance: keys written here are added after
+ * commit, and keys written anywhere arrive through {@link PatientKeyNotifier} and
+ * {@link PatientKeyListener}. Deleted keys cannot be removed from a Bloom filter; they only cost a
+ * query until the next rebuild, which runs early once many patients were deleted or the filter
+ * outgrew its sizing.
+ *
+ * <p>Until the first build, and whenever the listener is not connected (when keys written by other
+ * instances could be missed), every key is let through.
+ *
+ * <p>A key written on another instance is only known here once its notification arrives, shortly
+ * after the commit. Until then a lookup of it is answered as not found. Requests pinned to the
+ * primary after a write ({@link ReadYourWrites}) are therefore always let through, so a client
+ * reads back a patient it has just created wherever the request lands; other clients can still
+ * see such a patient as missing for that short lag. The filter is opt-in for this reason.
+ */
+public class PatientLookupFilter {
+
+  private static final Logger log = LoggerFactory.getLogger(PatientLookupFilter.class);
+
+  public static final String ERROR_MESSAGE_INVALID_FALSE_POSITIVE_RATE = "False-positive rate "
+      + "must be between 0 and 1, got %s";
+
+  /**
+   * Growth the filter is sized for beyond the patients present at a build.
+   */
+  static final double CAPACITY_HEADROOM = 1.5;
+
+  /**
+   * Share of the patients at a build that may be deleted before the filter is rebuilt early.
+   */
+  static final double MAX_DELETED_SHARE = 0.1;
+
+  static final long MIN_CAPACITY = 1024;
+
+  private static final long EMAIL_SALT = 0x656d_6169_6c00_0000L;
+
+  private final LookupFilterProperties properties;
+
+  private final PatientKeyNotifier notifier;
+
+  private final Counter idRejections;
+
+  private final Counter emailRejections;
+
+  private final Object lock = new Object();
+
+  private volatile Generation current;
+
+  /**
+   * The generation being built; keys written during its scan are added to it as well.
+   */
+  private Generation building;
+
+  private volatile boolean tracking;
+
+  private long trackingEpoch;
+
+  /**
+   * Constructor for PatientLookupFilter.
+   *
+   * @param properties    the false-positive rate, memory budget and refresh interval
+   * @param notifier      the notifier announcing written keys to the other instances
+   * @param meterRegistry the registry the filter metrics are published to
+   */
+  public PatientLookupFilter(final LookupFilterProperties properties,
+      final PatientKeyNotifier notifier, final MeterRegistry meterRegistry) {
+    double rate = properties.falsePositiveRate();
+    if (!(rate > 0 && rate < 1)) {
+      throw new IllegalArgumentException(
+          String.format(ERROR_MESSAGE_INVALID_FALSE_POSITIVE_RATE, rate));
+    }
+    this.properties = properties;
+    this.notifier = notifier;
+    this.idRejections = rejections(meterRegistry, "id");
+    this.emailRejections = rejections(meterRegistry, "email");
+    Gauge.builder("patient.lookup_filter.size", this,
+            filter -> filter.current == null ? 0 : filter.current.filter.bitSize() / 8.0)
+        .description("Memory taken by the patient lookup filter")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("patient.lookup_filter.expected_fpp", this,
+            PatientLookupFilter::expectedFalsePositiveRate)
+        .description("Expected share of absent keys the patient lookup filter lets through")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Whether a patient may have the given ID.
+   *
+   * @param id the ID
+   * @return false only if no patient has the ID, or none known to this instance yet
+   */
+  public boolean mightContainId(final UUID id) {
+    Generation generation = current;
+    if (!tracking || generation == null || ReadYourWrites.isPinnedToPrimary()
+        || generation.filter.mightContain(idHash(id), idHash2(id))) {
+      return true;
+    }
+    idRejections.increment();
+    return false;
+  }
+
+  /**
+   * Whether a patient may have the given email.
+   *
+   * @param normalizedEmail the email, normalized
+   * @return false only if no patient has the email, or none known to this instance yet
+   */
+  public boolean mightContainEmail(final String normalizedEmail) {
+    Generation generation = current;
+    long hash = emailHash(normalizedEmail);
+    if (!tracking || generation == null || ReadYourWrites.isPinnedToPrimary()
+        || generation.filter.mightContain(emailHash1(hash), emailHash2(hash))) {
+      return true;
+    }
+    emailRejections.increment();
+    return false;
+  }
+
+  /**
+   * Records the keys of a patient created or updated in the current transaction.
+   *
+   * @param id              the patient's ID
+   * @param normalizedEmail the patient's email, normalized
+   */
+  public void recordWrite(final UUID id, final String normalizedEmail) {
+    recordWrites(Map.of(id, normalizedEmail));
+  }
+
+  /**
+   * Records the keys of patients created or updated in the current transaction. They are announced
+   * to all instances on commit and added here right after it, so this instance never rejects a
+   * patient it has just written.
+   *
+   * @param emailsById the patients' normalized emails, by ID
+   */
+  public void recordWrites(final Map<UUID, String> emailsById) {
+    if (!properties.enabled() || emailsById.isEmpty()) {
+      return;
+    }
+    List<String> payloads = new ArrayList<>(emailsById.size());
+    emailsById.forEach((id, email) -> payloads.add(encode(id, emailHash(email))));
+    notifier.publish(payloads);
+    Runnable add = () -> emailsById.forEach((id, email) -> add(id, emailHash(email)));
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          add.run();
+        }
+      });
+    } else {
+      add.run();
+    }
+  }
+
+  /**
+   * Records that a patient was deleted. Its keys stay in the filter until the next rebuild.
+   */
+  public void recordDelete() {
+    Generation generation = current;
+    if (generation != null) {
+      generation.deleted.incrementAndGet();
+    }
+  }
+
+  /**
+   * Adds the keys carried by a notification from {@link PatientKeyNotifier}.
+   *
+   * @param payload the notification payload
+   */
+  public void applyNotification(final String payload) {
+    int separator = payload.indexOf(':');
+    try {
+      add(UUID.fromString(payload.substring(0, separator)),
+          Long.parseUnsignedLong(payload.substring(separator + 1), 16));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+      log.warn("Ignoring malformed patient key notification: {}", ex.getMessage());
+    }
+  }
+
+  /**
+   * Called by the listener once it receives notifications. The filter answers again after the
+   * next rebuild, as keys may have been written while nobody was listening.
+   */
+  public void trackingStarted() {
+    synchronized (lock) {
+      trackingEpoch++;
+      current = null;
+      tracking = true;
+    }
+  }
+
+  /**
+   * Called by the listener when its connection is lost; every key is let through until it is
+   * listening again and the filter has been rebuilt.
+   */
+  public void trackingLost() {
+    synchronized (lock) {
+      trackingEpoch++;
+      tracking = false;
+      current = null;
+    }
+  }
+
+  /**
+   * Whether the filter should be rebuilt: it was never built or invalidated, is older than the
+   * refresh interval, or has outgrown its sizing or accumulated too many deleted keys.
+   *
+   * @return true if a rebuild is due and the listener is connected
+   */
+  public boolean needsRebuild() {
+    if (!properties.enabled() || !tracking) {
+      return false;
+    }
+    Generation generation = current;
+    return generation == null
+        || System.nanoTime() - generation.builtAt >= properties.refreshInterval().toNanos()
+        || generation.patients.get() > generation.capacity
+        || generation.deleted.get() > generation.patientsAtBuild * MAX_DELETED_SHARE;
+  }
+
+  /**
+   * Builds a new filter from a scan of all patients and swaps it in. Keys written while the scan
+   * runs are added to it too. The result is discarded if the listener disconnected meanwhile.
+   *
+   * @param patients the number of patients the scan is expected to produce
+   * @param scan     feeds every patient's ID and normalized email to the given consumer; must
+   *                 start reading after this method is called
+   * @return true if the new filter was installed
+   */
+  public boolean rebuild(final long patients, final Consumer<BiConsumer<UUID, String>> scan) {
+    long started = System.nanoTime();
+    Generation next = newGeneration(patients);
+    long epoch;
+    synchronized (lock) {
+      if (!tracking) {
+        return false;
+      }
+      epoch = trackingEpoch;
+      building = next;
+    }
+    boolean scanned = false;
+    boolean installed = false;
+    try {
+      scan.accept((id, email) -> next.put(id, emailHash(email)));
+      scanned = true;
+    } finally {
+      // Stopping the additions to the new generation and installing it happen together, so a key
+      // added in between cannot miss both it and the generation it replaces.
+      synchronized (lock) {
+        building = null;
+        if (scanned && tracking && epoch == trackingEpoch) {
+          next.patientsAtBuild = next.patients.get();
+          current = next;
+          installed = true;
+        }
+      }
+    }
+    if (!installed) {
+      return false;
+    }
+    log.info("Patient lookup filter rebuilt: {} patients, {} KiB, {} hashes, expected "
+            + "false-positive rate {} ({} ms)", next.patientsAtBuild,
+        next.filter.bitSize() / 8 / 1024, next.filter.hashCount(),
+        String.format("%.4f", next.filter.expectedFalsePositiveRate(2 * next.patientsAtBuild)),
+        Duration.ofNanos(System.nanoTime() - started).toMillis());
+    return true;
+  }
+
+  /**
+   * A 64-bit hash of a normalized email, as carried in notifications.
+   */
+  static long emailHash(final String normalizedEmail) {
+    // FNV-1a over the UTF-16 code units, mixed for the low bits FNV leaves weak.
+    long hash = 0xcbf2_9ce4_8422_2325L;
+    for (int i = 0; i < normalizedEmail.length(); i++) {
+      hash = (hash ^ normalizedEmail.charAt(i)) * 0x0000_0100_0000_01b3L;
+    }
+    return mix(hash);
+  }
+
+  static String encode(final UUID id, final long emailHash) {
+    return id + ":" + Long.toHexString(emailHash);
+  }
+
+  private void add(final UUID id, final long emailHash) {
+    synchronized (lock) {
+      Generation generation = current;
+      if (generation != null) {
+        generation.put(id, emailHash);
+      }
+      if (building != null) {
+        building.put(id, emailHash);
+      }
+    }
+  }
+
+  private Generation newGeneration(final long patients) {
+    long capacity = Math.max(MIN_CAPACITY, (long) Math.ceil(patients * CAPACITY_HEADROOM));
+    // Each patient contributes two keys, its ID and its email.
+    long wanted = BloomFilter.optimalBits(2 * capacity, properties.falsePositiveRate());
+    long budget = Math.min(properties.maxMemory().toBytes() * 8, BloomFilter.MAX_BITS);
+    if (wanted > budget) {
+      log.warn("Patient lookup filter needs {} KiB for {} patients at a false-positive rate of "
+              + "{}, capped at {} KiB", wanted / 8 / 1024, capacity,
+          properties.falsePositiveRate(), budget / 8 / 1024);
+    }
+    long bits = Math.min(wanted, budget);
+    return new Generation(new BloomFilter(bits, BloomFilter.optimalHashes(2 * capacity, bits)),
+        capacity);
+  }
+
+  private double expectedFalsePositiveRate() {
+    Generation generation = current;
+    return generation == null ? 1.0
+        : generation.filter.expectedFalsePositiveRate(2 * generation.patients.get());
+  }
+
+  private static Counter rejections(final MeterRegistry meterRegistry, final String key) {
+    return Counter.builder("patient.lookup_filter.rejections")
+        .description("Patient lookups answered as not found without a query")
+        .tag("key", key)
+        .register(meterRegistry);
+  }
+
+  private static long idHash(final UUID id) {
+    return mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+  }
+
+  private static long idHash2(final UUID id) {
+    return mix(id.getLeastSignificantBits() ^ Long.rotateLeft(id.getMostSignificantBits(), 32))
+        | 1;
+  }
+
+  private static long emailHash1(final long emailHash) {
+    return mix(emailHash ^ EMAIL_SALT);
+  }
+
+  private static long emailHash2(final long emailHash) {
+    return mix(Long.rotateLeft(emailHash, 32) + EMAIL_SALT) | 1;
+  }
+
+  /**
+   * The MurmurHash3 64-bit finalizer.
+   */
+  private static long mix(final long value) {
+    long hash = value;
+    hash ^= hash >>> 33;
+    hash *= 0xff51_afd7_ed55_8ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ce_b9fe_1a85_ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  /**
+   * One built filter and the counts deciding when it is replaced.
+   */
+  private static final class Generation {
+
+    private final BloomFilter filter;
+
+    private final long capacity;
+
+    private final long builtAt = System.nanoTime();
+
+    private final AtomicLong patients = new AtomicLong();
+
+    private final AtomicLong deleted = new AtomicLong();
+
+    private volatile long patientsAtBuild;
+
+    private Generation(final BloomFilter filter, final long capacity) {
+      this.filter = filter;
+      this.capacity = capacity;
+    }
+
+    private void put(final UUID id, final long emailHash) {
+      filter.put(idHash(id), idHash2(id));
+      filter.put(emailHash1(emailHash), emailHash2(emailHash));
+      patients.incrementAndGet();
+    }
+
+  }
+
+}
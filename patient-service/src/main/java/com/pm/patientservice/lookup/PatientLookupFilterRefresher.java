@@ -0,0 +1,66 @@
+package com.pm.patientservice.lookup;
+
+import com.pm.patientservice.model.projections.PatientKey;
+import com.pm.patientservice.repository.PatientRepository;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Builds the {@link PatientLookupFilter} shortly after startup and rebuilds it when it is due, from
+ * a streaming scan of every patient's ID and email.
+ *
+ * <p>The count the filter is sized from and the scan run in one read-write transaction, so both
+ * read the primary: a lagging replica could miss recently committed patients, which the filter
+ * would then reject.
+ */
+public class PatientLookupFilterRefresher {
+
+  private static final Logger log = LoggerFactory.getLogger(PatientLookupFilterRefresher.class);
+
+  private final PatientLookupFilter filter;
+
+  private final PatientRepository patientRepository;
+
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * Constructor for PatientLookupFilterRefresher.
+   *
+   * @param filter              the filter to rebuild
+   * @param patientRepository   the repository the keys are scanned from
+   * @param transactionTemplate the read-write transaction the count and scan run in
+   */
+  public PatientLookupFilterRefresher(final PatientLookupFilter filter,
+      final PatientRepository patientRepository, final TransactionTemplate transactionTemplate) {
+    this.filter = filter;
+    this.patientRepository = patientRepository;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  /**
+   * Rebuilds the filter if it is due. A failed scan leaves the current filter in place and is
+   * retried on the next check.
+   */
+  @Scheduled(fixedDelayString = "${patient.lookup-filter.check-interval:5s}")
+  public void refresh() {
+    if (!filter.needsRebuild()) {
+      return;
+    }
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        long patients = patientRepository.count();
+        filter.rebuild(patients, keys -> {
+          try (Stream<PatientKey> scanned = patientRepository.streamKeysBy()) {
+            scanned.forEach(key -> keys.accept(key.getId(), key.getEmail()));
+          }
+        });
+      });
+    } catch (RuntimeException ex) {
+      log.warn("Rebuilding the patient lookup filter failed: {}", ex.getMessage());
+    }
+  }
+
+}
@@ -0,0 +1,146 @@
+package com.pm.patientservice.metrics;
+
+import com.pm.patientservice.exception.EmailAlreadyExistsException;
+import com.pm.patientservice.exception.PatientNotFoundException;
+import com.pm.patientservice.exception.PatientVersionMismatchException;
+import com.pm.patientservice.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times patient operations into the {@value #TIMER_NAME} timer, tagged by {@code operation} and
+ * {@code outcome}.
+ *
+ * <p>Timers publish a percentile histogram so p50/p95/p99 can be aggregated across instances from
+ * the Prometheus scrape. Each (operation, outcome) timer is registered once and then looked up
+ * from a local map, so a timed call costs two {@link System#nanoTime()} reads and a lock-free
+ * histogram update.
+ *
+ * <p>Calls shed by connection admission or request coalescing never reach the timed service code;
+ * the aspects shedding them record them with {@link #recordOverloaded}, tagged
+ * {@value #OUTCOME_OVERLOADED} so load shedding is not counted as failures.
+ */
+@Component
+public class PatientMetrics {
+
+  public static final String TIMER_NAME = "patient.service.operations";
+
+  /**
+   * Outcome tag values.
+   */
+  public static final String OUTCOME_FOUND = "found";
+  public static final String OUTCOME_SUCCESS = "success";
+  public static final String OUTCOME_NOT_FOUND = "not_found";
+  public static final String OUTCOME_CONFLICT = "conflict";
+  public static final String OUTCOME_PRECONDITION_FAILED = "precondition_failed";
+  public static final String OUTCOME_OVERLOADED = "overloaded";
+  public static final String OUTCOME_ERROR = "error";
+
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for PatientMetrics.
+   *
+   * @param meterRegistry the registry the timers are published to
+   */
+  public PatientMetrics(final MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Times a lookup, recording {@value #OUTCOME_FOUND} when it returns.
+   *
+   * @param operation the operation tag, typically the service method name
+   * @param call      the lookup to time
+   * @param <T>       the type of the result
+   * @return the result of the call
+   */
+  public <T> T timeLookup(final String operation, final Supplier<T> call) {
+    return time(operation, OUTCOME_FOUND, call);
+  }
+
+  /**
+   * Times an operation, recording {@value #OUTCOME_SUCCESS} when it returns.
+   *
+   * @param operation the operation tag, typically the service method name
+   * @param call      the operation to time
+   * @param <T>       the type of the result
+   * @return the result of the call
+   */
+  public <T> T time(final String operation, final Supplier<T> call) {
+    return time(operation, OUTCOME_SUCCESS, call);
+  }
+
+  /**
+   * Times an operation without a result, recording {@value #OUTCOME_SUCCESS} when it returns.
+   *
+   * @param operation the operation tag, typically the service method name
+   * @param call      the operation to time
+   */
+  public void time(final String operation, final Runnable call) {
+    time(operation, OUTCOME_SUCCESS, () -> {
+      call.run();
+      return null;
+    });
+  }
+
+  /**
+   * Records a call shed before it ran, as {@value #OUTCOME_OVERLOADED}.
+   *
+   * @param operation the operation tag, typically the service method name
+   * @param nanos     how long the call waited before it was shed
+   */
+  public void recordOverloaded(final String operation, final long nanos) {
+    timer(operation, OUTCOME_OVERLOADED).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  private <T> T time(final String operation, final String successOutcome,
+      final Supplier<T> call) {
+    long start = System.nanoTime();
+    String outcome = OUTCOME_ERROR;
+    try {
+      T result = call.get();
+      outcome = successOutcome;
+      return result;
+    } catch (RuntimeException ex) {
+      outcome = outcomeOf(ex);
+      throw ex;
+    } finally {
+      timer(operation, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private Timer timer(final String operation, final String outcome) {
+    return timers.computeIfAbsent(operation, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(outcome, key -> Timer.builder(TIMER_NAME)
+            .description("Time spent in PatientService operations")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+  }
+
+  private static String outcomeOf(final RuntimeException ex) {
+    if (ex instanceof PatientNotFoundException) {
+      return OUTCOME_NOT_FOUND;
+    }
+    if (ex instanceof EmailAlreadyExistsException) {
+      return OUTCOME_CONFLICT;
+    }
+    if (ex instanceof PatientVersionMismatchException) {
+      return OUTCOME_PRECONDITION_FAILED;
+    }
+    if (ex instanceof ServiceOverloadedException) {
+      return OUTCOME_OVERLOADED;
+    }
+    return OUTCOME_ERROR;
+  }
+
+}
@@ -0,0 +1,24 @@
+package com.pm.patientservice.model.dto;
+
+import com.pm.patientservice.service.PatientService;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Body of {@code POST /patients/batch-get}. Either list may be null or empty; neither may hold
+ * more than {@link PatientService#MAX_BATCH_GET_SIZE} keys, so an oversized body is rejected before
+ * it is deduplicated or resolved.
+ *
+ * @param ids    the IDs of the patients to fetch
+ * @param emails the emails of the patients to fetch, matched ignoring case
+ */
+public record PatientBatchGetRequest(
+    @Size(max = PatientService.MAX_BATCH_GET_SIZE,
+        message = "At most " + PatientService.MAX_BATCH_GET_SIZE + " IDs can be requested")
+    List<UUID> ids,
+    @Size(max = PatientService.MAX_BATCH_GET_SIZE,
+        message = "At most " + PatientService.MAX_BATCH_GET_SIZE + " emails can be requested")
+    List<String> emails) {
+
+}
@@ -0,0 +1,18 @@
+package com.pm.patientservice.model.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a batch lookup. Repeated keys are resolved once, and a patient requested both by ID
+ * and by email is listed once, where its ID was requested.
+ *
+ * @param patients      the distinct patients found, those requested by ID first, each group in
+ *                      request order
+ * @param missingIds    the requested IDs no patient has, in request order
+ * @param missingEmails the requested emails no patient has, as given and in request order
+ */
+public record PatientBatchGetResultDTO(List<PatientDTO> patients, List<UUID> missingIds,
+                                       List<String> missingEmails) {
+
+}
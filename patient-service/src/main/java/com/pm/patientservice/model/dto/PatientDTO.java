@@ -1,12 +1,15 @@
 package com.pm.patientservice.model.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.pm.patientservice.model.validators.CreatePatientValidationGroup;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -41,6 +44,16 @@ public class PatientDTO {
   @PastOrPresent(message = "Registered date must be in the past or present")
   private LocalDate registeredDate;
 
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  private Long version;
+
+  /**
+   * IDs of existing patients this one may duplicate, reported only when it is created.
+   */
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  @JsonInclude(JsonInclude.Include.NON_EMPTY)
+  private List<UUID> possibleDuplicates;
+
   public PatientDTO() {
     super();
   }
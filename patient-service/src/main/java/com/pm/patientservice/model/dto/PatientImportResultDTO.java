@@ -0,0 +1,24 @@
+package com.pm.patientservice.model.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Outcome of a single row of a bulk patient import.
+ *
+ * @param index  zero-based position of the row in the request body
+ * @param status whether the row was created or why it was rejected
+ * @param id     the ID of the created patient, null unless the row was created
+ * @param email  the email of the row, if it could be read
+ * @param errors field-level validation errors, null unless the row was invalid
+ */
+public record PatientImportResultDTO(int index, Status status, UUID id, String email,
+                                     Map<String, String> errors) {
+
+  public enum Status {
+    CREATED,
+    INVALID,
+    DUPLICATE
+  }
+
+}
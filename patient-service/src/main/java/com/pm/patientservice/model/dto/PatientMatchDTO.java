@@ -0,0 +1,21 @@
+package com.pm.patientservice.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A fuzzy name search hit, carrying just enough to tell candidates apart.
+ *
+ * @param id          the ID of the patient
+ * @param name        the name of the patient
+ * @param email       the email of the patient
+ * @param dateOfBirth the date of birth of the patient
+ * @param similarity  trigram similarity between the searched and the stored name, from 0 to 1
+ */
+public record PatientMatchDTO(UUID id, String name, String email,
+                              @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+                              LocalDate dateOfBirth,
+                              double similarity) {
+
+}
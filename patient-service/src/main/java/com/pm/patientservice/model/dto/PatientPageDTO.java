@@ -0,0 +1,13 @@
+package com.pm.patientservice.model.dto;
+
+import java.util.List;
+
+/**
+ * A single page of patients in keyset order.
+ *
+ * @param patients the patients on this page
+ * @param next     opaque cursor for the following page, or null when this is the last page
+ */
+public record PatientPageDTO(List<PatientDTO> patients, String next) {
+
+}
@@ -0,0 +1,20 @@
+package com.pm.patientservice.model.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Filters for {@code GET /patients/search}. Every filter is optional; null or blank filters are
+ * ignored and the remaining ones are combined with AND. Date ranges are inclusive.
+ *
+ * @param name            case-insensitive prefix of the patient's name
+ * @param dateOfBirthFrom earliest date of birth
+ * @param dateOfBirthTo   latest date of birth
+ * @param registeredFrom  earliest registered date
+ * @param registeredTo    latest registered date
+ * @param address         case-insensitive substring of the patient's address
+ */
+public record PatientSearchCriteria(String name, LocalDate dateOfBirthFrom,
+                                    LocalDate dateOfBirthTo, LocalDate registeredFrom,
+                                    LocalDate registeredTo, String address) {
+
+}
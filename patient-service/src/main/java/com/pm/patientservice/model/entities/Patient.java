@@ -1,20 +1,24 @@
 package com.pm.patientservice.model.entities;
 
+import com.pm.patientservice.model.generators.TimeOrderedUuidGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
 import java.time.LocalDate;
+import java.util.Locale;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.UuidGenerator;
 
 @Entity
 @Table(name = "patient")
@@ -26,7 +30,7 @@ import lombok.Setter;
 public class Patient {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
   private UUID id;
 
   @NotNull
@@ -50,8 +54,29 @@ public class Patient {
   @Column(name = "registered_date")
   private LocalDate registeredDate;
 
+  @Version
+  private Long version;
+
   public Patient() {
     super();
   }
 
+  /**
+   * Returns the form emails are stored and looked up in. Emails are compared case-insensitively,
+   * so storing them lower-cased lets the unique index on {@code email} serve lookups and enforce
+   * uniqueness without a {@code lower(email)} expression at query time.
+   *
+   * @param email the email as received, may be null
+   * @return the lower-cased email, or null if the email is null
+   */
+  public static String normalizeEmail(final String email) {
+    return email == null ? null : email.toLowerCase(Locale.ROOT);
+  }
+
+  @PrePersist
+  @PreUpdate
+  void normalizeEmail() {
+    email = normalizeEmail(email);
+  }
+
 }
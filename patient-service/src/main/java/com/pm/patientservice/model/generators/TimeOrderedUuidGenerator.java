@@ -0,0 +1,36 @@
+package com.pm.patientservice.model.generators;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+/**
+ * Generates RFC 9562 version 7 UUIDs: a 48-bit millisecond timestamp followed by random bits.
+ *
+ * <p>IDs are assigned in memory, so inserts can still be JDBC-batched, and consecutive IDs sort
+ * close together, so new rows land on the right-hand edge of the primary key index instead of
+ * on random pages.
+ */
+public class TimeOrderedUuidGenerator implements UuidValueGenerator {
+
+  @Override
+  public UUID generateUuid(final SharedSessionContractImplementor session) {
+    return generate();
+  }
+
+  /**
+   * Creates a new version 7 UUID.
+   *
+   * @return a time-ordered UUID
+   */
+  public static UUID generate() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long mostSigBits = (System.currentTimeMillis() << 16)
+        | 0x7000L
+        | (random.nextLong() & 0x0FFFL);
+    long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+}
@@ -1,8 +1,12 @@
 package com.pm.patientservice.model.mapper;
 
 import com.pm.patientservice.model.dto.PatientDTO;
+import com.pm.patientservice.model.dto.PatientMatchDTO;
 import com.pm.patientservice.model.entities.Patient;
+import com.pm.patientservice.model.projections.PatientMatch;
+import com.pm.patientservice.model.projections.PatientView;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants.ComponentModel;
 
 @Mapper(componentModel = ComponentModel.SPRING)
@@ -16,6 +20,17 @@ public interface PatientMapper {
   /**
    * Converts a Patient entity to a PatientDTO. Maps LocalDate fields to string.
    */
-
+  @Mapping(target = "possibleDuplicates", ignore = true)
   PatientDTO toDto(final Patient patient);
+
+  /**
+   * Converts a read-only patient view to a PatientDTO.
+   */
+  @Mapping(target = "possibleDuplicates", ignore = true)
+  PatientDTO toDto(final PatientView patient);
+
+  /**
+   * Converts a fuzzy search match to its lightweight DTO.
+   */
+  PatientMatchDTO toMatchDto(final PatientMatch match);
 }
\ No newline at end of file
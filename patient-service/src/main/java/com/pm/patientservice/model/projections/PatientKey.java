@@ -0,0 +1,13 @@
+package com.pm.patientservice.model.projections;
+
+import java.util.UUID;
+
+/**
+ * The keys a patient can be looked up by: its ID and its normalized email.
+ */
+public interface PatientKey {
+
+  UUID getId();
+
+  String getEmail();
+}
@@ -0,0 +1,24 @@
+package com.pm.patientservice.model.projections;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A patient matched by trigram similarity, read straight from the similarity query without
+ * hydrating a Patient entity.
+ */
+public interface PatientMatch {
+
+  UUID getId();
+
+  String getName();
+
+  String getEmail();
+
+  LocalDate getDateOfBirth();
+
+  /**
+   * Trigram similarity between the searched and the stored name, from 0 to 1.
+   */
+  Double getSimilarity();
+}
@@ -0,0 +1,26 @@
+package com.pm.patientservice.model.projections;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Read-only view of a patient. Repository methods returning it select exactly these columns into a
+ * tuple, so reads never hydrate a managed Patient entity, take a dirty-checking snapshot or grow
+ * the persistence context.
+ */
+public interface PatientView {
+
+  UUID getId();
+
+  String getName();
+
+  String getEmail();
+
+  String getAddress();
+
+  LocalDate getDateOfBirth();
+
+  LocalDate getRegisteredDate();
+
+  Long getVersion();
+}
@@ -0,0 +1,22 @@
+package com.pm.patientservice.outbox;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sink used when no other {@link PatientEventSink} is configured; it only logs the events.
+ */
+public class LoggingPatientEventSink implements PatientEventSink {
+
+  private static final Logger log = LoggerFactory.getLogger(LoggingPatientEventSink.class);
+
+  @Override
+  public void publish(final List<PatientOutboxMessage> messages) {
+    for (PatientOutboxMessage message : messages) {
+      log.info("Patient event {}: {} {}", message.id(), message.event().type(),
+          message.event().patientId());
+    }
+  }
+
+}
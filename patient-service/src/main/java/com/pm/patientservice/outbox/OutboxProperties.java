@@ -0,0 +1,24 @@
+package com.pm.patientservice.outbox;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Relay settings under {@code patient.outbox}. The poll interval is read by the relay's schedule
+ * as {@code patient.outbox.poll-interval}.
+ *
+ * @param batchSize      how many events are published per sink call
+ * @param initialBackoff how long a failed event waits before its first retry
+ * @param maxBackoff     the cap of the doubling retry delay
+ * @param lease          how long claimed events are reserved for the relay publishing them; it
+ *                       should comfortably exceed a sink call's deadline
+ */
+@ConfigurationProperties(prefix = "patient.outbox")
+public record OutboxProperties(
+    @DefaultValue("100") int batchSize,
+    @DefaultValue("1s") Duration initialBackoff,
+    @DefaultValue("5m") Duration maxBackoff,
+    @DefaultValue("1m") Duration lease) {
+
+}
@@ -0,0 +1,69 @@
+package com.pm.patientservice.outbox;
+
+import com.pm.patientservice.model.dto.PatientDTO;
+import com.pm.patientservice.model.entities.Patient;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A patient lifecycle event as stored in the outbox payload. Created and updated events carry the
+ * patient's state after the change; deleted events only its ID.
+ *
+ * @param type           what happened to the patient
+ * @param patientId      the ID of the patient
+ * @param version        the patient's version after the change, or null for a delete
+ * @param name           the patient's name
+ * @param email          the patient's email
+ * @param address        the patient's address
+ * @param dateOfBirth    the patient's date of birth
+ * @param registeredDate the patient's registration date
+ * @param occurredAt     when the change was made
+ */
+public record PatientEvent(
+    PatientEventType type,
+    UUID patientId,
+    Long version,
+    String name,
+    String email,
+    String address,
+    LocalDate dateOfBirth,
+    LocalDate registeredDate,
+    Instant occurredAt) {
+
+  /**
+   * Builds the event for a newly inserted patient.
+   *
+   * @param patient the saved patient
+   * @return a CREATED event
+   */
+  public static PatientEvent created(final Patient patient) {
+    return new PatientEvent(PatientEventType.CREATED, patient.getId(), patient.getVersion(),
+        patient.getName(), patient.getEmail(), patient.getAddress(), patient.getDateOfBirth(),
+        patient.getRegisteredDate(), Instant.now());
+  }
+
+  /**
+   * Builds the event for an updated patient.
+   *
+   * @param patient the patient as updated, carrying its ID and new version
+   * @return an UPDATED event
+   */
+  public static PatientEvent updated(final PatientDTO patient) {
+    return new PatientEvent(PatientEventType.UPDATED, patient.getId(), patient.getVersion(),
+        patient.getName(), patient.getEmail(), patient.getAddress(), patient.getDateOfBirth(),
+        patient.getRegisteredDate(), Instant.now());
+  }
+
+  /**
+   * Builds the event for a deleted patient.
+   *
+   * @param patientId the ID of the deleted patient
+   * @return a DELETED event
+   */
+  public static PatientEvent deleted(final UUID patientId) {
+    return new PatientEvent(PatientEventType.DELETED, patientId, null, null, null, null, null,
+        null, Instant.now());
+  }
+
+}
@@ -0,0 +1,26 @@
+package com.pm.patientservice.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the events relayed from the outbox.
+ *
+ * <p>Delivery is at-least-once: an event whose publish failed or outlasted its lease, or whose
+ * removal from the outbox did not commit, is published again, so consumers must tolerate
+ * redelivery of an outbox ID.
+ */
+public interface PatientEventSink {
+
+  /**
+   * Publishes a batch of events, in the given order. The batch succeeds or fails as a whole; on
+   * failure the relay retries the events one at a time to isolate the failing patient, unless the
+   * sink reported itself unavailable. It is called outside any transaction.
+   *
+   * @param messages the events to publish, ordered by outbox ID
+   * @throws PatientEventSinkUnavailableException if the destination could not be reached, so the
+   *                                              whole batch should back off
+   * @throws Exception                            if any event could not be published
+   */
+  void publish(List<PatientOutboxMessage> messages) throws Exception;
+
+}
@@ -0,0 +1,14 @@
+package com.pm.patientservice.outbox;
+
+/**
+ * Thrown by a {@link PatientEventSink} when the destination itself cannot be reached, so every
+ * event would fail the same way. The relay then backs off the whole batch instead of retrying its
+ * events one at a time.
+ */
+public class PatientEventSinkUnavailableException extends Exception {
+
+  public PatientEventSinkUnavailableException(final String message, final Throwable cause) {
+    super(message, cause);
+  }
+
+}
@@ -0,0 +1,10 @@
+package com.pm.patientservice.outbox;
+
+/**
+ * Patient lifecycle changes published through the outbox.
+ */
+public enum PatientEventType {
+  CREATED,
+  UPDATED,
+  DELETED
+}
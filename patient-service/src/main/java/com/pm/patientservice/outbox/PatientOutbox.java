@@ -0,0 +1,83 @@
+package com.pm.patientservice.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes patient events to the {@code patient_outbox} table in the caller's transaction, so an
+ * event exists exactly when the change it describes commits. Publishing is left to
+ * {@link PatientOutboxRelay}; the write path only pays for one insert.
+ */
+@Component
+public class PatientOutbox {
+
+  private static final String INSERT_EVENT = "INSERT INTO patient_outbox "
+      + "(patient_id, event_type, payload) VALUES (?, ?, ?::jsonb)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final EntityManager entityManager;
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Constructor for PatientOutbox.
+   *
+   * @param jdbcTemplate  the template the events are inserted with
+   * @param entityManager the persistence context flushed ahead of each insert
+   * @param objectMapper  the mapper serializing event payloads
+   */
+  public PatientOutbox(final JdbcTemplate jdbcTemplate, final EntityManager entityManager,
+      final ObjectMapper objectMapper) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.entityManager = entityManager;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Appends an event after the patient change it describes.
+   *
+   * @param event the event to append
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void append(final PatientEvent event) {
+    appendAll(List.of(event));
+  }
+
+  /**
+   * Appends events after the patient changes they describe, in one JDBC batch.
+   *
+   * <p>Pending entity writes are flushed first. A patient's row is then locked by this
+   * transaction before its event takes an outbox ID, so concurrent changes to the same patient get
+   * IDs in commit order.
+   *
+   * @param events the events to append, in order
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void appendAll(final List<PatientEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    entityManager.flush();
+    jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (statement, event) -> {
+      statement.setObject(1, event.patientId());
+      statement.setString(2, event.type().name());
+      statement.setString(3, toJson(event));
+    });
+  }
+
+  private String toJson(final PatientEvent event) {
+    try {
+      return objectMapper.writeValueAsString(event);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Patient event could not be serialized", ex);
+    }
+  }
+
+}
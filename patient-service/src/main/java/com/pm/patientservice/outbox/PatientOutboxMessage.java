@@ -0,0 +1,13 @@
+package com.pm.patientservice.outbox;
+
+/**
+ * An outbox row handed to a {@link PatientEventSink}.
+ *
+ * @param id       the outbox ID; increases with commit order per patient and identifies the
+ *                 event to consumers that deduplicate redeliveries
+ * @param attempts how many earlier publish attempts of this event failed
+ * @param event    the event
+ */
+public record PatientOutboxMessage(long id, int attempts, PatientEvent event) {
+
+}
@@ -0,0 +1,265 @@
+package com.pm.patientservice.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publishes outbox events to the {@link PatientEventSink} in the background, in batches and in
+ * outbox order, and removes them once published.
+ *
+ * <p>Each batch is handled in three steps, so no transaction or connection is held while the sink
+ * is called:
+ *
+ * <ol>
+ *   <li>A short transaction claims the due events by leasing them: their next attempt is pushed
+ *   {@code lease} ahead, so no other relay takes them meanwhile. Claims are serialized across
+ *   instances by a transaction-scoped advisory lock.</li>
+ *   <li>The events are published outside any transaction.</li>
+ *   <li>A second short transaction removes the published events, schedules the retry of the
+ *   failed ones and hands back the rest.</li>
+ * </ol>
+ *
+ * <p>A claimed or failed event holds back the later events of its patient, so a patient's events
+ * are never published concurrently or out of order, while other patients' events keep flowing.
+ * An event that fails is retried with a doubling backoff; when the sink reports itself
+ * unavailable, the whole batch backs off at once and the relay waits for its next poll. Delivery
+ * is at-least-once; an event whose publish outlasts its lease may be claimed and published again.
+ */
+public class PatientOutboxRelay {
+
+  private static final Logger log = LoggerFactory.getLogger(PatientOutboxRelay.class);
+
+  /**
+   * Key of the advisory lock held while claiming events.
+   */
+  static final long RELAY_LOCK_KEY = 0x7061_7469_656e_7431L;
+
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  private static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock(?)";
+
+  /**
+   * Leases due events, skipping those of patients with an earlier event still backing off or
+   * leased.
+   */
+  private static final String CLAIM_DUE = """
+      WITH due AS (
+          SELECT o.id
+          FROM patient_outbox o
+          WHERE o.next_attempt_at <= now()
+            AND NOT EXISTS (SELECT 1
+                            FROM patient_outbox earlier
+                            WHERE earlier.patient_id = o.patient_id
+                              AND earlier.id < o.id
+                              AND earlier.next_attempt_at > now())
+          ORDER BY o.id
+          LIMIT ?
+          FOR UPDATE SKIP LOCKED
+      )
+      UPDATE patient_outbox o
+      SET next_attempt_at = now() + make_interval(secs => ?)
+      FROM due
+      WHERE o.id = due.id
+      RETURNING o.id, o.attempts, o.payload
+      """;
+
+  private static final String DELETE_PUBLISHED = "DELETE FROM patient_outbox WHERE id = ?";
+
+  private static final String RECORD_FAILURE = "UPDATE patient_outbox SET attempts = attempts + 1, "
+      + "last_error = ?, next_attempt_at = now() + make_interval(secs => ?) WHERE id = ?";
+
+  private static final String RELEASE = "UPDATE patient_outbox SET next_attempt_at = now() "
+      + "WHERE id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final ObjectMapper objectMapper;
+
+  private final PatientEventSink sink;
+
+  private final OutboxProperties properties;
+
+  private final Counter published;
+
+  private final Counter failed;
+
+  /**
+   * Constructor for PatientOutboxRelay.
+   *
+   * @param jdbcTemplate        the template the outbox is read and updated with
+   * @param transactionTemplate the read-write transaction events are claimed and settled in
+   * @param objectMapper        the mapper reading event payloads
+   * @param sink                the destination of the events
+   * @param properties          the batch size, lease and retry backoff
+   * @param meterRegistry       the registry the publish counters are published to
+   */
+  public PatientOutboxRelay(final JdbcTemplate jdbcTemplate,
+      final TransactionTemplate transactionTemplate, final ObjectMapper objectMapper,
+      final PatientEventSink sink, final OutboxProperties properties,
+      final MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.objectMapper = objectMapper;
+    this.sink = sink;
+    this.properties = properties;
+    this.published = Counter.builder("patient.outbox.published")
+        .description("Patient events published from the outbox")
+        .register(meterRegistry);
+    this.failed = Counter.builder("patient.outbox.failed")
+        .description("Patient event publish attempts that failed and will be retried")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Publishes due events until the outbox is drained or a publish fails.
+   */
+  @Scheduled(fixedDelayString = "${patient.outbox.poll-interval:500ms}")
+  public void relay() {
+    boolean more;
+    do {
+      more = relayBatch();
+    } while (more);
+  }
+
+  /**
+   * Claims, publishes and settles one batch of due events.
+   *
+   * @return true if a full batch was published and the outbox may hold more due events
+   */
+  boolean relayBatch() {
+    List<PatientOutboxMessage> batch = transactionTemplate.execute(status -> claim());
+    if (batch == null || batch.isEmpty()) {
+      return false;
+    }
+
+    List<PatientOutboxMessage> sent = new ArrayList<>(batch.size());
+    Map<PatientOutboxMessage, Exception> failures = new LinkedHashMap<>();
+    try {
+      sink.publish(batch);
+      sent.addAll(batch);
+    } catch (PatientEventSinkUnavailableException ex) {
+      log.warn("Patient event sink unavailable, backing off {} events: {}", batch.size(),
+          ex.getMessage());
+      batch.forEach(message -> failures.put(message, ex));
+    } catch (Exception ex) {
+      log.warn("Publishing {} patient events failed, retrying them one by one: {}", batch.size(),
+          ex.getMessage());
+      publishOneByOne(batch, sent, failures);
+    }
+
+    transactionTemplate.executeWithoutResult(status -> settle(batch, sent, failures));
+    published.increment(sent.size());
+    return sent.size() == properties.batchSize();
+  }
+
+  private List<PatientOutboxMessage> claim() {
+    if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK, Boolean.class,
+        RELAY_LOCK_KEY))) {
+      return List.of();
+    }
+    return jdbcTemplate.query(CLAIM_DUE, this::toMessage, properties.batchSize(),
+            properties.lease().toMillis() / 1000.0).stream()
+        .sorted(Comparator.comparingLong(PatientOutboxMessage::id))
+        .toList();
+  }
+
+  /**
+   * Publishes each event on its own, skipping the rest of a patient's events after its first
+   * failure so they are not delivered ahead of it. Stops once half the lease has passed; the
+   * events not attempted by then are handed back. Once the sink reports itself unavailable, the
+   * events not yet published back off without being attempted.
+   */
+  private void publishOneByOne(final List<PatientOutboxMessage> batch,
+      final List<PatientOutboxMessage> sent, final Map<PatientOutboxMessage, Exception> failures) {
+    long stopAt = System.nanoTime() + properties.lease().toNanos() / 2;
+    Set<UUID> blocked = new HashSet<>();
+    for (PatientOutboxMessage message : batch) {
+      if (System.nanoTime() - stopAt > 0) {
+        return;
+      }
+      UUID patientId = message.event().patientId();
+      if (blocked.contains(patientId)) {
+        continue;
+      }
+      try {
+        sink.publish(List.of(message));
+        sent.add(message);
+      } catch (PatientEventSinkUnavailableException ex) {
+        batch.stream()
+            .filter(unsent -> !sent.contains(unsent))
+            .forEach(unsent -> failures.putIfAbsent(unsent, ex));
+        return;
+      } catch (Exception ex) {
+        blocked.add(patientId);
+        failures.put(message, ex);
+      }
+    }
+  }
+
+  /**
+   * Removes the published events, schedules the retry of the failed ones and releases the lease
+   * of the others.
+   */
+  private void settle(final List<PatientOutboxMessage> batch,
+      final List<PatientOutboxMessage> sent, final Map<PatientOutboxMessage, Exception> failures) {
+    jdbcTemplate.batchUpdate(DELETE_PUBLISHED, sent, sent.size(),
+        (statement, message) -> statement.setLong(1, message.id()));
+    failures.forEach(this::recordFailure);
+    Set<PatientOutboxMessage> settled = new HashSet<>(sent);
+    settled.addAll(failures.keySet());
+    List<PatientOutboxMessage> released = batch.stream()
+        .filter(message -> !settled.contains(message))
+        .toList();
+    jdbcTemplate.batchUpdate(RELEASE, released, released.size(),
+        (statement, message) -> statement.setLong(1, message.id()));
+  }
+
+  private void recordFailure(final PatientOutboxMessage message, final Exception ex) {
+    Duration backoff = backoff(message.attempts());
+    log.warn("Patient event {} failed {} time(s), retrying in {}: {}", message.id(),
+        message.attempts() + 1, backoff, ex.getMessage());
+    String error = Objects.toString(ex.getMessage(), ex.getClass().getName());
+    jdbcTemplate.update(RECORD_FAILURE,
+        error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+        backoff.toMillis() / 1000.0, message.id());
+    failed.increment();
+  }
+
+  private Duration backoff(final int attempts) {
+    Duration backoff = properties.initialBackoff().multipliedBy(1L << Math.min(attempts, 20));
+    return backoff.compareTo(properties.maxBackoff()) > 0 ? properties.maxBackoff() : backoff;
+  }
+
+  private PatientOutboxMessage toMessage(final ResultSet row, final int rowNum)
+      throws SQLException {
+    try {
+      return new PatientOutboxMessage(row.getLong("id"), row.getInt("attempts"),
+          objectMapper.readValue(row.getString("payload"), PatientEvent.class));
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Unreadable payload of patient event " + row.getLong("id"),
+          ex);
+    }
+  }
+
+}
@@ -1,19 +1,242 @@
 package com.pm.patientservice.repository;
 
 import com.pm.patientservice.model.entities.Patient;
+import com.pm.patientservice.model.projections.PatientKey;
+import com.pm.patientservice.model.projections.PatientMatch;
+import com.pm.patientservice.model.projections.PatientView;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface PatientRepository extends JpaRepository<Patient, UUID> {
+public interface PatientRepository extends JpaRepository<Patient, UUID>,
+    JpaSpecificationExecutor<Patient> {
 
-    Optional<Patient> findByEmail(final String email);
+    /**
+     * Finds a patient by email, ignoring case. The email is normalized before the query, so the
+     * lookup is an exact match on the unique email index.
+     */
+    default Optional<Patient> findByEmail(final String email) {
+        return findByEmailIs(Patient.normalizeEmail(email));
+    }
 
     Optional<Patient> findById(final UUID id);
 
-    boolean existsByEmail(final String email);
+    /**
+     * Reads a patient by ID as a {@link PatientView}, without loading the entity.
+     */
+    Optional<PatientView> findViewById(final UUID id);
 
-    boolean existsByEmailAndIdNot(final String email, final UUID id);
+    /**
+     * Reads a patient by email, ignoring case, as a {@link PatientView}, without loading the
+     * entity.
+     */
+    default Optional<PatientView> findViewByEmail(final String email) {
+        return findViewByEmailIs(Patient.normalizeEmail(email));
+    }
+
+    /**
+     * Whether a patient has the given email, ignoring case.
+     */
+    default boolean existsByEmail(final String email) {
+        return existsByEmailIs(Patient.normalizeEmail(email));
+    }
+
+    /**
+     * Whether a patient other than the given one has the given email, ignoring case.
+     */
+    default boolean existsByEmailAndIdNot(final String email, final UUID id) {
+        return existsByEmailIsAndIdNot(Patient.normalizeEmail(email), id);
+    }
+
+    /**
+     * Exact match on the stored email; callers go through {@link #findByEmail(String)}.
+     */
+    Optional<Patient> findByEmailIs(final String normalizedEmail);
+
+    boolean existsByEmailIs(final String normalizedEmail);
+
+    boolean existsByEmailIsAndIdNot(final String normalizedEmail, final UUID id);
+
+    Optional<PatientView> findViewByEmailIs(final String normalizedEmail);
+
+    /**
+     * Reads the patients with the given IDs as {@link PatientView}s in a single query, in no
+     * particular order. IDs without a patient are skipped.
+     */
+    List<PatientView> findViewsByIdIn(final Collection<UUID> ids);
+
+    /**
+     * Reads the patients with the given emails, ignoring case, as {@link PatientView}s in a single
+     * query, in no particular order. Emails without a patient are skipped.
+     */
+    default List<PatientView> findViewsByEmails(final Collection<String> emails) {
+        return findViewsByEmailIn(
+            emails.stream().map(Patient::normalizeEmail).collect(Collectors.toSet()));
+    }
+
+    List<PatientView> findViewsByEmailIn(final Collection<String> normalizedEmails);
+
+    /**
+     * Returns the current version of a patient without loading it.
+     */
+    @Query("select p.version from Patient p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") final UUID id);
+
+    /**
+     * Overwrites a patient's fields and bumps its version in a single UPDATE statement, without
+     * loading it first.
+     *
+     * @return the new version, or empty if no patient has the given ID
+     */
+    @Query(value = """
+        UPDATE patient
+        SET name = :name, email = :email, address = :address, date_of_birth = :dateOfBirth,
+            registered_date = :registeredDate, version = version + 1
+        WHERE id = :id
+        RETURNING version
+        """, nativeQuery = true)
+    Optional<Long> updateById(@Param("id") final UUID id, @Param("name") final String name,
+        @Param("email") final String email, @Param("address") final String address,
+        @Param("dateOfBirth") final LocalDate dateOfBirth,
+        @Param("registeredDate") final LocalDate registeredDate);
+
+    /**
+     * Same as {@link #updateById} but only applies if the patient is still at one of the expected
+     * versions.
+     *
+     * @return the new version, or empty if no patient has the given ID and one of the versions
+     */
+    @Query(value = """
+        UPDATE patient
+        SET name = :name, email = :email, address = :address, date_of_birth = :dateOfBirth,
+            registered_date = :registeredDate, version = version + 1
+        WHERE id = :id AND version IN (:versions)
+        RETURNING version
+        """, nativeQuery = true)
+    Optional<Long> updateByIdAndVersionIn(@Param("id") final UUID id,
+        @Param("versions") final Collection<Long> versions, @Param("name") final String name,
+        @Param("email") final String email, @Param("address") final String address,
+        @Param("dateOfBirth") final LocalDate dateOfBirth,
+        @Param("registeredDate") final LocalDate registeredDate);
+
+    /**
+     * Deletes a patient only if it is still at one of the expected versions.
+     *
+     * @return the number of rows deleted, 0 if no patient has the given ID and one of the versions
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Patient p where p.id = :id and p.version in :versions")
+    int deleteByIdAndVersionIn(@Param("id") final UUID id,
+        @Param("versions") final Collection<Long> versions);
+
+    /**
+     * Returns which of the given emails already belong to a patient, ignoring case, in a single
+     * query. The returned emails are in normalized form.
+     */
+    default Set<String> findExistingEmails(final Collection<String> emails) {
+        return findExistingNormalizedEmails(
+            emails.stream().map(Patient::normalizeEmail).collect(Collectors.toSet()));
+    }
+
+    @Query("select p.email from Patient p where p.email in :emails")
+    Set<String> findExistingNormalizedEmails(@Param("emails") final Collection<String> emails);
+
+    /**
+     * Returns the patients whose lower-cased name is most similar to the given one, best match
+     * first. The {@code %} operator lets the trigram index on {@code lower(name)} pre-filter at
+     * pg_trgm's similarity threshold (0.3 by default), so thresholds below it match nothing more.
+     *
+     * @param name      the lower-cased name to match
+     * @param threshold the minimum similarity, from 0.3 to 1
+     * @param limit     the maximum number of matches
+     */
+    @Query(value = """
+        SELECT id, name, email, date_of_birth AS "dateOfBirth",
+               similarity(lower(name), :name) AS similarity
+        FROM patient
+        WHERE lower(name) % :name
+          AND similarity(lower(name), :name) >= :threshold
+        ORDER BY similarity DESC, id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<PatientMatch> findSimilarByName(@Param("name") final String name,
+        @Param("threshold") final double threshold, @Param("limit") final int limit);
+
+    /**
+     * Returns existing patients that may be the same person as the given details: a similar name
+     * and either the same date of birth or a similar address. Served by the trigram indexes on
+     * {@code lower(name)} and {@code lower(address)}.
+     *
+     * @param name        the lower-cased name to match
+     * @param dateOfBirth the date of birth to match
+     * @param address     the lower-cased address to match
+     * @param threshold   the minimum name similarity, from 0.3 to 1
+     * @param limit       the maximum number of matches
+     */
+    @Query(value = """
+        SELECT id, name, email, date_of_birth AS "dateOfBirth",
+               similarity(lower(name), :name) AS similarity
+        FROM patient
+        WHERE lower(name) % :name
+          AND similarity(lower(name), :name) >= :threshold
+          AND (date_of_birth = :dateOfBirth OR lower(address) % :address)
+        ORDER BY similarity DESC, id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<PatientMatch> findPossibleDuplicates(@Param("name") final String name,
+        @Param("dateOfBirth") final LocalDate dateOfBirth, @Param("address") final String address,
+        @Param("threshold") final double threshold, @Param("limit") final int limit);
+
+    /**
+     * Returns the first patients in keyset order {@code (registered_date, id)}.
+     */
+    List<PatientView> findViewsByOrderByRegisteredDateAscIdAsc(final Limit limit);
+
+    /**
+     * Returns the patients strictly after the given {@code (registered_date, id)} keyset position.
+     * The row-value comparison lets PostgreSQL seek straight into the
+     * {@code (registered_date, id)} index, so the cost of a page does not depend on its depth.
+     */
+    @Query("""
+        select p.id as id, p.name as name, p.email as email, p.address as address,
+               p.dateOfBirth as dateOfBirth, p.registeredDate as registeredDate,
+               p.version as version
+        from Patient p
+        where (p.registeredDate, p.id) > (:registeredDate, :id)
+        order by p.registeredDate, p.id
+        """)
+    List<PatientView> findPageAfter(@Param("registeredDate") final LocalDate registeredDate,
+        @Param("id") final UUID id, final Limit limit);
+
+    /**
+     * Streams every patient in keyset order through a server-side cursor. Must be consumed inside a
+     * transaction and closed by the caller; rows are fetched 1000 at a time as views, so nothing
+     * accumulates in the persistence context.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<PatientView> streamViewsByOrderByRegisteredDateAscIdAsc();
+
+    /**
+     * Streams the ID and email of every patient, in no particular order, through a server-side
+     * cursor. Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("select p.id as id, p.email as email from Patient p")
+    Stream<PatientKey> streamKeysBy();
 }
@@ -0,0 +1,92 @@
+package com.pm.patientservice.repository;
+
+import com.pm.patientservice.model.dto.PatientSearchCriteria;
+import com.pm.patientservice.model.entities.Patient;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Specifications for the patient search. Each filter is written so PostgreSQL can serve it from
+ * an index: name prefixes from {@code lower(name) text_pattern_ops}, address substrings from the
+ * {@code lower(address)} trigram index and date ranges from the {@code (date, id)} B-trees.
+ */
+public final class PatientSpecifications {
+
+  private static final char LIKE_ESCAPE = '\\';
+
+  private PatientSpecifications() {
+  }
+
+  /**
+   * Matches the patients satisfying every non-empty filter of the criteria.
+   */
+  public static Specification<Patient> matching(final PatientSearchCriteria criteria) {
+    return (root, query, cb) -> {
+      List<Predicate> predicates = new ArrayList<>();
+      if (hasText(criteria.name())) {
+        predicates.add(cb.like(cb.lower(root.get("name")),
+            escapeLike(criteria.name()) + "%", LIKE_ESCAPE));
+      }
+      if (hasText(criteria.address())) {
+        predicates.add(cb.like(cb.lower(root.get("address")),
+            "%" + escapeLike(criteria.address()) + "%", LIKE_ESCAPE));
+      }
+      addRange(predicates, cb, root.get("dateOfBirth"), criteria.dateOfBirthFrom(),
+          criteria.dateOfBirthTo());
+      addRange(predicates, cb, root.get("registeredDate"), criteria.registeredFrom(),
+          criteria.registeredTo());
+      return cb.and(predicates.toArray(Predicate[]::new));
+    };
+  }
+
+  /**
+   * Matches the patients strictly after the keyset position {@code (key, id)} in the given
+   * ordering, written as {@code key > :key OR (key = :key AND id > :id)} (reversed for descending
+   * order).
+   */
+  public static Specification<Patient> after(final String attribute,
+      final Sort.Direction direction, final LocalDate key, final UUID id) {
+    return (root, query, cb) -> {
+      Path<LocalDate> keyPath = root.get(attribute);
+      Path<UUID> idPath = root.get("id");
+      if (direction.isAscending()) {
+        return cb.or(cb.greaterThan(keyPath, key),
+            cb.and(cb.equal(keyPath, key), cb.greaterThan(idPath, id)));
+      }
+      return cb.or(cb.lessThan(keyPath, key),
+          cb.and(cb.equal(keyPath, key), cb.lessThan(idPath, id)));
+    };
+  }
+
+  private static void addRange(final List<Predicate> predicates, final CriteriaBuilder cb,
+      final Path<LocalDate> path, final LocalDate from, final LocalDate to) {
+    if (from != null) {
+      predicates.add(cb.greaterThanOrEqualTo(path, from));
+    }
+    if (to != null) {
+      predicates.add(cb.lessThanOrEqualTo(path, to));
+    }
+  }
+
+  private static boolean hasText(final String value) {
+    return value != null && !value.isBlank();
+  }
+
+  /**
+   * Lower-cases a user-supplied fragment and escapes the LIKE wildcards in it.
+   */
+  private static String escapeLike(final String value) {
+    return value.strip().toLowerCase(Locale.ROOT)
+        .replace("\\", "\\\\")
+        .replace("%", "\\%")
+        .replace("_", "\\_");
+  }
+}
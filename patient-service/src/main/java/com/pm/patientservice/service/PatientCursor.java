@@ -0,0 +1,54 @@
+package com.pm.patientservice.service;
+
+import com.pm.patientservice.model.projections.PatientView;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position {@code (registered_date, id)} of the last patient on a page. Clients only ever
+ * see the opaque, URL-safe encoded form.
+ *
+ * @param registeredDate the registered date of the last patient returned
+ * @param id             the ID of the last patient returned
+ */
+public record PatientCursor(LocalDate registeredDate, UUID id) {
+
+  private static final char SEPARATOR = '|';
+
+  public static final String ERROR_MESSAGE_INVALID_CURSOR = "Invalid cursor: %s";
+
+  /**
+   * Builds the cursor pointing just after the given patient.
+   */
+  public static PatientCursor of(final PatientView patient) {
+    return new PatientCursor(patient.getRegisteredDate(), patient.getId());
+  }
+
+  /**
+   * Decodes a cursor previously produced by {@link #encode()}.
+   *
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  public static PatientCursor decode(final String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      return new PatientCursor(LocalDate.parse(raw.substring(0, separator)),
+          UUID.fromString(raw.substring(separator + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+      throw new IllegalArgumentException(String.format(ERROR_MESSAGE_INVALID_CURSOR, cursor), ex);
+    }
+  }
+
+  /**
+   * Encodes this cursor into its opaque, URL-safe form.
+   */
+  public String encode() {
+    String raw = registeredDate.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
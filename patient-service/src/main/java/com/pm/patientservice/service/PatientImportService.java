@@ -0,0 +1,210 @@
+package com.pm.patientservice.service;
+
+import static com.pm.patientservice.service.PatientService.ERROR_MESSAGE_ALREADY_EXISTS_BY_EMAIL_ID;
+
+import com.pm.patientservice.cache.PatientCache;
+import com.pm.patientservice.lookup.PatientLookupFilter;
+import com.pm.patientservice.model.dto.PatientDTO;
+import com.pm.patientservice.model.dto.PatientImportResultDTO;
+import com.pm.patientservice.model.dto.PatientImportResultDTO.Status;
+import com.pm.patientservice.model.entities.Patient;
+import com.pm.patientservice.model.mapper.PatientMapper;
+import com.pm.patientservice.model.validators.CreatePatientValidationGroup;
+import com.pm.patientservice.outbox.PatientEvent;
+import com.pm.patientservice.outbox.PatientOutbox;
+import com.pm.patientservice.repository.PatientRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class PatientImportService {
+
+  private static final Logger log = LoggerFactory.getLogger(PatientImportService.class);
+
+  /**
+   * Rows validated, duplicate-checked and inserted per transaction. Matches the Hibernate JDBC
+   * batch size so each chunk is written in a single batch.
+   */
+  public static final int IMPORT_CHUNK_SIZE = 500;
+
+  public static final String ERROR_MESSAGE_UNREADABLE_ROW = "Row could not be read: %s";
+
+  private final PatientMapper patientMapper;
+
+  private final PatientRepository patientRepository;
+
+  private final PatientCache patientCache;
+
+  private final Validator validator;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final EntityManager entityManager;
+
+  private final PatientOutbox patientOutbox;
+
+  private final PatientLookupFilter patientLookupFilter;
+
+  /**
+   * Constructor for PatientImportService.
+   *
+   * @param patientMapper       the mapper to convert between Patient and PatientDTO
+   * @param patientRepository   the repository for accessing patient data
+   * @param patientCache        the patient cache to keep coherent with new emails
+   * @param validator           the validator applying the PatientDTO constraints
+   * @param transactionTemplate the template running one transaction per chunk
+   * @param entityManager       the entity manager flushed and cleared after each chunk
+   * @param patientOutbox       the outbox a CREATED event is written to per imported patient
+   * @param patientLookupFilter the lookup filter the imported patients' keys are recorded in
+   */
+  public PatientImportService(final PatientMapper patientMapper,
+      final PatientRepository patientRepository, final PatientCache patientCache,
+      final Validator validator, final TransactionTemplate transactionTemplate,
+      final EntityManager entityManager, final PatientOutbox patientOutbox,
+      final PatientLookupFilter patientLookupFilter) {
+    this.patientMapper = patientMapper;
+    this.patientRepository = patientRepository;
+    this.patientCache = patientCache;
+    this.validator = validator;
+    this.transactionTemplate = transactionTemplate;
+    this.entityManager = entityManager;
+    this.patientOutbox = patientOutbox;
+    this.patientLookupFilter = patientLookupFilter;
+  }
+
+  /**
+   * Imports patients in chunks of {@link #IMPORT_CHUNK_SIZE}. Each chunk is validated with the same
+   * constraints as a single create, checked for existing emails with one query and inserted in one
+   * JDBC batch, in its own transaction. Reading stops at the first unreadable row, which is
+   * reported as invalid; rows before it are still imported.
+   *
+   * @param patients the rows to import, read lazily
+   * @return one result per row read, in input order
+   */
+  public List<PatientImportResultDTO> importPatients(final Iterator<PatientDTO> patients) {
+    List<PatientImportResultDTO> results = new ArrayList<>();
+    List<PatientDTO> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+
+    while (true) {
+      PatientDTO next;
+      try {
+        if (!patients.hasNext()) {
+          break;
+        }
+        next = patients.next();
+      } catch (RuntimeException ex) {
+        results.addAll(importChunk(results.size(), chunk));
+        chunk.clear();
+        results.add(new PatientImportResultDTO(results.size(), Status.INVALID, null, null,
+            Map.of("row", String.format(ERROR_MESSAGE_UNREADABLE_ROW, ex.getMessage()))));
+        break;
+      }
+      chunk.add(next);
+      if (chunk.size() == IMPORT_CHUNK_SIZE) {
+        results.addAll(importChunk(results.size(), chunk));
+        chunk.clear();
+      }
+    }
+    results.addAll(importChunk(results.size(), chunk));
+
+    log.info("Imported {} rows, {} created", results.size(),
+        results.stream().filter(result -> result.status() == Status.CREATED).count());
+    return results;
+  }
+
+  private List<PatientImportResultDTO> importChunk(final int firstIndex,
+      final List<PatientDTO> rows) {
+    if (rows.isEmpty()) {
+      return List.of();
+    }
+    try {
+      return transactionTemplate.execute(status -> insertChunk(firstIndex, rows));
+    } catch (DataIntegrityViolationException ex) {
+      // A concurrent writer took one of the emails between the check and the insert; the retry's
+      // duplicate check will see it.
+      log.warn("Retrying import chunk at row {} after constraint violation", firstIndex);
+      return transactionTemplate.execute(status -> insertChunk(firstIndex, rows));
+    }
+  }
+
+  private List<PatientImportResultDTO> insertChunk(final int firstIndex,
+      final List<PatientDTO> rows) {
+    PatientImportResultDTO[] results = new PatientImportResultDTO[rows.size()];
+
+    // normalized email -> position in chunk of the first valid row using it
+    Map<String, Integer> candidates = new LinkedHashMap<>();
+    for (int i = 0; i < rows.size(); i++) {
+      PatientDTO row = rows.get(i);
+      Set<ConstraintViolation<PatientDTO>> violations = validator.validate(row, Default.class,
+          CreatePatientValidationGroup.class);
+      if (!violations.isEmpty()) {
+        results[i] = new PatientImportResultDTO(firstIndex + i, Status.INVALID, null,
+            row.getEmail(), toErrors(violations));
+      } else if (candidates.putIfAbsent(Patient.normalizeEmail(row.getEmail()), i) != null) {
+        results[i] = duplicate(firstIndex + i, row.getEmail());
+      }
+    }
+
+    Set<String> existing = candidates.isEmpty()
+        ? Set.of()
+        : patientRepository.findExistingEmails(candidates.keySet());
+
+    List<Patient> entities = new ArrayList<>(candidates.size());
+    List<Integer> positions = new ArrayList<>(candidates.size());
+    candidates.forEach((email, position) -> {
+      if (existing.contains(email)) {
+        results[position] = duplicate(firstIndex + position, email);
+      } else {
+        Patient patient = patientMapper.toEntity(rows.get(position));
+        patient.setId(null);
+        patient.setVersion(null);
+        entities.add(patient);
+        positions.add(position);
+      }
+    });
+
+    patientRepository.saveAll(entities);
+    patientOutbox.appendAll(entities.stream().map(PatientEvent::created).toList());
+    patientLookupFilter.recordWrites(entities.stream()
+        .collect(Collectors.toMap(Patient::getId, Patient::getEmail)));
+    entityManager.flush();
+    entityManager.clear();
+
+    for (int i = 0; i < entities.size(); i++) {
+      Patient created = entities.get(i);
+      results[positions.get(i)] = new PatientImportResultDTO(firstIndex + positions.get(i),
+          Status.CREATED, created.getId(), created.getEmail(), null);
+      patientCache.evictEmail(created.getEmail());
+    }
+    return Arrays.asList(results);
+  }
+
+  private static PatientImportResultDTO duplicate(final int index, final String email) {
+    return new PatientImportResultDTO(index, Status.DUPLICATE, null, email,
+        Map.of("email", String.format(ERROR_MESSAGE_ALREADY_EXISTS_BY_EMAIL_ID, email)));
+  }
+
+  private static Map<String, String> toErrors(
+      final Set<ConstraintViolation<PatientDTO>> violations) {
+    return violations.stream().collect(Collectors.toMap(
+        violation -> violation.getPropertyPath().toString(),
+        ConstraintViolation::getMessage,
+        (first, second) -> first));
+  }
+
+}
@@ -0,0 +1,81 @@
+package com.pm.patientservice.service;
+
+import com.pm.patientservice.model.entities.Patient;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Keyset position {@code (sort key, id)} of the last patient on a search page. The ordering is
+ * part of the cursor so it cannot be replayed against a different sort. Clients only ever see the
+ * opaque, URL-safe encoded form.
+ *
+ * @param sort      the ordering the page was read in
+ * @param direction the direction the page was read in
+ * @param key       the sort key of the last patient returned
+ * @param id        the ID of the last patient returned
+ */
+public record PatientSearchCursor(PatientSearchSort sort, Sort.Direction direction, LocalDate key,
+                                  UUID id) {
+
+  private static final String SEPARATOR = "|";
+
+  public static final String ERROR_MESSAGE_INVALID_CURSOR = "Invalid search cursor: %s";
+
+  public static final String ERROR_MESSAGE_CURSOR_SORT_MISMATCH = "Search cursor was issued for "
+      + "sort %s %s";
+
+  /**
+   * Builds the cursor pointing just after the given patient in the given ordering.
+   */
+  public static PatientSearchCursor of(final Patient patient, final PatientSearchSort sort,
+      final Sort.Direction direction) {
+    return new PatientSearchCursor(sort, direction, sort.keyOf(patient), patient.getId());
+  }
+
+  /**
+   * Decodes a cursor previously produced by {@link #encode()}.
+   *
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  public static PatientSearchCursor decode(final String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\" + SEPARATOR, -1);
+      if (parts.length != 4) {
+        throw new IllegalArgumentException(String.format(ERROR_MESSAGE_INVALID_CURSOR, cursor));
+      }
+      return new PatientSearchCursor(PatientSearchSort.valueOf(parts[0]),
+          Sort.Direction.valueOf(parts[1]), LocalDate.parse(parts[2]), UUID.fromString(parts[3]));
+    } catch (IllegalArgumentException | DateTimeParseException ex) {
+      throw new IllegalArgumentException(String.format(ERROR_MESSAGE_INVALID_CURSOR, cursor), ex);
+    }
+  }
+
+  /**
+   * Checks that this cursor was issued for the given ordering.
+   *
+   * @throws IllegalArgumentException if it was issued for another ordering
+   */
+  public PatientSearchCursor requireOrdering(final PatientSearchSort expectedSort,
+      final Sort.Direction expectedDirection) {
+    if (sort != expectedSort || direction != expectedDirection) {
+      throw new IllegalArgumentException(
+          String.format(ERROR_MESSAGE_CURSOR_SORT_MISMATCH, sort, direction));
+    }
+    return this;
+  }
+
+  /**
+   * Encodes this cursor into its opaque, URL-safe form.
+   */
+  public String encode() {
+    String raw = String.join(SEPARATOR, sort.name(), direction.name(), key.toString(),
+        id.toString());
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,39 @@
+package com.pm.patientservice.service;
+
+import com.pm.patientservice.model.entities.Patient;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * Orderings supported by the patient search. Each one is backed by a {@code (column, id)} index,
+ * so keyset pages are read straight off the index in either direction.
+ */
+public enum PatientSearchSort {
+
+  REGISTERED_DATE("registeredDate", Patient::getRegisteredDate),
+
+  DATE_OF_BIRTH("dateOfBirth", Patient::getDateOfBirth);
+
+  private final String attribute;
+
+  private final Function<Patient, LocalDate> key;
+
+  PatientSearchSort(final String attribute, final Function<Patient, LocalDate> key) {
+    this.attribute = attribute;
+    this.key = key;
+  }
+
+  /**
+   * The Patient attribute this ordering sorts on.
+   */
+  public String attribute() {
+    return attribute;
+  }
+
+  /**
+   * The sort key of the given patient under this ordering.
+   */
+  public LocalDate keyOf(final Patient patient) {
+    return key.apply(patient);
+  }
+}
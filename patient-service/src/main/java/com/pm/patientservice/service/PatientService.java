@@ -1,15 +1,49 @@
 package com.pm.patientservice.service;
 
+import com.pm.patientservice.cache.PatientCache;
+import com.pm.patientservice.coalescing.Coalesced;
 import com.pm.patientservice.exception.EmailAlreadyExistsException;
 import com.pm.patientservice.exception.PatientNotFoundException;
+import com.pm.patientservice.exception.PatientVersionMismatchException;
+import com.pm.patientservice.lookup.PatientLookupFilter;
+import com.pm.patientservice.metrics.PatientMetrics;
+import com.pm.patientservice.model.dto.PatientBatchGetResultDTO;
 import com.pm.patientservice.model.dto.PatientDTO;
+import com.pm.patientservice.model.dto.PatientMatchDTO;
+import com.pm.patientservice.model.dto.PatientPageDTO;
+import com.pm.patientservice.model.dto.PatientSearchCriteria;
 import com.pm.patientservice.model.entities.Patient;
 import com.pm.patientservice.model.mapper.PatientMapper;
+import com.pm.patientservice.model.projections.PatientMatch;
+import com.pm.patientservice.model.projections.PatientView;
+import com.pm.patientservice.outbox.PatientEvent;
+import com.pm.patientservice.outbox.PatientOutbox;
 import com.pm.patientservice.repository.PatientRepository;
+import com.pm.patientservice.repository.PatientSpecifications;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,118 +61,526 @@ public class PatientService {
   public static final String ERROR_MESSAGE_ALREADY_EXISTS_BY_EMAIL_ID = "Patient already exists "
       + "with "
       + "the provided email address %s";
+  public static final String ERROR_MESSAGE_VERSION_MISMATCH = "Patient with ID %s is not at "
+      + "any of the versions %s";
+  public static final String ERROR_MESSAGE_INVALID_PAGE_LIMIT = "Page limit must be at least 1, "
+      + "got %d";
+  public static final String ERROR_MESSAGE_ADDRESS_FILTER_TOO_SHORT = "Address filter must be at "
+      + "least %d characters";
+  public static final String ERROR_MESSAGE_INVALID_SIMILARITY_THRESHOLD = "Similarity threshold "
+      + "must be between %.1f and 1, got %s";
+  public static final String ERROR_MESSAGE_FUZZY_NAME_REQUIRED = "Name is required for a fuzzy "
+      + "search";
+  public static final String ERROR_MESSAGE_BATCH_GET_TOO_LARGE = "A batch lookup takes at most %d "
+      + "keys, got %d";
+
+  /**
+   * Hard cap on the number of patients returned by the unpaginated list.
+   */
+  public static final int MAX_LIST_SIZE = 1000;
+
+  /**
+   * Page sizes for keyset pagination; larger requested limits are clamped to the maximum.
+   */
+  public static final int DEFAULT_PAGE_SIZE = 50;
+  public static final int MAX_PAGE_SIZE = 500;
+
+  /**
+   * Most distinct IDs and emails, together, a single batch lookup resolves.
+   */
+  public static final int MAX_BATCH_GET_SIZE = 1000;
+
+  /**
+   * Shortest address fragment the search accepts; shorter fragments contain no trigram and would
+   * scan the whole table.
+   */
+  public static final int MIN_ADDRESS_FILTER_LENGTH = 3;
+
+  /**
+   * Similarity bounds for fuzzy name search. The trigram index pre-filters at pg_trgm's default
+   * threshold of 0.3, so lower thresholds cannot return more matches.
+   */
+  public static final double MIN_SIMILARITY_THRESHOLD = 0.3;
+  public static final double DEFAULT_SIMILARITY_THRESHOLD = 0.4;
+  public static final int DEFAULT_FUZZY_LIMIT = 10;
+  public static final int MAX_FUZZY_LIMIT = 50;
+
+  /**
+   * Name similarity above which a new patient with the same date of birth or a similar address is
+   * reported as a possible duplicate, and how many candidates are reported.
+   */
+  public static final double DUPLICATE_SIMILARITY_THRESHOLD = 0.6;
+  public static final int MAX_POSSIBLE_DUPLICATES = 5;
+
+  /**
+   * PostgreSQL SQLSTATE raised when an insert or update breaks a unique constraint.
+   */
+  private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
 
   private final PatientMapper patientMapper;
 
   private final PatientRepository patientRepository;
 
+  private final PatientCache patientCache;
+
+  private final PatientMetrics patientMetrics;
+
+  private final PatientOutbox patientOutbox;
+
+  private final PatientLookupFilter patientLookupFilter;
+
   /**
    * Constructor for PatientService.
    *
-   * @param patientMapper     the mapper to convert between Patient and PatientDTO
-   * @param patientRepository the repository for accessing patient data
+   * @param patientMapper       the mapper to convert between Patient and PatientDTO
+   * @param patientRepository   the repository for accessing patient data
+   * @param patientCache        the read-through cache for lookups by ID and email
+   * @param patientMetrics      the timers recording each operation by outcome
+   * @param patientOutbox       the outbox lifecycle events are written to with each change
+   * @param patientLookupFilter the filter ruling out IDs and emails no patient has
    */
   public PatientService(final PatientMapper patientMapper,
-      final PatientRepository patientRepository) {
+      final PatientRepository patientRepository, final PatientCache patientCache,
+      final PatientMetrics patientMetrics, final PatientOutbox patientOutbox,
+      final PatientLookupFilter patientLookupFilter) {
     this.patientMapper = patientMapper;
     this.patientRepository = patientRepository;
+    this.patientCache = patientCache;
+    this.patientMetrics = patientMetrics;
+    this.patientOutbox = patientOutbox;
+    this.patientLookupFilter = patientLookupFilter;
   }
 
   /**
-   * Retrieves all patients.
+   * Retrieves all patients, capped at {@link #MAX_LIST_SIZE} in keyset order. Use
+   * {@link #getPatientsPage(String, int)} to walk the full registry.
    *
-   * @return a list of PatientDTOs representing all patients
+   * @return a list of PatientDTOs representing at most {@link #MAX_LIST_SIZE} patients
    */
+  @Transactional(readOnly = true)
   public List<PatientDTO> getAllPatients() {
-    log.info("Retrieving all patients");
-    return patientRepository.findAll().stream()
-        .map(patientMapper::toDto)
-        .toList();
+    log.debug("Retrieving all patients");
+    return patientMetrics.timeLookup("getAllPatients", () ->
+        patientRepository.findViewsByOrderByRegisteredDateAscIdAsc(Limit.of(MAX_LIST_SIZE))
+            .stream()
+            .map(patientMapper::toDto)
+            .toList());
+  }
+
+  /**
+   * Retrieves one page of patients ordered by {@code (registeredDate, id)}.
+   *
+   * @param cursor the opaque cursor returned with the previous page, or null for the first page
+   * @param limit  the requested page size, clamped to {@link #MAX_PAGE_SIZE}
+   * @return the page of patients and the cursor for the next page, if any
+   */
+  @Transactional(readOnly = true)
+  public PatientPageDTO getPatientsPage(final String cursor, final int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException(String.format(ERROR_MESSAGE_INVALID_PAGE_LIMIT, limit));
+    }
+    int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+    log.debug("Retrieving patients page of size {}", pageSize);
+    return patientMetrics.timeLookup("getPatientsPage", () -> {
+      // Fetch one extra row to know whether another page follows without a count query.
+      List<PatientView> rows;
+      if (cursor == null || cursor.isBlank()) {
+        rows = patientRepository.findViewsByOrderByRegisteredDateAscIdAsc(Limit.of(pageSize + 1));
+      } else {
+        PatientCursor position = PatientCursor.decode(cursor);
+        rows = patientRepository.findPageAfter(position.registeredDate(), position.id(),
+            Limit.of(pageSize + 1));
+      }
+
+      boolean hasNext = rows.size() > pageSize;
+      List<PatientView> page = hasNext ? rows.subList(0, pageSize) : rows;
+      String next = hasNext ? PatientCursor.of(page.get(pageSize - 1)).encode() : null;
+
+      return new PatientPageDTO(page.stream().map(patientMapper::toDto).toList(), next);
+    });
+  }
+
+  /**
+   * Searches patients by the given criteria, one keyset page at a time.
+   *
+   * @param criteria  the filters to apply; null or blank filters are ignored
+   * @param sort      the ordering of the results, ties broken by ID
+   * @param direction the direction of the ordering
+   * @param cursor    the opaque cursor returned with the previous page, or null for the first page
+   * @param limit     the requested page size, clamped to {@link #MAX_PAGE_SIZE}
+   * @return the page of matching patients and the cursor for the next page, if any
+   */
+  @Transactional(readOnly = true)
+  public PatientPageDTO searchPatients(final PatientSearchCriteria criteria,
+      final PatientSearchSort sort, final Sort.Direction direction, final String cursor,
+      final int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException(String.format(ERROR_MESSAGE_INVALID_PAGE_LIMIT, limit));
+    }
+    if (criteria.address() != null && !criteria.address().isBlank()
+        && criteria.address().strip().length() < MIN_ADDRESS_FILTER_LENGTH) {
+      throw new IllegalArgumentException(
+          String.format(ERROR_MESSAGE_ADDRESS_FILTER_TOO_SHORT, MIN_ADDRESS_FILTER_LENGTH));
+    }
+    int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+    log.debug("Searching patients sorted by {} {}, page size {}", sort, direction, pageSize);
+
+    Specification<Patient> specification = PatientSpecifications.matching(criteria);
+    if (cursor != null && !cursor.isBlank()) {
+      PatientSearchCursor position = PatientSearchCursor.decode(cursor)
+          .requireOrdering(sort, direction);
+      specification = specification.and(PatientSpecifications.after(sort.attribute(), direction,
+          position.key(), position.id()));
+    }
+    Specification<Patient> filter = specification;
+    Sort order = Sort.by(direction, sort.attribute(), "id");
+
+    return patientMetrics.timeLookup("searchPatients", () -> {
+      // Fetch one extra row to know whether another page follows without a count query.
+      List<Patient> rows = patientRepository.findBy(filter,
+          query -> query.sortBy(order).limit(pageSize + 1).all());
+
+      boolean hasNext = rows.size() > pageSize;
+      List<Patient> page = hasNext ? rows.subList(0, pageSize) : rows;
+      String next = hasNext
+          ? PatientSearchCursor.of(page.get(pageSize - 1), sort, direction).encode()
+          : null;
+
+      return new PatientPageDTO(page.stream().map(patientMapper::toDto).toList(), next);
+    });
+  }
+
+  /**
+   * Finds the patients whose name is most similar to the given one, tolerating typos, best match
+   * first.
+   *
+   * @param name      the name to match, case-insensitively
+   * @param threshold the minimum similarity, from {@link #MIN_SIMILARITY_THRESHOLD} to 1
+   * @param limit     the maximum number of matches, clamped to {@link #MAX_FUZZY_LIMIT}
+   * @return the matching patients, most similar first
+   */
+  @Transactional(readOnly = true)
+  public List<PatientMatchDTO> fuzzySearchByName(final String name, final double threshold,
+      final int limit) {
+    if (name == null || name.isBlank()) {
+      throw new IllegalArgumentException(ERROR_MESSAGE_FUZZY_NAME_REQUIRED);
+    }
+    if (threshold < MIN_SIMILARITY_THRESHOLD || threshold > 1) {
+      throw new IllegalArgumentException(String.format(ERROR_MESSAGE_INVALID_SIMILARITY_THRESHOLD,
+          MIN_SIMILARITY_THRESHOLD, threshold));
+    }
+    if (limit < 1) {
+      throw new IllegalArgumentException(String.format(ERROR_MESSAGE_INVALID_PAGE_LIMIT, limit));
+    }
+    log.debug("Fuzzy searching patients by name, threshold {}", threshold);
+    return patientMetrics.timeLookup("fuzzySearchByName", () ->
+        patientRepository.findSimilarByName(name.strip().toLowerCase(Locale.ROOT), threshold,
+                Math.min(limit, MAX_FUZZY_LIMIT))
+            .stream()
+            .map(patientMapper::toMatchDto)
+            .toList());
+  }
+
+  /**
+   * Streams every patient to the given consumer in keyset order without materialising the
+   * registry. Patients are read as views, which the persistence context does not track, so memory
+   * use stays flat regardless of table size.
+   *
+   * @param consumer receives each patient as a PatientDTO, in order
+   * @return the number of patients exported
+   */
+  @Transactional(readOnly = true)
+  public long exportPatients(final Consumer<PatientDTO> consumer) {
+    log.debug("Exporting all patients");
+    long exported = patientMetrics.time("exportPatients", () -> {
+      long count = 0;
+      try (Stream<PatientView> patients =
+          patientRepository.streamViewsByOrderByRegisteredDateAscIdAsc()) {
+        Iterator<PatientView> iterator = patients.iterator();
+        while (iterator.hasNext()) {
+          consumer.accept(patientMapper.toDto(iterator.next()));
+          count++;
+        }
+      }
+      return count;
+    });
+    log.info("Exported {} patients", exported);
+    return exported;
   }
 
   /**
-   * Retrieves a patient by their ID.
+   * Retrieves a patient by their ID. Concurrent calls for the same ID share one lookup, and an ID
+   * the lookup filter rules out is not looked up at all.
    *
    * @param id the ID of the patient to retrieve
    * @return the PatientDTO representing the patient, or null if not found
    */
+  @Coalesced
+  @Transactional(readOnly = true)
   public PatientDTO getPatientById(final UUID id) {
-    log.info("Retrieving patient with ID: {}", id);
-    return patientRepository.findById(id)
-        .map(patientMapper::toDto)
+    log.debug("Retrieving patient with ID: {}", id);
+    return patientMetrics.timeLookup("getPatientById", () ->
+        patientCache.getById(id).orElseGet(() -> {
+          PatientDTO patient = lookUpId(id, patientRepository::findViewById)
+              .map(patientMapper::toDto)
+              .orElseThrow(() -> new PatientNotFoundException(
+                  String.format(ERROR_MESSAGE_NOT_FOUND_BY_ID, id)));
+          patientCache.put(patient);
+          return patient;
+        }));
+  }
+
+  /**
+   * Retrieves the current version of a patient, from the cache if present and otherwise without
+   * loading or mapping the patient.
+   *
+   * @param id the ID of the patient
+   * @return the patient's version
+   */
+  @Coalesced
+  @Transactional(readOnly = true)
+  public long getPatientVersion(final UUID id) {
+    return patientMetrics.timeLookup("getPatientVersion", () -> patientCache.getById(id)
+        .map(PatientDTO::getVersion)
+        .or(() -> lookUpId(id, patientRepository::findVersionById))
         .orElseThrow(
-            () -> new PatientNotFoundException(String.format(ERROR_MESSAGE_NOT_FOUND_BY_ID, id)));
+            () -> new PatientNotFoundException(String.format(ERROR_MESSAGE_NOT_FOUND_BY_ID, id))));
   }
 
   /**
-   * Retrieves a patient by their email.
+   * Retrieves a patient by their email, ignoring case. Concurrent calls for the same email share
+   * one lookup, and an email the lookup filter rules out is not looked up at all.
    *
    * @param email the email of the patient to retrieve
    * @return the PatientDTO representing the patient, or null if not found
    */
+  @Coalesced
+  @Transactional(readOnly = true)
   public PatientDTO getPatientByEmail(final String email) {
-    log.info("Retrieving patient with email: {}", email);
-    return patientRepository.findByEmail(email)
-        .map(patientMapper::toDto)
-        .orElseThrow(() -> new PatientNotFoundException(
-            String.format(ERROR_MESSAGE_NOT_FOUND_BY_EMAIL_ID, email)));
+    log.debug("Retrieving patient by email");
+    String normalizedEmail = Patient.normalizeEmail(email);
+    return patientMetrics.timeLookup("getPatientByEmail", () ->
+        patientCache.getByEmail(normalizedEmail).orElseGet(() -> {
+          PatientDTO patient = lookUpEmail(normalizedEmail, patientRepository::findViewByEmail)
+              .map(patientMapper::toDto)
+              .orElseThrow(() -> new PatientNotFoundException(
+                  String.format(ERROR_MESSAGE_NOT_FOUND_BY_EMAIL_ID, email)));
+          patientCache.put(patient);
+          return patient;
+        }));
   }
 
   /**
-   * Creates a new patient.
+   * Retrieves many patients by ID and by email at once. Cached patients are served from the
+   * cache; the rest are read with at most one query per key type, and cached in turn.
    *
-   * @param patientDTO the patient data transfer object containing patient details
-   * @return the created patient as a data transfer object
+   * @param ids    the IDs to resolve, may be null
+   * @param emails the emails to resolve, ignoring case, may be null
+   * @return the distinct patients found in request order, and the keys no patient has
+   * @throws IllegalArgumentException if more than {@link #MAX_BATCH_GET_SIZE} distinct keys are
+   *                                  requested
    */
-  public PatientDTO createPatient(final PatientDTO patientDTO) {
-    log.info("Creating patient with email: {}", patientDTO.getEmail());
-
-    if (patientRepository.existsByEmail(patientDTO.getEmail())) {
-      throw new EmailAlreadyExistsException(
-          String.format(ERROR_MESSAGE_ALREADY_EXISTS_BY_EMAIL_ID, patientDTO.getEmail()));
+  @Transactional(readOnly = true)
+  public PatientBatchGetResultDTO batchGetPatients(final List<UUID> ids,
+      final List<String> emails) {
+    LinkedHashSet<UUID> distinctIds = new LinkedHashSet<>();
+    if (ids != null) {
+      ids.stream().filter(Objects::nonNull).forEach(distinctIds::add);
+    }
+    // Normalized email -> email as first requested
+    LinkedHashMap<String, String> distinctEmails = new LinkedHashMap<>();
+    if (emails != null) {
+      emails.stream().filter(Objects::nonNull)
+          .forEach(email -> distinctEmails.putIfAbsent(Patient.normalizeEmail(email), email));
+    }
+    int size = distinctIds.size() + distinctEmails.size();
+    if (size > MAX_BATCH_GET_SIZE) {
+      throw new IllegalArgumentException(
+          String.format(ERROR_MESSAGE_BATCH_GET_TOO_LARGE, MAX_BATCH_GET_SIZE, size));
     }
+    log.debug("Retrieving {} patients by ID and {} by email", distinctIds.size(),
+        distinctEmails.size());
 
-    Patient saved = patientRepository.save(patientMapper.toEntity(patientDTO));
-    return patientMapper.toDto(saved);
+    return patientMetrics.time("batchGetPatients", () -> {
+      Map<UUID, PatientDTO> byId = resolveIds(distinctIds);
+      Map<String, PatientDTO> byEmail = resolveEmails(distinctEmails.keySet());
 
+      List<PatientDTO> patients = new ArrayList<>(byId.size() + byEmail.size());
+      List<UUID> missingIds = new ArrayList<>();
+      for (UUID id : distinctIds) {
+        PatientDTO patient = byId.get(id);
+        if (patient != null) {
+          patients.add(patient);
+        } else {
+          missingIds.add(id);
+        }
+      }
+      List<String> missingEmails = new ArrayList<>();
+      distinctEmails.forEach((normalizedEmail, email) -> {
+        PatientDTO patient = byEmail.get(normalizedEmail);
+        if (patient != null) {
+          if (!byId.containsKey(patient.getId())) {
+            patients.add(patient);
+          }
+        } else {
+          missingEmails.add(email);
+        }
+      });
+      return new PatientBatchGetResultDTO(patients, missingIds, missingEmails);
+    });
+  }
+
+  private Map<UUID, PatientDTO> resolveIds(final Collection<UUID> ids) {
+    Map<UUID, PatientDTO> found = new HashMap<>();
+    List<UUID> misses = new ArrayList<>();
+    for (UUID id : ids) {
+      patientCache.getById(id).ifPresentOrElse(patient -> found.put(id, patient), () -> {
+        if (patientLookupFilter.mightContainId(id)) {
+          misses.add(id);
+        }
+      });
+    }
+    if (!misses.isEmpty()) {
+      for (PatientView view : patientRepository.findViewsByIdIn(misses)) {
+        PatientDTO patient = patientMapper.toDto(view);
+        patientCache.put(patient);
+        found.put(patient.getId(), patient);
+      }
+    }
+    return found;
+  }
+
+  private Map<String, PatientDTO> resolveEmails(final Collection<String> normalizedEmails) {
+    Map<String, PatientDTO> found = new HashMap<>();
+    List<String> misses = new ArrayList<>();
+    for (String email : normalizedEmails) {
+      patientCache.getByEmail(email).ifPresentOrElse(patient -> found.put(email, patient), () -> {
+        if (patientLookupFilter.mightContainEmail(email)) {
+          misses.add(email);
+        }
+      });
+    }
+    if (!misses.isEmpty()) {
+      for (PatientView view : patientRepository.findViewsByEmails(misses)) {
+        PatientDTO patient = patientMapper.toDto(view);
+        patientCache.put(patient);
+        found.put(patient.getEmail(), patient);
+      }
+    }
+    return found;
   }
 
   /**
-   * Updates an existing patient.
+   * Creates a new patient. The insert is flushed immediately and the unique constraint on email
+   * decides duplicates, so concurrent creates with the same email cannot both succeed. Existing
+   * patients with a similar name and the same date of birth or a similar address are reported as
+   * possible duplicates; they do not block the create.
    *
-   * @param id         the ID of the patient to update
-   * @param patientDTO the updated patient data transfer object
-   * @return the updated patient as a data transfer object
+   * @param patientDTO the patient data transfer object containing patient details
+   * @return the created patient as a data transfer object, with any possible duplicates
    */
-  public PatientDTO updatePatient(final UUID id, final PatientDTO patientDTO) {
-    log.info("Updating patient with ID: {}", id);
+  public PatientDTO createPatient(final PatientDTO patientDTO) {
+    log.debug("Creating patient");
+    return patientMetrics.time("createPatient", () -> {
+      Patient patient = patientMapper.toEntity(patientDTO);
+      patient.setId(null);
+      patient.setVersion(null);
 
-    if (!patientRepository.existsById(id)) {
-      throw new PatientNotFoundException(String.format(ERROR_MESSAGE_NOT_FOUND_BY_ID, id));
-    }
+      Patient saved;
+      try {
+        saved = patientRepository.saveAndFlush(patient);
+      } catch (DataIntegrityViolationException ex) {
+        if (!isUniqueViolation(ex)) {
+          throw ex;
+        }
+        throw new EmailAlreadyExistsException(
+            String.format(ERROR_MESSAGE_ALREADY_EXISTS_BY_EMAIL_ID, patientDTO.getEmail()), ex);
+      }
+      patientOutbox.append(PatientEvent.created(saved));
+      patientLookupFilter.recordWrite(saved.getId(), saved.getEmail());
+      patientCache.evictEmail(saved.getEmail());
+      PatientDTO created = patientMapper.toDto(saved);
+      created.setPossibleDuplicates(findPossibleDuplicates(saved));
+      return created;
+    });
+  }
 
-    if (patientRepository.existsByEmailAndIdNot(patientDTO.getEmail(), id)) {
-      throw new EmailAlreadyExistsException(
-          String.format(ERROR_MESSAGE_ALREADY_EXISTS_BY_EMAIL_ID,
-              patientDTO.getEmail()));
-    }
+  /**
+   * Updates an existing patient with a single UPDATE statement. A missing patient or a version
+   * mismatch is detected from the affected rows and an email conflict from the unique constraint,
+   * so none of them costs a query on the success path.
+   *
+   * @param id              the ID of the patient to update
+   * @param patientDTO      the updated patient data transfer object
+   * @param expectedVersions the versions the patient may be at, or null to update unconditionally;
+   *                         if empty, the update never applies
+   * @return the updated patient as a data transfer object, carrying its new version
+   */
+  public PatientDTO updatePatient(final UUID id, final PatientDTO patientDTO,
+      final Set<Long> expectedVersions) {
+    log.debug("Updating patient with ID: {}", id);
+    // The native UPDATE bypasses the entity's normalization.
+    patientDTO.setEmail(Patient.normalizeEmail(patientDTO.getEmail()));
+    return patientMetrics.time("updatePatient", () -> {
+      Optional<Long> version;
+      try {
+        if (expectedVersions == null) {
+          version = patientRepository.updateById(id, patientDTO.getName(), patientDTO.getEmail(),
+              patientDTO.getAddress(), patientDTO.getDateOfBirth(),
+              patientDTO.getRegisteredDate());
+        } else if (expectedVersions.isEmpty()) {
+          version = Optional.empty();
+        } else {
+          version = patientRepository.updateByIdAndVersionIn(id, expectedVersions,
+              patientDTO.getName(), patientDTO.getEmail(), patientDTO.getAddress(),
+              patientDTO.getDateOfBirth(), patientDTO.getRegisteredDate());
+        }
+      } catch (DataIntegrityViolationException ex) {
+        if (!isUniqueViolation(ex)) {
+          throw ex;
+        }
+        throw new EmailAlreadyExistsException(
+            String.format(ERROR_MESSAGE_ALREADY_EXISTS_BY_EMAIL_ID, patientDTO.getEmail()), ex);
+      }
 
-    patientDTO.setId(id);
-    Patient updated = patientRepository.save(patientMapper.toEntity(patientDTO));
-    return patientMapper.toDto(updated);
+      if (version.isEmpty()) {
+        throw notFoundOrVersionMismatch(id, expectedVersions);
+      }
+
+      patientDTO.setId(id);
+      patientDTO.setVersion(version.get());
+      patientOutbox.append(PatientEvent.updated(patientDTO));
+      patientLookupFilter.recordWrite(id, patientDTO.getEmail());
+      // Evicting by ID also drops the old email entry; the new email may map to a stale entry.
+      patientCache.evict(id, version.get());
+      patientCache.evictEmail(patientDTO.getEmail());
+      return patientDTO;
+    });
   }
 
   /**
    * Deletes a patient by their ID.
    *
-   * @param id the ID of the patient to delete
+   * @param id              the ID of the patient to delete
+   * @param expectedVersions the versions the patient may be at, or null to delete unconditionally;
+   *                         if empty, the delete never applies
    */
-  public void deletePatient(final UUID id) {
-    log.info("Deleting patient with ID: {}", id);
-    if (!patientRepository.existsById(id)) {
-      throw new PatientNotFoundException(String.format(ERROR_MESSAGE_NOT_FOUND_BY_ID, id));
-    }
-    patientRepository.deleteById(id);
+  public void deletePatient(final UUID id, final Set<Long> expectedVersions) {
+    log.debug("Deleting patient with ID: {}", id);
+    patientMetrics.time("deletePatient", () -> {
+      if (expectedVersions == null) {
+        if (!patientRepository.existsById(id)) {
+          throw new PatientNotFoundException(String.format(ERROR_MESSAGE_NOT_FOUND_BY_ID, id));
+        }
+        patientRepository.deleteById(id);
+      } else if (expectedVersions.isEmpty()
+          || patientRepository.deleteByIdAndVersionIn(id, expectedVersions) == 0) {
+        throw notFoundOrVersionMismatch(id, expectedVersions);
+      }
+      patientOutbox.append(PatientEvent.deleted(id));
+      patientLookupFilter.recordDelete();
+      patientCache.evict(id);
+    });
   }
 
   /**
@@ -147,12 +589,79 @@ public class PatientService {
    * @param email the email of the patient to delete
    */
   public void deletePatientByEmail(final String email) {
-    log.info("Deleting patient with email: {}", email);
-    Patient patient = patientRepository.findByEmail(email)
-        .orElseThrow(() -> new PatientNotFoundException(
-            String.format(ERROR_MESSAGE_NOT_FOUND_BY_EMAIL_ID, email)));
-    patientRepository.delete(patient);
+    log.debug("Deleting patient by email");
+    patientMetrics.time("deletePatientByEmail", () -> {
+      Patient patient = patientRepository.findByEmail(email)
+          .orElseThrow(() -> new PatientNotFoundException(
+              String.format(ERROR_MESSAGE_NOT_FOUND_BY_EMAIL_ID, email)));
+      patientRepository.delete(patient);
+      patientOutbox.append(PatientEvent.deleted(patient.getId()));
+      patientLookupFilter.recordDelete();
+      patientCache.evict(patient.getId());
+      patientCache.evictEmail(patient.getEmail());
+    });
+  }
+
+  /**
+   * Looks up existing patients that may be the same person as the given, just inserted one.
+   */
+  private List<UUID> findPossibleDuplicates(final Patient patient) {
+    List<UUID> duplicates = patientRepository.findPossibleDuplicates(
+            patient.getName().toLowerCase(Locale.ROOT), patient.getDateOfBirth(),
+            patient.getAddress().toLowerCase(Locale.ROOT), DUPLICATE_SIMILARITY_THRESHOLD,
+            MAX_POSSIBLE_DUPLICATES + 1)
+        .stream()
+        .map(PatientMatch::getId)
+        .filter(id -> !id.equals(patient.getId()))
+        .limit(MAX_POSSIBLE_DUPLICATES)
+        .toList();
+    if (!duplicates.isEmpty()) {
+      log.warn("Patient {} is a possible duplicate of {}", patient.getId(), duplicates);
+    }
+    return duplicates;
+  }
+
+  /**
+   * Runs a lookup by ID unless the lookup filter rules the ID out.
+   */
+  private <T> Optional<T> lookUpId(final UUID id, final Function<UUID, Optional<T>> lookup) {
+    return patientLookupFilter.mightContainId(id) ? lookup.apply(id) : Optional.empty();
   }
 
+  /**
+   * Runs a lookup by normalized email unless the lookup filter rules the email out.
+   */
+  private <T> Optional<T> lookUpEmail(final String normalizedEmail,
+      final Function<String, Optional<T>> lookup) {
+    return patientLookupFilter.mightContainEmail(normalizedEmail)
+        ? lookup.apply(normalizedEmail) : Optional.empty();
+  }
+
+  /**
+   * Explains why a conditional write matched no rows. Only runs on the failure path, so the
+   * successful write stays a single statement.
+   */
+  private RuntimeException notFoundOrVersionMismatch(final UUID id,
+      final Set<Long> expectedVersions) {
+    if (expectedVersions != null && patientRepository.existsById(id)) {
+      return new PatientVersionMismatchException(
+          String.format(ERROR_MESSAGE_VERSION_MISMATCH, id, new TreeSet<>(expectedVersions)));
+    }
+    return new PatientNotFoundException(String.format(ERROR_MESSAGE_NOT_FOUND_BY_ID, id));
+  }
+
+  /**
+   * Whether a write failed because it broke a unique constraint. Email is the only unique column
+   * besides the generated primary key, so this identifies an email conflict.
+   */
+  private static boolean isUniqueViolation(final DataIntegrityViolationException ex) {
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLException sqlException
+          && UNIQUE_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+        return true;
+      }
+    }
+    return false;
+  }
 
 }
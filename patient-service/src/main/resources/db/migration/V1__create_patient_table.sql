@@ -0,0 +1,21 @@
+-- Patient table. IF NOT EXISTS and the statements below keep this migration safe to apply to
+-- databases created by the former spring.sql.init schema.sql, which are baselined at version 0.
+CREATE TABLE IF NOT EXISTS patient
+(
+    id              UUID PRIMARY KEY,
+    name            VARCHAR(255) NOT NULL,
+    email           VARCHAR(255) NOT NULL,
+    address         VARCHAR(255) NOT NULL,
+    date_of_birth   DATE         NOT NULL,
+    registered_date DATE         NOT NULL,
+    version         BIGINT       NOT NULL DEFAULT 0,
+    -- Backs every email lookup; emails are stored lower-cased (see Patient.normalizeEmail).
+    CONSTRAINT patient_email_key UNIQUE (email)
+);
+
+-- Optimistic locking version backing the patient ETags
+ALTER TABLE patient ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Lower-case emails written before normalization. Fails on the unique constraint, leaving the
+-- data untouched, if two patients differ only by email case.
+UPDATE patient SET email = lower(email) WHERE email <> lower(email);
@@ -0,0 +1,5 @@
+-- Keyset pagination and registered_date range scans (GET /patients, /page, /export).
+-- Built concurrently so a live table keeps taking writes; Flyway runs CONCURRENTLY statements
+-- outside a transaction, so each one lives in its own migration.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_patient_registered_date_id
+    ON patient (registered_date, id);
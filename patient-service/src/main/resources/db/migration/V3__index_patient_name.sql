@@ -0,0 +1,4 @@
+-- Case-insensitive name prefix search: lower(name) LIKE 'smi%'. text_pattern_ops lets LIKE use
+-- the index regardless of the database collation.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_patient_lower_name
+    ON patient (lower(name) text_pattern_ops);
@@ -0,0 +1,2 @@
+-- Trigram operator classes for the substring and similarity indexes on patient text columns.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,4 @@
+-- Case-insensitive address substring search: lower(address) LIKE '%main st%'. A B-tree cannot
+-- serve a leading wildcard; the trigram GIN index can for fragments of three or more characters.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_patient_address_trgm
+    ON patient USING gin (lower(address) gin_trgm_ops);
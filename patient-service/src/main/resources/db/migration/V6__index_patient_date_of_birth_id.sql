@@ -0,0 +1,3 @@
+-- date_of_birth range filters and keyset pagination of searches sorted by date of birth.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_patient_date_of_birth_id
+    ON patient (date_of_birth, id);
@@ -0,0 +1,3 @@
+-- Fuzzy name search and duplicate detection: lower(name) % 'jon smiht', ranked by similarity().
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_patient_name_trgm
+    ON patient USING gin (lower(name) gin_trgm_ops);
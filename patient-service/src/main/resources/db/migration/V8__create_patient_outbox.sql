@@ -0,0 +1,17 @@
+-- Patient lifecycle events, written in the same transaction as the patient change and removed
+-- once PatientOutboxRelay has published them. The identity id is taken from the database after
+-- the patient row is locked, so it orders a patient's events in commit order.
+CREATE TABLE IF NOT EXISTS patient_outbox
+(
+    id              BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    patient_id      UUID         NOT NULL,
+    event_type      VARCHAR(32)  NOT NULL,
+    payload         JSONB        NOT NULL,
+    created_at      TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    last_error      VARCHAR(1000)
+);
+
+-- Finds a patient's earlier events that are still backing off, which hold back its later ones.
+CREATE INDEX IF NOT EXISTS idx_patient_outbox_patient_id_id ON patient_outbox (patient_id, id);
@@ -1,10 +0,0 @@
--- Ensure the 'patient' table exists
-CREATE TABLE IF NOT EXISTS patient
-(
-    id              UUID PRIMARY KEY,
-    name            VARCHAR(255)        NOT NULL,
-    email           VARCHAR(255) UNIQUE NOT NULL,
-    address         VARCHAR(255)        NOT NULL,
-    date_of_birth   DATE                NOT NULL,
-    registered_date DATE                NOT NULL
-);
\ No newline at end of file
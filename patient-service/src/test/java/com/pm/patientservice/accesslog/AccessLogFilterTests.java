@@ -0,0 +1,145 @@
+package com.pm.patientservice.accesslog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+class AccessLogFilterTests {
+
+  private static final String PATIENT_ID = "123e4567-e89b-12d3-a456-426614174000";
+
+  private AccessLogSampler sampler;
+
+  private AccessLogWriter writer;
+
+  private AccessLogFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    sampler = new AccessLogSampler(new AccessLogProperties(1.0, null, true, 100));
+    // Never started, so submitted entries stay queued for poll().
+    writer = new AccessLogWriter(100, new SimpleMeterRegistry());
+    filter = new AccessLogFilter(sampler, writer);
+  }
+
+  @Test
+  @DisplayName("should record endpoint, status, outcome and patient ID of a handled request")
+  void shouldRecordHandledRequest() throws Exception {
+    MockHttpServletRequest request = request("GET", "/patients/{id}", "getPatientById",
+        Map.of("id", PATIENT_ID));
+
+    filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+    AccessLogEntry entry = writer.poll();
+    assertEquals("getPatientById", entry.operation());
+    assertEquals("GET", entry.method());
+    assertEquals("/patients/{id}", entry.route());
+    assertEquals(200, entry.status());
+    assertEquals(AccessLogEntry.Outcome.SUCCESS, entry.outcome());
+    assertEquals(PATIENT_ID, entry.patientId());
+    assertTrue(entry.latencyNanos() >= 0);
+    assertNull(writer.poll());
+  }
+
+  @Test
+  @DisplayName("should not record an email route variable")
+  void shouldNotRecordEmailRouteVariable() throws Exception {
+    MockHttpServletRequest request = request("GET", "/patients/email/{email}",
+        "getPatientByEmail", Map.of("email", "jane@example.com"));
+
+    filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+    AccessLogEntry entry = writer.poll();
+    assertNull(entry.patientId());
+    assertFalse(entry.toString().contains("jane@example.com"));
+  }
+
+  @Test
+  @DisplayName("should skip requests of unsampled operations")
+  void shouldSkipUnsampledOperations() throws Exception {
+    sampler.setSampleRate("getPatientById", 0.0);
+    MockHttpServletRequest request = request("GET", "/patients/{id}", "getPatientById",
+        Map.of("id", PATIENT_ID));
+
+    filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+    assertNull(writer.poll());
+  }
+
+  @Test
+  @DisplayName("should record an escaping exception as a server error even when unsampled")
+  void shouldRecordEscapingExceptionAsServerError() {
+    sampler.setSampleRate(AccessLogSampler.DEFAULT, 0.0);
+    MockHttpServletRequest request = request("GET", "/patients/{id}", "getPatientById",
+        Map.of("id", PATIENT_ID));
+    FilterChain failing = (req, res) -> {
+      throw new ServletException("boom");
+    };
+
+    assertThrows(ServletException.class,
+        () -> filter.doFilter(request, new MockHttpServletResponse(), failing));
+
+    AccessLogEntry entry = writer.poll();
+    assertEquals(500, entry.status());
+    assertEquals(AccessLogEntry.Outcome.SERVER_ERROR, entry.outcome());
+  }
+
+  @Test
+  @DisplayName("should skip requests not handled by a controller method")
+  void shouldSkipRequestsWithoutHandlerMethod() throws Exception {
+    filter.doFilter(new MockHttpServletRequest("GET", "/patients/unknown"),
+        new MockHttpServletResponse(), (req, res) -> { });
+
+    assertNull(writer.poll());
+  }
+
+  private static MockHttpServletRequest request(final String method, final String route,
+      final String operation, final Map<String, String> variables) {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, route);
+    request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler(operation));
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+    request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, variables);
+    return request;
+  }
+
+  private static HandlerMethod handler(final String operation) {
+    return new HandlerMethod(new Handlers(), handlerMethod(operation));
+  }
+
+  private static Method handlerMethod(final String operation) {
+    try {
+      return Handlers.class.getDeclaredMethod(operation);
+    } catch (NoSuchMethodException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * Stand-ins for controller methods; only their names matter.
+   */
+  static class Handlers {
+
+    void getPatientById() {
+    }
+
+    void getPatientByEmail() {
+    }
+
+  }
+
+}
@@ -0,0 +1,69 @@
+package com.pm.patientservice.accesslog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AccessLogSamplerTests {
+
+  @Test
+  @DisplayName("should sample by the operation's own rate before the default rate")
+  void shouldSampleByOperationRateBeforeDefaultRate() {
+    AccessLogSampler sampler = sampler(1.0, Map.of("getPatientById", 0.0), true);
+
+    assertFalse(sampler.sample("getPatientById", 200));
+    assertTrue(sampler.sample("getPatients", 200));
+    assertEquals(0.0, sampler.sampleRate("getPatientById"));
+    assertEquals(1.0, sampler.sampleRate(AccessLogSampler.DEFAULT));
+  }
+
+  @Test
+  @DisplayName("should log server errors regardless of the rate when always-log-errors is on")
+  void shouldLogServerErrorsRegardlessOfRate() {
+    assertTrue(sampler(0.0, null, true).sample("getPatients", 500));
+    assertFalse(sampler(0.0, null, false).sample("getPatients", 500));
+    assertFalse(sampler(0.0, null, true).sample("getPatients", 404));
+  }
+
+  @Test
+  @DisplayName("should change and clear rates at runtime")
+  void shouldChangeAndClearRatesAtRuntime() {
+    AccessLogSampler sampler = sampler(1.0, null, true);
+
+    sampler.setSampleRate("getPatientById", 0.0);
+    sampler.setSampleRate(AccessLogSampler.DEFAULT, 0.5);
+    assertEquals(Map.of("getPatientById", 0.0), sampler.sampleRates());
+    assertEquals(0.5, sampler.defaultSampleRate());
+
+    sampler.setSampleRate("getPatientById", null);
+    assertEquals(0.5, sampler.sampleRate("getPatientById"));
+    assertTrue(sampler.sampleRates().isEmpty());
+  }
+
+  @Test
+  @DisplayName("should reject rates outside 0 to 1 and clearing the default rate")
+  void shouldRejectInvalidRates() {
+    AccessLogSampler sampler = sampler(1.0, null, true);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> sampler.setSampleRate("getPatientById", 1.5));
+    assertThrows(IllegalArgumentException.class,
+        () -> sampler.setSampleRate("getPatientById", -0.1));
+    assertThrows(IllegalArgumentException.class,
+        () -> sampler.setSampleRate(AccessLogSampler.DEFAULT, null));
+    assertThrows(IllegalArgumentException.class,
+        () -> sampler(2.0, null, true));
+  }
+
+  private static AccessLogSampler sampler(final double sampleRate,
+      final Map<String, Double> sampleRates, final boolean alwaysLogErrors) {
+    return new AccessLogSampler(
+        new AccessLogProperties(sampleRate, sampleRates, alwaysLogErrors, 100));
+  }
+
+}
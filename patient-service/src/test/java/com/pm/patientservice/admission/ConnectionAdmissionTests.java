@@ -0,0 +1,102 @@
+package com.pm.patientservice.admission;
+
+import static com.pm.patientservice.admission.ConnectionAdmission.REASON_QUEUE_FULL;
+import static com.pm.patientservice.admission.ConnectionAdmission.REASON_TIMEOUT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.pm.patientservice.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConnectionAdmissionTests {
+
+  private static final Duration RETRY_AFTER = Duration.ofSeconds(2);
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  @DisplayName("should admit up to the concurrency limit and free the slot on release")
+  void shouldAdmitUpToConcurrencyLimitAndFreeSlotOnRelease() {
+    ConnectionAdmission admission = admission(1, 0, Duration.ZERO);
+
+    assertTrue(admission.acquire());
+    assertEquals(1, admission.active());
+    assertEquals(1.0, meterRegistry.get("patient.admission.active").gauge().value());
+
+    admission.release();
+
+    assertEquals(0, admission.active());
+  }
+
+  @Test
+  @DisplayName("should not take a second slot for a nested call on the same thread")
+  void shouldNotTakeSecondSlotForNestedCall() {
+    ConnectionAdmission admission = admission(1, 0, Duration.ZERO);
+
+    assertTrue(admission.acquire());
+    assertFalse(admission.acquire());
+    assertEquals(1, admission.active());
+  }
+
+  @Test
+  @DisplayName("should shed at once with retry-after when the queue is full")
+  void shouldShedAtOnceWhenQueueIsFull() {
+    ConnectionAdmission admission = admission(1, 0, Duration.ofMinutes(1));
+    CompletableFuture.runAsync(admission::acquire).join();
+
+    ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+        admission::acquire);
+
+    assertEquals(RETRY_AFTER, ex.getRetryAfter());
+    assertEquals(1.0, rejected(REASON_QUEUE_FULL));
+  }
+
+  @Test
+  @DisplayName("should shed a queued call whose wait times out")
+  void shouldShedQueuedCallWhoseWaitTimesOut() {
+    ConnectionAdmission admission = admission(1, 1, Duration.ofMillis(50));
+    CompletableFuture.runAsync(admission::acquire).join();
+
+    assertThrows(ServiceOverloadedException.class, admission::acquire);
+
+    assertEquals(1.0, rejected(REASON_TIMEOUT));
+    assertEquals(0.0, meterRegistry.get("patient.admission.queued").gauge().value());
+  }
+
+  @Test
+  @DisplayName("should admit a queued call once a slot is released")
+  void shouldAdmitQueuedCallOnceSlotIsReleased() {
+    ConnectionAdmission admission = admission(1, 1, Duration.ofSeconds(10));
+    assertTrue(admission.acquire());
+
+    CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(admission::acquire);
+    admission.release();
+
+    assertTrue(queued.join());
+  }
+
+  private ConnectionAdmission admission(final int maxConcurrent, final int maxQueued,
+      final Duration queueTimeout) {
+    return new ConnectionAdmission(
+        new AdmissionProperties(maxConcurrent, maxQueued, queueTimeout, RETRY_AFTER),
+        meterRegistry);
+  }
+
+  private double rejected(final String reason) {
+    return meterRegistry.get("patient.admission.rejected").tag("reason", reason).counter()
+        .count();
+  }
+
+}
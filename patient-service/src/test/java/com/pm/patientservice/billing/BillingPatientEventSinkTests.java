@@ -0,0 +1,227 @@
+package com.pm.patientservice.billing;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.pm.billingservice.grpc.v1.BillingAccountRequest;
+import com.pm.billingservice.grpc.v1.BillingAccountResponse;
+import com.pm.billingservice.grpc.v1.BillingServiceGrpc;
+import com.pm.patientservice.outbox.PatientEvent;
+import com.pm.patientservice.outbox.PatientEventSinkUnavailableException;
+import com.pm.patientservice.outbox.PatientEventType;
+import com.pm.patientservice.outbox.PatientOutboxMessage;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.binder.grpc.MetricCollectingClientInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BillingPatientEventSinkTests {
+
+  private static final Duration DEADLINE = Duration.ofMillis(500);
+
+  private FakeBillingService billingService;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private Server server;
+
+  private ManagedChannel channel;
+
+  private BillingPatientEventSink sink;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    BillingClientProperties properties = new BillingClientProperties("in-process", DEADLINE,
+        Duration.ofSeconds(5), Duration.ofSeconds(30), Duration.ofSeconds(10),
+        Duration.ofMinutes(5), 3, Duration.ofMillis(10), Duration.ofMillis(100), null);
+    String name = InProcessServerBuilder.generateName();
+    billingService = new FakeBillingService();
+    meterRegistry = new SimpleMeterRegistry();
+    server = InProcessServerBuilder.forName(name).directExecutor().addService(billingService)
+        .build().start();
+    channel = InProcessChannelBuilder.forName(name)
+        .directExecutor()
+        .defaultServiceConfig(BillingClient.serviceConfig(properties))
+        .enableRetry()
+        .intercept(new MetricCollectingClientInterceptor(meterRegistry))
+        .build();
+    sink = new BillingPatientEventSink(new BillingClient(channel, properties));
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  @DisplayName("should send a batch of created patients over one streaming call in order")
+  void shouldSendBatchOfCreatedPatientsOverOneStreamingCall() throws Exception {
+    List<PatientOutboxMessage> batch = List.of(message(1, PatientEventType.CREATED),
+        message(2, PatientEventType.UPDATED), message(3, PatientEventType.CREATED),
+        message(4, PatientEventType.CREATED));
+
+    sink.publish(batch);
+
+    assertEquals(1, billingService.streamingCalls.get());
+    assertEquals(0, billingService.unaryCalls.get());
+    assertEquals(List.of("1", "3", "4"), billingService.received.stream()
+        .map(BillingAccountRequest::getRequestId)
+        .toList());
+    assertEquals(1, meterRegistry.get("grpc.client.processing.duration")
+        .tag("method", "CreateBillingAccounts")
+        .tag("statusCode", "OK")
+        .timer().count());
+  }
+
+  @Test
+  @DisplayName("should not call billing-service when the batch has no created patients")
+  void shouldNotCallBillingServiceWithoutCreatedPatients() throws Exception {
+    sink.publish(List.of(message(1, PatientEventType.DELETED)));
+
+    assertEquals(0, billingService.unaryCalls.get() + billingService.streamingCalls.get());
+  }
+
+  @Test
+  @DisplayName("should retry a single creation when billing-service is unavailable")
+  void shouldRetrySingleCreationWhenUnavailable() throws Exception {
+    billingService.failuresLeft.set(2);
+
+    sink.publish(List.of(message(1, PatientEventType.CREATED)));
+
+    assertEquals(3, billingService.unaryCalls.get());
+    assertEquals(1, billingService.received.size());
+  }
+
+  @Test
+  @DisplayName("should fail the publish once the retries are used up")
+  void shouldFailPublishOnceRetriesAreUsedUp() {
+    billingService.failuresLeft.set(Integer.MAX_VALUE);
+
+    PatientEventSinkUnavailableException ex = assertThrows(
+        PatientEventSinkUnavailableException.class,
+        () -> sink.publish(List.of(message(1, PatientEventType.CREATED))));
+
+    assertEquals(Status.Code.UNAVAILABLE, Status.fromThrowable(ex).getCode());
+    assertEquals(3, billingService.unaryCalls.get());
+  }
+
+  @Test
+  @DisplayName("should fail the publish when billing-service does not answer within the deadline")
+  void shouldFailPublishWhenDeadlinePasses() {
+    billingService.stall = true;
+    long start = System.nanoTime();
+
+    PatientEventSinkUnavailableException ex = assertThrows(
+        PatientEventSinkUnavailableException.class,
+        () -> sink.publish(List.of(message(1, PatientEventType.CREATED))));
+
+    assertEquals(Status.Code.DEADLINE_EXCEEDED, Status.fromThrowable(ex).getCode());
+    assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(DEADLINE.multipliedBy(4)) < 0);
+  }
+
+  @Test
+  @DisplayName("should drop a creation billing-service rejects as invalid instead of failing")
+  void shouldDropCreationRejectedAsInvalid() {
+    billingService.reject = true;
+
+    assertDoesNotThrow(() -> sink.publish(List.of(message(1, PatientEventType.CREATED))));
+    assertEquals(1, billingService.unaryCalls.get());
+  }
+
+  private static PatientOutboxMessage message(final long id, final PatientEventType type) {
+    return new PatientOutboxMessage(id, 0, new PatientEvent(type, UUID.randomUUID(), 0L,
+        "Patient " + id, "patient" + id + "@example.com", "Address " + id,
+        LocalDate.of(1990, 1, 1), LocalDate.now(), Instant.now()));
+  }
+
+  /**
+   * billing-service stand-in recording what it receives.
+   */
+  private static final class FakeBillingService extends BillingServiceGrpc.BillingServiceImplBase {
+
+    private final List<BillingAccountRequest> received = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger unaryCalls = new AtomicInteger();
+
+    private final AtomicInteger streamingCalls = new AtomicInteger();
+
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    private volatile boolean stall;
+
+    private volatile boolean reject;
+
+    @Override
+    public void createBillingAccount(final BillingAccountRequest request,
+        final StreamObserver<BillingAccountResponse> responseObserver) {
+      unaryCalls.incrementAndGet();
+      if (stall) {
+        return;
+      }
+      if (failuresLeft.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+        responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+        return;
+      }
+      if (reject) {
+        responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("Name is required")
+            .asRuntimeException());
+        return;
+      }
+      received.add(request);
+      responseObserver.onNext(created(request));
+      responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<BillingAccountRequest> createBillingAccounts(
+        final StreamObserver<BillingAccountResponse> responseObserver) {
+      streamingCalls.incrementAndGet();
+      return new StreamObserver<>() {
+        @Override
+        public void onNext(final BillingAccountRequest request) {
+          received.add(request);
+          responseObserver.onNext(created(request));
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+        }
+
+        @Override
+        public void onCompleted() {
+          responseObserver.onCompleted();
+        }
+      };
+    }
+
+    private static BillingAccountResponse created(final BillingAccountRequest request) {
+      return BillingAccountResponse.newBuilder()
+          .setRequestId(request.getRequestId())
+          .setPatientId(request.getPatientId())
+          .setAccountId(UUID.randomUUID().toString())
+          .setStatus(BillingAccountResponse.Status.CREATED)
+          .build();
+    }
+
+  }
+
+}
@@ -0,0 +1,207 @@
+package com.pm.patientservice.cache;
+
+import static com.pm.patientservice.configuration.CacheConfiguration.PATIENTS_BY_EMAIL_CACHE;
+import static com.pm.patientservice.configuration.CacheConfiguration.PATIENTS_BY_ID_CACHE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.pm.patientservice.datasource.ReadYourWrites;
+import com.pm.patientservice.model.dto.PatientDTO;
+import com.pm.patientservice.utility.UtilityService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class PatientCacheTests {
+
+  private ConcurrentMapCacheManager cacheManager;
+
+  private PatientCache patientCache;
+
+  private PatientDTO patient;
+
+  @BeforeEach
+  void setUp() {
+    cacheManager = new ConcurrentMapCacheManager(PATIENTS_BY_ID_CACHE, PATIENTS_BY_EMAIL_CACHE);
+    patientCache = new PatientCache(cacheManager);
+    patient = UtilityService.buildRandomPatientDTO();
+    patient.setId(UUID.randomUUID());
+    patient.setVersion(1L);
+  }
+
+  @Test
+  @DisplayName("should return cached patient by both ID and email")
+  void shouldReturnCachedPatientByBothIdAndEmail() {
+    patientCache.put(patient);
+
+    assertEquals(patient, patientCache.getById(patient.getId()).orElseThrow());
+    assertEquals(patient, patientCache.getByEmail(patient.getEmail()).orElseThrow());
+  }
+
+  @Test
+  @DisplayName("should evict both keys when evicting by ID")
+  void shouldEvictBothKeysWhenEvictingById() {
+    patientCache.put(patient);
+
+    patientCache.evict(patient.getId());
+
+    assertTrue(patientCache.getById(patient.getId()).isEmpty());
+    assertTrue(patientCache.getByEmail(patient.getEmail()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("should not serve old email once the patient is cached with a new email")
+  void shouldNotServeOldEmailOnceThePatientIsCachedWithNewEmail() {
+    patientCache.put(patient);
+    String oldEmail = patient.getEmail();
+
+    PatientDTO updated = UtilityService.buildRandomPatientDTO();
+    updated.setId(patient.getId());
+    updated.setVersion(2L);
+    patientCache.put(updated);
+
+    assertTrue(patientCache.getByEmail(oldEmail).isEmpty());
+    assertEquals(updated, patientCache.getByEmail(updated.getEmail()).orElseThrow());
+  }
+
+  @Test
+  @DisplayName("should repeat evictions after the replica eviction delay")
+  void shouldRepeatEvictionsAfterReplicaEvictionDelay() throws InterruptedException {
+    patientCache = new PatientCache(cacheManager, Duration.ofMillis(50));
+    patientCache.put(patient);
+    patientCache.evict(patient.getId(), 2L);
+
+    // Once the size bound dropped the tombstone, a miss served by a lagging replica caches the
+    // patient again before it has replayed the write
+    cacheManager.getCache(PATIENTS_BY_ID_CACHE).clear();
+    patientCache.put(patient);
+    assertTrue(patientCache.getById(patient.getId()).isPresent());
+
+    Thread.sleep(500);
+    assertTrue(patientCache.getById(patient.getId()).isEmpty());
+    assertTrue(patientCache.getByEmail(patient.getEmail()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("should not cache a patient read before a concurrent update was evicted")
+  void shouldNotCachePatientReadBeforeConcurrentUpdateWasEvicted() {
+    // The reader loaded version 1, then the update to version 2 committed and evicted
+    patientCache.evict(patient.getId(), 2L);
+    patientCache.put(patient);
+
+    assertTrue(patientCache.getById(patient.getId()).isEmpty());
+    assertTrue(patientCache.getByEmail(patient.getEmail()).isEmpty());
+
+    PatientDTO updated = UtilityService.buildRandomPatientDTO();
+    updated.setId(patient.getId());
+    updated.setVersion(2L);
+    patientCache.put(updated);
+    assertEquals(updated, patientCache.getById(patient.getId()).orElseThrow());
+  }
+
+  @Test
+  @DisplayName("should keep the newer version when an older one is put")
+  void shouldKeepNewerVersionWhenOlderOneIsPut() {
+    PatientDTO updated = UtilityService.buildRandomPatientDTO();
+    updated.setId(patient.getId());
+    updated.setVersion(2L);
+    patientCache.put(updated);
+
+    patientCache.put(patient);
+
+    assertEquals(updated, patientCache.getById(patient.getId()).orElseThrow());
+    assertTrue(patientCache.getByEmail(patient.getEmail()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("should not cache a deleted patient again")
+  void shouldNotCacheDeletedPatientAgain() {
+    patientCache.evict(patient.getId());
+
+    patientCache.put(patient);
+
+    assertTrue(patientCache.getById(patient.getId()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("should never end up holding a version read before a concurrent update")
+  void shouldNeverHoldVersionReadBeforeConcurrentUpdate() throws Exception {
+    for (int round = 0; round < 200; round++) {
+      PatientDTO read = UtilityService.buildRandomPatientDTO();
+      read.setId(UUID.randomUUID());
+      read.setVersion(1L);
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> readers = new ArrayList<>();
+      try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+        for (int i = 0; i < 3; i++) {
+          readers.add(executor.submit(() -> {
+            start.await();
+            patientCache.put(read);
+            return null;
+          }));
+        }
+        Future<?> writer = executor.submit(() -> {
+          start.await();
+          patientCache.evict(read.getId(), 2L);
+          return null;
+        });
+        start.countDown();
+        writer.get();
+        for (Future<?> reader : readers) {
+          reader.get();
+        }
+      }
+
+      assertTrue(patientCache.getById(read.getId()).isEmpty(), "round " + round);
+    }
+  }
+
+  @Test
+  @DisplayName("should not cache patients read inside a read-write transaction")
+  void shouldNotCachePatientsReadInsideReadWriteTransaction() {
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    try {
+      patientCache.put(patient);
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    assertTrue(patientCache.getById(patient.getId()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("should bypass cached patients while pinned to the primary")
+  void shouldBypassCachedPatientsWhilePinnedToPrimary() {
+    patientCache.put(patient);
+
+    ReadYourWrites.pinToPrimary();
+    try {
+      assertTrue(patientCache.getById(patient.getId()).isEmpty());
+      assertTrue(patientCache.getByEmail(patient.getEmail()).isEmpty());
+    } finally {
+      ReadYourWrites.release();
+    }
+
+    assertEquals(patient, patientCache.getById(patient.getId()).orElseThrow());
+  }
+
+  @Test
+  @DisplayName("should fail fast when a patient cache is not configured")
+  void shouldFailFastWhenPatientCacheIsNotConfigured() {
+    ConcurrentMapCacheManager partial = new ConcurrentMapCacheManager(PATIENTS_BY_ID_CACHE);
+
+    assertThrows(IllegalStateException.class, () -> new PatientCache(partial));
+  }
+
+}
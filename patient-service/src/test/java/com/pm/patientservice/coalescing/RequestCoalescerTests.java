@@ -0,0 +1,165 @@
+package com.pm.patientservice.coalescing;
+
+import static com.pm.patientservice.coalescing.RequestCoalescer.ROLE_FOLLOWER;
+import static com.pm.patientservice.coalescing.RequestCoalescer.ROLE_LEADER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.pm.patientservice.exception.PatientNotFoundException;
+import com.pm.patientservice.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RequestCoalescerTests {
+
+  private static final Duration RETRY_AFTER = Duration.ofSeconds(3);
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  @DisplayName("should run concurrent identical calls once and share the result")
+  void shouldRunConcurrentIdenticalCallsOnceAndShareResult() throws Exception {
+    RequestCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    int callers = 50;
+
+    List<CompletableFuture<Object>> results = new ArrayList<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < callers; i++) {
+        results.add(CompletableFuture.supplyAsync(() -> call(coalescer, "key", () -> {
+          executions.incrementAndGet();
+          release.await();
+          return "patient";
+        }), executor));
+      }
+      awaitFollowers(callers - 1);
+      release.countDown();
+    }
+
+    assertEquals(1, executions.get());
+    for (CompletableFuture<Object> result : results) {
+      assertEquals("patient", result.join());
+    }
+    assertEquals(1.0, meterRegistry.get("patient.coalescing.calls").tag("role", ROLE_LEADER)
+        .counter().count());
+  }
+
+  @Test
+  @DisplayName("should run calls with different keys independently")
+  void shouldRunCallsWithDifferentKeysIndependently() throws Throwable {
+    RequestCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+
+    assertEquals("a", coalescer.execute("a", () -> "a"));
+    assertEquals("b", coalescer.execute("b", () -> "b"));
+    assertEquals(2.0, meterRegistry.get("patient.coalescing.calls").tag("role", ROLE_LEADER)
+        .counter().count());
+  }
+
+  @Test
+  @DisplayName("should run the call again once the previous one has completed")
+  void shouldRunCallAgainOncePreviousOneCompleted() throws Throwable {
+    RequestCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+    AtomicInteger executions = new AtomicInteger();
+
+    coalescer.execute("key", executions::incrementAndGet);
+    coalescer.execute("key", executions::incrementAndGet);
+
+    assertEquals(2, executions.get());
+    assertEquals(0.0, meterRegistry.get("patient.coalescing.in_flight").gauge().value());
+  }
+
+  @Test
+  @DisplayName("should hand the leading call's exception to every joined caller")
+  void shouldHandLeadingCallsExceptionToJoinedCallers() throws Exception {
+    RequestCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+    CountDownLatch release = new CountDownLatch(1);
+    PatientNotFoundException notFound = new PatientNotFoundException("Patient not found");
+
+    CompletableFuture<Object> leader = CompletableFuture.supplyAsync(
+        () -> call(coalescer, "key", () -> {
+          release.await();
+          throw notFound;
+        }));
+    awaitInFlight();
+    CompletableFuture<Object> follower = CompletableFuture.supplyAsync(
+        () -> call(coalescer, "key", () -> "not run"));
+    awaitFollowers(1);
+    release.countDown();
+
+    assertSame(notFound, assertThrows(Exception.class, leader::join).getCause());
+    assertSame(notFound, assertThrows(Exception.class, follower::join).getCause());
+  }
+
+  @Test
+  @DisplayName("should shed a joined caller with retry-after when the leading call is too slow")
+  void shouldShedJoinedCallerWhenLeadingCallIsTooSlow() throws Exception {
+    RequestCoalescer coalescer = coalescer(Duration.ofMillis(50));
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Object> leader = CompletableFuture.supplyAsync(
+        () -> call(coalescer, "key", () -> {
+          release.await();
+          return "patient";
+        }));
+    awaitInFlight();
+
+    ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+        () -> coalescer.execute("key", () -> "not run"));
+    release.countDown();
+
+    assertEquals(RequestCoalescer.ERROR_MESSAGE_TIMEOUT, ex.getMessage());
+    assertEquals(RETRY_AFTER, ex.getRetryAfter());
+    assertEquals("patient", leader.get(5, TimeUnit.SECONDS));
+    assertEquals(1.0, meterRegistry.get("patient.coalescing.timeouts").counter().count());
+  }
+
+  private RequestCoalescer coalescer(final Duration timeout) {
+    return new RequestCoalescer(new CoalescingProperties(timeout, RETRY_AFTER), meterRegistry);
+  }
+
+  private static Object call(final RequestCoalescer coalescer, final Object key,
+      final RequestCoalescer.Execution execution) {
+    try {
+      return coalescer.execute(key, execution);
+    } catch (RuntimeException ex) {
+      throw ex;
+    } catch (Throwable t) {
+      throw new IllegalStateException(t);
+    }
+  }
+
+  private void awaitInFlight() throws InterruptedException {
+    while (meterRegistry.get("patient.coalescing.in_flight").gauge().value() < 1) {
+      Thread.sleep(1);
+    }
+  }
+
+  private void awaitFollowers(final int followers) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (meterRegistry.get("patient.coalescing.calls").tag("role", ROLE_FOLLOWER).counter()
+        .count() < followers) {
+      assertTrue(System.nanoTime() < deadline, "Callers did not join the running call");
+      Thread.sleep(1);
+    }
+  }
+
+}
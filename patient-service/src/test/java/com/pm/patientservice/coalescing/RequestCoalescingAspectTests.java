@@ -0,0 +1,65 @@
+package com.pm.patientservice.coalescing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.pm.patientservice.datasource.ReadYourWrites;
+import com.pm.patientservice.metrics.PatientMetrics;
+import java.util.UUID;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RequestCoalescingAspectTests {
+
+  private RequestCoalescer requestCoalescer;
+
+  private ProceedingJoinPoint joinPoint;
+
+  private RequestCoalescingAspect aspect;
+
+  @BeforeEach
+  void setUp() throws Throwable {
+    requestCoalescer = mock(RequestCoalescer.class);
+    joinPoint = mock(ProceedingJoinPoint.class);
+    MethodSignature signature = mock(MethodSignature.class);
+    when(signature.getMethod()).thenReturn(Object.class.getMethod("toString"));
+    when(joinPoint.getSignature()).thenReturn(signature);
+    when(joinPoint.getArgs()).thenReturn(new Object[] {UUID.randomUUID()});
+    when(joinPoint.proceed()).thenReturn("patient");
+    aspect = new RequestCoalescingAspect(requestCoalescer, mock(PatientMetrics.class));
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReadYourWrites.release();
+  }
+
+  @Test
+  @DisplayName("should coalesce a call that is not pinned to the primary")
+  void shouldCoalesceCallNotPinnedToPrimary() throws Throwable {
+    when(requestCoalescer.execute(any(), any())).thenReturn("shared");
+
+    assertEquals("shared", aspect.coalesce(joinPoint));
+    verify(joinPoint, times(0)).proceed();
+  }
+
+  @Test
+  @DisplayName("should run a call pinned to the primary on its own")
+  void shouldRunCallPinnedToPrimaryOnItsOwn() throws Throwable {
+    ReadYourWrites.pinToPrimary();
+
+    assertEquals("patient", aspect.coalesce(joinPoint));
+    verify(joinPoint, times(1)).proceed();
+    verifyNoInteractions(requestCoalescer);
+  }
+
+}
@@ -3,29 +3,56 @@ package com.pm.patientservice.controller;
 import static com.pm.patientservice.service.PatientService.ERROR_MESSAGE_ALREADY_EXISTS_BY_EMAIL_ID;
 import static com.pm.patientservice.service.PatientService.ERROR_MESSAGE_NOT_FOUND_BY_ID;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.pm.patientservice.exception.PatientNotFoundException;
+import com.pm.patientservice.exception.PatientVersionMismatchException;
+import com.pm.patientservice.model.dto.PatientBatchGetRequest;
+import com.pm.patientservice.model.dto.PatientBatchGetResultDTO;
 import com.pm.patientservice.model.dto.PatientDTO;
+import com.pm.patientservice.model.dto.PatientImportResultDTO;
+import com.pm.patientservice.model.dto.PatientImportResultDTO.Status;
+import com.pm.patientservice.model.dto.PatientMatchDTO;
+import com.pm.patientservice.model.dto.PatientPageDTO;
+import com.pm.patientservice.model.dto.PatientSearchCriteria;
+import com.pm.patientservice.service.PatientImportService;
+import com.pm.patientservice.service.PatientSearchSort;
 import com.pm.patientservice.service.PatientService;
 import com.pm.patientservice.utility.UtilityService;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(controllers = PatientController.class)
 class PatientControllerTests {
@@ -35,6 +62,9 @@ class PatientControllerTests {
   @MockitoBean
   private PatientService patientService;
 
+  @MockitoBean
+  private PatientImportService patientImportService;
+
 
   @Autowired
   PatientControllerTests(MockMvc mockMvc) {
@@ -73,6 +103,104 @@ class PatientControllerTests {
     verify(patientService, times(1)).getAllPatients();
   }
 
+  @Test
+  @DisplayName("should return page of patients with next cursor")
+  void shouldReturnPageOfPatientsWithNextCursor() throws Exception {
+    List<PatientDTO> expectedDTOs = Stream.generate(UtilityService::buildRandomPatientDTO)
+        .limit(2)
+        .collect(Collectors.toList());
+
+    when(patientService.getPatientsPage("cursor", 2))
+        .thenReturn(new PatientPageDTO(expectedDTOs, "next-cursor"));
+
+    mockMvc.perform(get("/patients/page").param("cursor", "cursor").param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.patients", hasSize(2)))
+        .andExpect(jsonPath("$.data.next").value("next-cursor"))
+        .andExpect(jsonPath("$.success").value(true));
+
+    verify(patientService, times(1)).getPatientsPage("cursor", 2);
+  }
+
+  @Test
+  @DisplayName("should search patients with filters and ordering")
+  void shouldSearchPatientsWithFiltersAndOrdering() throws Exception {
+    List<PatientDTO> expectedDTOs = Stream.generate(UtilityService::buildRandomPatientDTO)
+        .limit(2)
+        .collect(Collectors.toList());
+    PatientSearchCriteria criteria = new PatientSearchCriteria("smi", LocalDate.of(1980, 1, 1),
+        null, null, LocalDate.of(2024, 12, 31), "main");
+
+    when(patientService.searchPatients(criteria, PatientSearchSort.DATE_OF_BIRTH,
+        Sort.Direction.DESC, null, 2)).thenReturn(new PatientPageDTO(expectedDTOs, "next-cursor"));
+
+    mockMvc.perform(get("/patients/search")
+            .param("name", "smi")
+            .param("address", "main")
+            .param("dateOfBirthFrom", "1980-01-01")
+            .param("registeredTo", "2024-12-31")
+            .param("sort", "DATE_OF_BIRTH")
+            .param("direction", "DESC")
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.patients", hasSize(2)))
+        .andExpect(jsonPath("$.data.next").value("next-cursor"));
+
+    verify(patientService, times(1)).searchPatients(criteria, PatientSearchSort.DATE_OF_BIRTH,
+        Sort.Direction.DESC, null, 2);
+  }
+
+  @Test
+  @DisplayName("should return fuzzy name matches most similar first")
+  void shouldReturnFuzzyNameMatchesMostSimilarFirst() throws Exception {
+    List<PatientMatchDTO> matches = List.of(
+        new PatientMatchDTO(UUID.randomUUID(), "Jonathan Smith", "jonathan@example.com",
+            LocalDate.of(1980, 2, 3), 0.8),
+        new PatientMatchDTO(UUID.randomUUID(), "Jonathon Smyth", "jonathon@example.com",
+            LocalDate.of(1975, 6, 7), 0.5));
+
+    when(patientService.fuzzySearchByName("jonathan smiht", 0.4, 10)).thenReturn(matches);
+
+    mockMvc.perform(get("/patients/search/fuzzy").param("name", "jonathan smiht"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data", hasSize(2)))
+        .andExpect(jsonPath("$.data[0].name").value("Jonathan Smith"))
+        .andExpect(jsonPath("$.data[0].dateOfBirth").value("1980-02-03"));
+  }
+
+  @Test
+  @DisplayName("should stream all patients as newline-delimited JSON")
+  void shouldStreamAllPatientsAsNewlineDelimitedJson() throws Exception {
+    List<PatientDTO> expectedDTOs = Stream.generate(UtilityService::buildRandomPatientDTO)
+        .limit(3)
+        .collect(Collectors.toList());
+
+    when(patientService.exportPatients(any())).thenAnswer(invocation -> {
+      Consumer<PatientDTO> consumer = invocation.getArgument(0);
+      expectedDTOs.forEach(consumer);
+      return (long) expectedDTOs.size();
+    });
+
+    MvcResult result = mockMvc.perform(get("/patients/export"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String body = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+
+    List<String> lines = body.lines().toList();
+    assertEquals(expectedDTOs.size(), lines.size());
+    for (int i = 0; i < lines.size(); i++) {
+      assertEquals(expectedDTOs.get(i).getEmail(),
+          UtilityService.convertJsonStringToObject(lines.get(i), PatientDTO.class).getEmail());
+    }
+    verify(patientService, times(1)).exportPatients(any());
+  }
+
   @Test
   @DisplayName("should return patient by id")
   void shouldReturnPatientById() throws Exception {
@@ -87,7 +215,99 @@ class PatientControllerTests {
         .andExpect(jsonPath("$.data.id").value(id.toString()))
         .andExpect(jsonPath("$.success").value(true))
         .andExpect(jsonPath("$.message").value("Operation successful"))
-        .andExpect(jsonPath("$.data.email").value(expectedDTO.getEmail()));
+        .andExpect(jsonPath("$.data.email").value(expectedDTO.getEmail()))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"" + expectedDTO.getVersion() + "\""));
+  }
+
+  @Test
+  @DisplayName("should return 304 without loading the patient when If-None-Match is current")
+  void shouldReturn304WithoutLoadingPatientWhenIfNoneMatchIsCurrent() throws Exception {
+    UUID id = UUID.randomUUID();
+
+    when(patientService.getPatientVersion(id)).thenReturn(7L);
+
+    mockMvc.perform(get("/patients/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"7\""))
+        .andExpect(content().string(""));
+
+    verify(patientService, times(0)).getPatientById(id);
+  }
+
+  @Test
+  @DisplayName("should return the patient when If-None-Match is stale")
+  void shouldReturnPatientWhenIfNoneMatchIsStale() throws Exception {
+    UUID id = UUID.randomUUID();
+    PatientDTO expectedDTO = UtilityService.buildRandomPatientDTO();
+    expectedDTO.setId(id);
+    expectedDTO.setVersion(8L);
+
+    when(patientService.getPatientVersion(id)).thenReturn(8L);
+    when(patientService.getPatientById(id)).thenReturn(expectedDTO);
+
+    mockMvc.perform(get("/patients/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"8\""))
+        .andExpect(jsonPath("$.data.id").value(id.toString()));
+  }
+
+  @Test
+  @DisplayName("should pass the If-Match version through when updating a patient")
+  void shouldPassIfMatchVersionThroughWhenUpdatingPatient() throws Exception {
+    UUID id = UUID.randomUUID();
+    PatientDTO patientDTO = UtilityService.buildRandomPatientDTO();
+    PatientDTO updatedDTO = UtilityService.buildRandomPatientDTO();
+    updatedDTO.setId(id);
+    updatedDTO.setVersion(4L);
+
+    when(patientService.updatePatient(eq(id), any(PatientDTO.class), eq(Set.of(3L))))
+        .thenReturn(updatedDTO);
+
+    mockMvc.perform(put("/patients/{id}", id)
+            .header(HttpHeaders.IF_MATCH, "\"3\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(UtilityService.convertObjectToJsonString(patientDTO)))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+  }
+
+  @Test
+  @DisplayName("should answer 412 when If-Match names only a weak tag")
+  void shouldAnswer412WhenIfMatchNamesOnlyWeakTag() throws Exception {
+    UUID id = UUID.randomUUID();
+    when(patientService.updatePatient(eq(id), any(PatientDTO.class), eq(Set.of())))
+        .thenThrow(new PatientVersionMismatchException("Patient is at another version"));
+
+    mockMvc.perform(put("/patients/{id}", id)
+            .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(UtilityService.convertObjectToJsonString(
+                UtilityService.buildRandomPatientDTO())))
+        .andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  @DisplayName("should pass every strong If-Match version of a list through when deleting")
+  void shouldPassEveryStrongIfMatchVersionOfListThroughWhenDeleting() throws Exception {
+    UUID id = UUID.randomUUID();
+
+    mockMvc.perform(delete("/patients/{id}", id)
+            .header(HttpHeaders.IF_MATCH, "\"3\", W/\"4\", \"abc\", \"5\""))
+        .andExpect(status().isAccepted());
+
+    verify(patientService, times(1)).deletePatient(id, Set.of(3L, 5L));
+  }
+
+  @Test
+  @DisplayName("should answer 400 when If-Match cannot be parsed")
+  void shouldAnswer400WhenIfMatchCannotBeParsed() throws Exception {
+    UUID id = UUID.randomUUID();
+
+    mockMvc.perform(delete("/patients/{id}", id)
+            .header(HttpHeaders.IF_MATCH, "3"))
+        .andExpect(status().isBadRequest());
+
+    verify(patientService, times(0)).deletePatient(any(), any());
   }
 
   @Test
@@ -125,6 +345,49 @@ class PatientControllerTests {
     verify(patientService, times(1)).getPatientByEmail(email);
   }
 
+  @Test
+  @DisplayName("should batch-get patients with the missing keys")
+  void shouldBatchGetPatientsWithMissingKeys() throws Exception {
+    PatientDTO patientDTO = UtilityService.buildRandomPatientDTO();
+    patientDTO.setId(UUID.randomUUID());
+    UUID missingId = UUID.randomUUID();
+    List<UUID> ids = List.of(patientDTO.getId(), missingId);
+    List<String> emails = List.of("nobody@example.com");
+
+    when(patientService.batchGetPatients(ids, emails)).thenReturn(
+        new PatientBatchGetResultDTO(List.of(patientDTO), List.of(missingId), emails));
+
+    mockMvc.perform(post("/patients/batch-get")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(UtilityService.convertObjectToJsonString(
+                new PatientBatchGetRequest(ids, emails))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.patients", hasSize(1)))
+        .andExpect(jsonPath("$.data.patients[0].id").value(patientDTO.getId().toString()))
+        .andExpect(jsonPath("$.data.missingIds[0]").value(missingId.toString()))
+        .andExpect(jsonPath("$.data.missingEmails[0]").value("nobody@example.com"));
+
+    verify(patientService, times(1)).batchGetPatients(ids, emails);
+  }
+
+  @Test
+  @DisplayName("should reject a batch-get with too many IDs before resolving it")
+  void shouldRejectBatchGetWithTooManyIdsBeforeResolvingIt() throws Exception {
+    List<UUID> ids = Stream.generate(UUID::randomUUID)
+        .limit(PatientService.MAX_BATCH_GET_SIZE + 1)
+        .toList();
+
+    mockMvc.perform(post("/patients/batch-get")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(UtilityService.convertObjectToJsonString(
+                new PatientBatchGetRequest(ids, null))))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.data.ids").value(
+            "At most " + PatientService.MAX_BATCH_GET_SIZE + " IDs can be requested"));
+
+    verify(patientService, times(0)).batchGetPatients(any(), any());
+  }
+
   @Test
   @DisplayName("should return 404 when patient not found by email")
   void shouldReturn404WhenPatientNotFoundByEmail() throws Exception {
@@ -165,4 +428,54 @@ class PatientControllerTests {
     verify(patientService, times(1)).createPatient(any(PatientDTO.class));
   }
 
-}
\ No newline at end of file
+  @Test
+  @DisplayName("should import patients from a JSON array body")
+  void shouldImportPatientsFromJsonArrayBody() throws Exception {
+    List<PatientDTO> rows = Stream.generate(UtilityService::buildRandomPatientDTO)
+        .limit(3)
+        .collect(Collectors.toList());
+
+    when(patientImportService.importPatients(any())).thenAnswer(invocation -> {
+      Iterator<PatientDTO> patients = invocation.getArgument(0);
+      List<PatientImportResultDTO> results = new ArrayList<>();
+      patients.forEachRemaining(patient -> results.add(new PatientImportResultDTO(
+          results.size(), Status.CREATED, UUID.randomUUID(), patient.getEmail(), null)));
+      return results;
+    });
+
+    mockMvc.perform(post("/patients/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(UtilityService.convertObjectToJsonString(rows)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data", hasSize(3)))
+        .andExpect(jsonPath("$.data[2].email").value(rows.get(2).getEmail()))
+        .andExpect(jsonPath("$.data[2].status").value("CREATED"));
+  }
+
+  @Test
+  @DisplayName("should import patients from a newline-delimited JSON body")
+  void shouldImportPatientsFromNewlineDelimitedJsonBody() throws Exception {
+    List<PatientDTO> rows = Stream.generate(UtilityService::buildRandomPatientDTO)
+        .limit(2)
+        .collect(Collectors.toList());
+    String body = rows.stream()
+        .map(UtilityService::convertObjectToJsonString)
+        .collect(Collectors.joining("\n"));
+
+    when(patientImportService.importPatients(any())).thenAnswer(invocation -> {
+      Iterator<PatientDTO> patients = invocation.getArgument(0);
+      List<PatientImportResultDTO> results = new ArrayList<>();
+      patients.forEachRemaining(patient -> results.add(new PatientImportResultDTO(
+          results.size(), Status.CREATED, UUID.randomUUID(), patient.getEmail(), null)));
+      return results;
+    });
+
+    mockMvc.perform(post("/patients/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data", hasSize(2)))
+        .andExpect(jsonPath("$.data[1].email").value(rows.get(1).getEmail()));
+  }
+
+}
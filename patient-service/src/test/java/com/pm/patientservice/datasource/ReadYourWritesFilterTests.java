@@ -0,0 +1,101 @@
+package com.pm.patientservice.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ReadYourWritesFilterTests {
+
+  private static final Instant NOW = Instant.parse("2025-01-10T12:00:00Z");
+
+  private ReadYourWritesFilter filter;
+
+  private MockHttpServletResponse response;
+
+  private final AtomicBoolean pinnedDuringRequest = new AtomicBoolean();
+
+  private final FilterChain chain = (servletRequest, servletResponse) ->
+      pinnedDuringRequest.set(ReadYourWrites.isPinnedToPrimary());
+
+  @BeforeEach
+  void setUp() {
+    filter = new ReadYourWritesFilter(Duration.ofSeconds(5), Clock.fixed(NOW, ZoneOffset.UTC));
+    response = new MockHttpServletResponse();
+  }
+
+  @Test
+  @DisplayName("should pin a write to the primary and set the read-your-writes cookie")
+  void shouldPinWriteToPrimaryAndSetCookie() throws Exception {
+    filter.doFilter(new MockHttpServletRequest("PUT", "/patients/1"), response, chain);
+
+    Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+    assertNotNull(cookie);
+    assertEquals(Long.toString(NOW.plusSeconds(5).toEpochMilli()), cookie.getValue());
+    assertEquals(5, cookie.getMaxAge());
+    assertTrue(pinnedDuringRequest.get());
+    assertFalse(ReadYourWrites.isPinnedToPrimary());
+  }
+
+  @Test
+  @DisplayName("should pin a read to the primary while the cookie is fresh")
+  void shouldPinReadToPrimaryWhileCookieIsFresh() throws Exception {
+    filter.doFilter(read(NOW.plusSeconds(1)), response, chain);
+
+    assertTrue(pinnedDuringRequest.get());
+    assertNull(response.getCookie(ReadYourWritesFilter.COOKIE_NAME));
+    assertFalse(ReadYourWrites.isPinnedToPrimary());
+  }
+
+  @Test
+  @DisplayName("should let a read use replicas once the cookie has expired")
+  void shouldLetReadUseReplicasOnceCookieHasExpired() throws Exception {
+    filter.doFilter(read(NOW.minusMillis(1)), response, chain);
+
+    assertFalse(pinnedDuringRequest.get());
+  }
+
+  @Test
+  @DisplayName("should ignore a cookie pinning further ahead than the window")
+  void shouldIgnoreCookiePinningFurtherAheadThanWindow() throws Exception {
+    filter.doFilter(read(NOW.plusSeconds(5).plus(ReadYourWritesFilter.MAX_CLOCK_SKEW)), response,
+        chain);
+    assertTrue(pinnedDuringRequest.get());
+
+    filter.doFilter(read(NOW.plus(Duration.ofDays(365))), response, chain);
+    assertFalse(pinnedDuringRequest.get());
+  }
+
+  @Test
+  @DisplayName("should ignore a malformed cookie")
+  void shouldIgnoreMalformedCookie() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/patients");
+    request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "soon"));
+
+    filter.doFilter(request, response, chain);
+
+    assertFalse(pinnedDuringRequest.get());
+  }
+
+  private static MockHttpServletRequest read(final Instant pinnedUntil) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/patients");
+    request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+        Long.toString(pinnedUntil.toEpochMilli())));
+    return request;
+  }
+
+}
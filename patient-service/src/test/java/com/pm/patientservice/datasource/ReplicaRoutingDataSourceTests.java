@@ -0,0 +1,188 @@
+package com.pm.patientservice.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.pm.patientservice.configuration.TestContainersConfiguration;
+import com.pm.patientservice.model.entities.Patient;
+import com.pm.patientservice.model.projections.PatientView;
+import com.pm.patientservice.repository.PatientRepository;
+import com.pm.patientservice.utility.UtilityService;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Routes between two independent Testcontainers PostgreSQL databases standing in for a primary
+ * and its replica. They do not replicate, so which database answered a read shows where it was
+ * routed.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "patient.datasource.health-check-interval=1h",
+    "spring.jpa.show-sql=false"
+})
+@ContextConfiguration(classes = TestContainersConfiguration.class)
+class ReplicaRoutingDataSourceTests {
+
+  private static final String REPLICA = "patient-replica-0";
+
+  @Container
+  private static final PostgreSQLContainer<?> replica =
+      new PostgreSQLContainer<>(DockerImageName.parse("postgres:17.0"));
+
+  @Autowired
+  private PatientRepository patientRepository;
+
+  @Autowired
+  private ReplicaSet replicaSet;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  @Qualifier("primaryDataSource")
+  private DataSource primaryDataSource;
+
+  private JdbcTemplate primary;
+
+  private JdbcTemplate replicaOnly;
+
+  private TransactionTemplate readOnly;
+
+  @DynamicPropertySource
+  static void replicaProperties(final DynamicPropertyRegistry registry) {
+    registry.add("patient.datasource.replicas[0].url", replica::getJdbcUrl);
+    registry.add("patient.datasource.replicas[0].username", replica::getUsername);
+    registry.add("patient.datasource.replicas[0].password", replica::getPassword);
+  }
+
+  /**
+   * A real replica receives the schema through replication; this one is migrated directly.
+   */
+  @BeforeAll
+  static void migrateReplica() {
+    Flyway.configure()
+        .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+        .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+        .load()
+        .migrate();
+  }
+
+  @BeforeEach
+  void setUp() {
+    primary = new JdbcTemplate(primaryDataSource);
+    replicaOnly = new JdbcTemplate(new DriverManagerDataSource(replica.getJdbcUrl(),
+        replica.getUsername(), replica.getPassword()));
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    replicaSet.checkHealth();
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReadYourWrites.release();
+    primary.update("delete from patient");
+    replicaOnly.update("delete from patient");
+  }
+
+  @Test
+  @DisplayName("should admit a healthy replica that is within the lag limit")
+  void shouldAdmitHealthyReplicaWithinLagLimit() {
+    assertEquals(List.of(REPLICA), replicaSet.available());
+  }
+
+  @Test
+  @DisplayName("should send writes to the primary")
+  void shouldSendWritesToPrimary() {
+    UUID id = savePatient();
+
+    assertEquals(1, count(primary, id));
+    assertEquals(0, count(replicaOnly, id));
+  }
+
+  @Test
+  @DisplayName("should send read-only transactions to the replica")
+  void shouldSendReadOnlyTransactionsToReplica() {
+    UUID onPrimary = savePatient();
+    UUID onReplica = insertOnReplica();
+
+    assertTrue(findView(onReplica).isPresent());
+    assertTrue(findView(onPrimary).isEmpty());
+  }
+
+  @Test
+  @DisplayName("should keep read-only transactions on the primary while pinned")
+  void shouldKeepReadOnlyTransactionsOnPrimaryWhilePinned() {
+    UUID onPrimary = savePatient();
+
+    ReadYourWrites.pinToPrimary();
+
+    assertTrue(findView(onPrimary).isPresent());
+  }
+
+  @Test
+  @DisplayName("should fall back to the primary until an unavailable replica passes a check")
+  void shouldFallBackToPrimaryUntilUnavailableReplicaPassesCheck() {
+    UUID onPrimary = savePatient();
+
+    replicaSet.markUnavailable(REPLICA, new SQLException("Connection refused"));
+
+    assertTrue(replicaSet.available().isEmpty());
+    assertTrue(findView(onPrimary).isPresent());
+
+    replicaSet.checkHealth();
+
+    assertEquals(List.of(REPLICA), replicaSet.available());
+    assertTrue(findView(onPrimary).isEmpty());
+  }
+
+  private Optional<PatientView> findView(final UUID id) {
+    return readOnly.execute(status -> patientRepository.findViewById(id));
+  }
+
+  private UUID savePatient() {
+    Patient patient = UtilityService.buildRandomPatient();
+    patient.setId(null);
+    return patientRepository.save(patient).getId();
+  }
+
+  private UUID insertOnReplica() {
+    Patient patient = UtilityService.buildRandomPatient();
+    UUID id = UUID.randomUUID();
+    replicaOnly.update("insert into patient (id, name, email, address, date_of_birth, "
+            + "registered_date, version) values (?, ?, ?, ?, ?, ?, 0)", id, patient.getName(),
+        Patient.normalizeEmail(patient.getEmail()), patient.getAddress(),
+        patient.getDateOfBirth(), patient.getRegisteredDate());
+    return id;
+  }
+
+  private static int count(final JdbcTemplate jdbcTemplate, final UUID id) {
+    return jdbcTemplate.queryForObject("select count(*) from patient where id = ?",
+        Integer.class, id);
+  }
+
+}
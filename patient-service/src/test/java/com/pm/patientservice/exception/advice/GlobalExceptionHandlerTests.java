@@ -1,16 +1,24 @@
 package com.pm.patientservice.exception.advice;
 
 import static com.pm.patientservice.service.PatientService.ERROR_MESSAGE_ALREADY_EXISTS_BY_EMAIL_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.pm.patientservice.controller.PatientController;
+import com.pm.patientservice.admission.ConnectionAdmission;
+import com.pm.patientservice.exception.EmailAlreadyExistsException;
 import com.pm.patientservice.exception.PatientNotFoundException;
+import com.pm.patientservice.exception.ServiceOverloadedException;
 import com.pm.patientservice.model.dto.PatientDTO;
 import com.pm.patientservice.utility.UtilityService;
+import java.time.Duration;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -64,4 +72,47 @@ class GlobalExceptionHandlerTests {
             String.format(ERROR_MESSAGE_ALREADY_EXISTS_BY_EMAIL_ID, email)));
   }
 
+  @Test
+  @DisplayName("should return 503 with retry-after when the service is overloaded")
+  void shouldReturn503WithRetryAfterWhenServiceIsOverloaded() throws Exception {
+    String email = "tester@example.com";
+
+    when(patientController.getPatientByEmail(email))
+        .thenThrow(new ServiceOverloadedException(ConnectionAdmission.ERROR_MESSAGE_OVERLOADED,
+            Duration.ofSeconds(2)));
+
+    mockMvc.perform(get("/patients/email/{email}", email))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "2"))
+        .andExpect(jsonPath("$.success").value(false))
+        .andExpect(jsonPath("$.message").value(ConnectionAdmission.ERROR_MESSAGE_OVERLOADED));
+  }
+
+  @Test
+  @DisplayName("should return 500 with a generic message when an unexpected error occurs")
+  void shouldReturn500WithGenericMessageWhenUnexpectedErrorOccurs() throws Exception {
+    String email = "tester@example.com";
+
+    when(patientController.getPatientByEmail(email))
+        .thenThrow(new IllegalStateException("connection reset"));
+
+    mockMvc.perform(get("/patients/email/{email}", email))
+        .andExpect(status().isInternalServerError())
+        .andExpect(jsonPath("$.success").value(false))
+        .andExpect(jsonPath("$.message").value(
+            GlobalExceptionHandler.ERROR_MESSAGE_UNEXPECTED));
+  }
+
+  @Test
+  @DisplayName("should not capture stack traces for domain exceptions")
+  void shouldNotCaptureStackTracesForDomainExceptions() {
+    IllegalStateException cause = new IllegalStateException("duplicate key");
+
+    assertEquals(0, new PatientNotFoundException("not found").getStackTrace().length);
+    EmailAlreadyExistsException conflict = new EmailAlreadyExistsException("exists", cause);
+    assertEquals(0, conflict.getStackTrace().length);
+    assertSame(cause, conflict.getCause());
+    assertTrue(cause.getStackTrace().length > 0);
+  }
+
 }
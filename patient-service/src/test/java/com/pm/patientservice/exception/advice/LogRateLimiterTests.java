@@ -0,0 +1,45 @@
+package com.pm.patientservice.exception.advice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LogRateLimiterTests {
+
+  private final AtomicLong nanoTime = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+  @Test
+  @DisplayName("should let through the limit per second and count the rest as suppressed")
+  void shouldLetThroughLimitAndCountSuppressed() {
+    LogRateLimiter limiter = new LogRateLimiter(3, nanoTime::get);
+
+    assertTrue(limiter.tryAcquire());
+    assertTrue(limiter.tryAcquire());
+    nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+    assertTrue(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire());
+
+    assertEquals(2, limiter.drainSuppressed());
+    assertEquals(0, limiter.drainSuppressed());
+  }
+
+  @Test
+  @DisplayName("should let lines through again in the next second")
+  void shouldLetLinesThroughAgainInNextSecond() {
+    LogRateLimiter limiter = new LogRateLimiter(1, nanoTime::get);
+    assertTrue(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire());
+
+    nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+    assertTrue(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire());
+  }
+
+}
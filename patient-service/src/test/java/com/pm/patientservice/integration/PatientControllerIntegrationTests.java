@@ -1,8 +1,10 @@
 package com.pm.patientservice.integration;
 
+import static com.pm.patientservice.service.PatientService.ERROR_MESSAGE_ALREADY_EXISTS_BY_EMAIL_ID;
 import static com.pm.patientservice.service.PatientService.ERROR_MESSAGE_NOT_FOUND_BY_EMAIL_ID;
 import static com.pm.patientservice.service.PatientService.ERROR_MESSAGE_NOT_FOUND_BY_ID;
 import static com.pm.patientservice.utility.UtilityService.buildRandomPatientDTO;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItems;
@@ -12,7 +14,9 @@ import com.pm.patientservice.configuration.TestContainersConfiguration;
 import com.pm.patientservice.model.dto.PatientDTO;
 import com.pm.patientservice.utility.UtilityService;
 import io.restassured.RestAssured;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.BeforeEach;
@@ -94,6 +98,59 @@ class PatientControllerIntegrationTests {
         .body("success", equalTo(true));
   }
 
+  @Test
+  @DisplayName("should walk all patients page by page")
+  void should_WalkAllPatientsPageByPage() {
+    List<String> ids = Stream
+        .generate(UtilityService::buildRandomPatientDTO)
+        .limit(5)
+        .map(this::createPatientAndGetId)
+        .toList();
+
+    List<String> seen = new ArrayList<>();
+    String cursor = null;
+    do {
+      var request = RestAssured.given().queryParam("limit", 4);
+      if (cursor != null) {
+        request.queryParam("cursor", cursor);
+      }
+      var response = request
+          .when()
+          .get("/page")
+          .then()
+          .statusCode(HttpStatus.OK.value())
+          .body("success", equalTo(true))
+          .extract();
+      seen.addAll(response.path("data.patients.id"));
+      cursor = response.path("data.next");
+    } while (cursor != null);
+
+    assertThat(seen, hasItems(ids.toArray(new String[0])));
+    assertThat(seen.size(), equalTo(Set.copyOf(seen).size()));
+  }
+
+  @Test
+  @DisplayName("should export all patients as newline-delimited JSON")
+  void should_ExportAllPatientsAsNdjson() {
+    String id = createPatientAndGetId(buildRandomPatientDTO());
+
+    String body = RestAssured
+        .given()
+        .when()
+        .get("/export")
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .contentType("application/x-ndjson")
+        .extract()
+        .asString();
+
+    List<String> ids = body.lines()
+        .map(line -> UtilityService.convertJsonStringToObject(line, PatientDTO.class))
+        .map(patient -> patient.getId().toString())
+        .toList();
+    assertThat(ids, hasItems(id));
+  }
+
   @Test
   @DisplayName("should return patient by ID")
   void should_ReturnPatientById() {
@@ -134,6 +191,58 @@ class PatientControllerIntegrationTests {
     createPatientAndGetId(patientDTO);
   }
 
+  @Test
+  @DisplayName("should return 409 when creating a patient with an existing email")
+  void should_Return409WhenCreatingPatientWithExistingEmail() {
+    PatientDTO dto = buildRandomPatientDTO();
+    createPatientAndGetId(dto);
+
+    RestAssured
+        .given()
+        .contentType("application/json")
+        .body(dto)
+        .when()
+        .post()
+        .then()
+        .statusCode(HttpStatus.CONFLICT.value())
+        .body("message",
+            equalTo(String.format(ERROR_MESSAGE_ALREADY_EXISTS_BY_EMAIL_ID, dto.getEmail())))
+        .body("success", equalTo(false));
+  }
+
+  @Test
+  @DisplayName("should bulk import patients and report duplicates")
+  void should_BulkImportPatientsAndReportDuplicates() {
+    PatientDTO existing = buildRandomPatientDTO();
+    createPatientAndGetId(existing);
+    PatientDTO fresh = buildRandomPatientDTO();
+    String body = Stream.of(fresh, existing)
+        .map(UtilityService::convertObjectToJsonString)
+        .reduce("", (lines, line) -> lines + line + "\n");
+
+    String id = RestAssured
+        .given()
+        .contentType("application/x-ndjson")
+        .body(body)
+        .when()
+        .post("/bulk")
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("data[0].status", equalTo("CREATED"))
+        .body("data[1].status", equalTo("DUPLICATE"))
+        .body("success", equalTo(true))
+        .extract()
+        .path("data[0].id");
+
+    RestAssured
+        .given()
+        .when()
+        .get("/{id}", id)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("data.email", equalTo(fresh.getEmail()));
+  }
+
   @Test
   @DisplayName("should update an existing patient")
   void should_UpdateExistingPatient() {
@@ -160,6 +269,83 @@ class PatientControllerIntegrationTests {
         .body("success", equalTo(true));
   }
 
+  @Test
+  @DisplayName("should return 409 when updating a patient to an existing email")
+  void should_Return409WhenUpdatingPatientToExistingEmail() {
+    PatientDTO taken = buildRandomPatientDTO();
+    createPatientAndGetId(taken);
+    PatientDTO dto = buildRandomPatientDTO();
+    String id = createPatientAndGetId(dto);
+
+    dto.setEmail(taken.getEmail());
+
+    RestAssured
+        .given()
+        .contentType("application/json")
+        .body(dto)
+        .when()
+        .put("/{id}", id)
+        .then()
+        .statusCode(HttpStatus.CONFLICT.value())
+        .body("message",
+            equalTo(String.format(ERROR_MESSAGE_ALREADY_EXISTS_BY_EMAIL_ID, taken.getEmail())))
+        .body("success", equalTo(false));
+  }
+
+  @Test
+  @DisplayName("should honour ETags on conditional reads and writes")
+  void should_HonourETagsOnConditionalReadsAndWrites() {
+    PatientDTO dto = buildRandomPatientDTO();
+    String id = createPatientAndGetId(dto);
+
+    String etag = RestAssured
+        .given()
+        .when()
+        .get("/{id}", id)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .header("ETag");
+
+    RestAssured
+        .given()
+        .header("If-None-Match", etag)
+        .when()
+        .get("/{id}", id)
+        .then()
+        .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+    String newEtag = RestAssured
+        .given()
+        .header("If-Match", etag)
+        .contentType("application/json")
+        .body(dto)
+        .when()
+        .put("/{id}", id)
+        .then()
+        .statusCode(HttpStatus.ACCEPTED.value())
+        .header("ETag", not(equalTo(etag)))
+        .extract()
+        .header("ETag");
+
+    RestAssured
+        .given()
+        .header("If-Match", etag)
+        .when()
+        .delete("/{id}", id)
+        .then()
+        .statusCode(HttpStatus.PRECONDITION_FAILED.value())
+        .body("success", equalTo(false));
+
+    RestAssured
+        .given()
+        .header("If-Match", newEtag)
+        .when()
+        .delete("/{id}", id)
+        .then()
+        .statusCode(HttpStatus.ACCEPTED.value());
+  }
+
   @Test
   @DisplayName("should delete a patient by ID")
   void should_DeletePatientById() {
@@ -0,0 +1,59 @@
+package com.pm.patientservice.load;
+
+import java.util.Arrays;
+
+/**
+ * Collects the latencies of one endpoint during a load run. Latency is measured from the moment
+ * the request was scheduled to be sent, not when it actually was, so a stalled server is not
+ * hidden by the load generator falling behind (coordinated omission).
+ */
+final class LatencyRecorder {
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final String endpoint;
+
+  private long[] latencies = new long[1024];
+
+  private int count;
+
+  private long errors;
+
+  LatencyRecorder(final String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  synchronized void record(final long latencyNanos, final boolean success) {
+    if (count == latencies.length) {
+      latencies = Arrays.copyOf(latencies, count * 2);
+    }
+    latencies[count++] = latencyNanos;
+    if (!success) {
+      errors++;
+    }
+  }
+
+  /**
+   * Summarises the recorded latencies.
+   *
+   * @param elapsedSeconds the wall-clock length of the measured run
+   * @return the endpoint's throughput and latency percentiles
+   */
+  synchronized LoadTestReport.EndpointResult summarise(final double elapsedSeconds) {
+    long[] sorted = Arrays.copyOf(latencies, count);
+    Arrays.sort(sorted);
+    return new LoadTestReport.EndpointResult(endpoint, count, errors,
+        count / elapsedSeconds,
+        percentile(sorted, 50.0), percentile(sorted, 95.0), percentile(sorted, 99.0),
+        percentile(sorted, 99.9), count == 0 ? 0.0 : sorted[count - 1] / NANOS_PER_MILLI);
+  }
+
+  private static double percentile(final long[] sorted, final double percentile) {
+    if (sorted.length == 0) {
+      return 0.0;
+    }
+    int rank = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(rank, 0)] / NANOS_PER_MILLI;
+  }
+
+}
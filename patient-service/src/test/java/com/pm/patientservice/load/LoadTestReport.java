@@ -0,0 +1,27 @@
+package com.pm.patientservice.load;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Machine-readable result of a load run, written as JSON so releases can be gated on it.
+ *
+ * @param startedAt       when the measured phase started
+ * @param seededPatients  the number of patients in the database before the run
+ * @param targetRate      the requested arrival rate, in requests per second
+ * @param durationSeconds the length of the measured phase
+ * @param achievedRate    the requests actually completed per second
+ * @param endpoints       per-endpoint throughput and latency
+ */
+record LoadTestReport(Instant startedAt, int seededPatients, int targetRate, long durationSeconds,
+                      double achievedRate, List<EndpointResult> endpoints) {
+
+  /**
+   * Throughput and latency of one endpoint. Latencies are in milliseconds.
+   */
+  record EndpointResult(String endpoint, long requests, long errors, double throughput,
+                        double p50, double p95, double p99, double p999, double max) {
+
+  }
+
+}
@@ -0,0 +1,276 @@
+package com.pm.patientservice.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pm.patientservice.configuration.TestContainersConfiguration;
+import com.pm.patientservice.lookup.PatientLookupFilter;
+import com.pm.patientservice.model.dto.PatientDTO;
+import com.pm.patientservice.model.entities.Patient;
+import com.pm.patientservice.repository.PatientRepository;
+import com.pm.patientservice.utility.UtilityService;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Open-model load test of the patient endpoints against the Testcontainers PostgreSQL database.
+ *
+ * <p>Excluded from the default build; run it with {@code mvn test -Pload-test}. The run is tuned
+ * with system properties: {@code load.patients} (seeded rows), {@code load.rate} (requests per
+ * second), {@code load.warmupSeconds}, {@code load.durationSeconds}, {@code load.mix} (weights as
+ * {@code BY_ID:40,BY_EMAIL:25,...}) and {@code load.output} (JSON report path).
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.com.pm.patientservice=WARN",
+    "patient.lookup-filter.enabled=true"
+})
+@ContextConfiguration(classes = TestContainersConfiguration.class)
+@Testcontainers
+class PatientLoadTests {
+
+  private static final Logger log = LoggerFactory.getLogger(PatientLoadTests.class);
+
+  private static final int SEED_CHUNK_SIZE = 500;
+
+  private static final String DEFAULT_MIX = "BY_ID:40,BY_EMAIL:25,LIST:10,CREATE:15,UPDATE:10";
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+  /**
+   * The endpoints exercised by the workload.
+   */
+  enum Operation {
+    BY_ID,
+    BY_EMAIL,
+    LIST,
+    CREATE,
+    UPDATE
+  }
+
+  private final int patients = Integer.getInteger("load.patients", 10_000);
+
+  private final int rate = Integer.getInteger("load.rate", 200);
+
+  private final long warmupSeconds = Long.getLong("load.warmupSeconds", 10);
+
+  private final long durationSeconds = Long.getLong("load.durationSeconds", 60);
+
+  private final String mix = System.getProperty("load.mix", DEFAULT_MIX);
+
+  private final Path output = Path.of(
+      System.getProperty("load.output", "target/load-test/results.json"));
+
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .findAndRegisterModules()
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+      .enable(SerializationFeature.INDENT_OUTPUT);
+
+  @Autowired
+  private PatientRepository patientRepository;
+
+  @Autowired
+  private PatientLookupFilter patientLookupFilter;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @LocalServerPort
+  private int port;
+
+  private HttpClient httpClient;
+
+  private String baseUrl;
+
+  private List<Patient> seeded;
+
+  @BeforeEach
+  void setUp() {
+    baseUrl = String.format("http://localhost:%s/patients", port);
+    httpClient = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(REQUEST_TIMEOUT)
+        .build();
+    seeded = seed(patients);
+  }
+
+  @Test
+  @DisplayName("should sustain the target rate with a mixed read/write workload")
+  void shouldSustainTargetRateWithMixedWorkload() throws Exception {
+    List<Operation> schedule = weightedSchedule(mix);
+
+    log.warn("Warming up for {}s at {} req/s", warmupSeconds, rate);
+    run(schedule, warmupSeconds);
+
+    log.warn("Measuring for {}s at {} req/s against {} patients", durationSeconds, rate,
+        patients);
+    Instant startedAt = Instant.now();
+    Map<Operation, LatencyRecorder> recorders = run(schedule, durationSeconds);
+    double elapsedSeconds = Duration.between(startedAt, Instant.now()).toNanos() / 1e9;
+
+    List<LoadTestReport.EndpointResult> endpoints = recorders.values().stream()
+        .map(recorder -> recorder.summarise(elapsedSeconds))
+        .toList();
+    long completed = endpoints.stream().mapToLong(LoadTestReport.EndpointResult::requests).sum();
+    LoadTestReport report = new LoadTestReport(startedAt, patients, rate, durationSeconds,
+        completed / elapsedSeconds, endpoints);
+
+    Files.createDirectories(output.toAbsolutePath().getParent());
+    objectMapper.writeValue(output.toFile(), report);
+    log.warn("Load test report written to {}:\n{}", output.toAbsolutePath(),
+        objectMapper.writeValueAsString(report));
+
+    assertEquals(0, endpoints.stream().mapToLong(LoadTestReport.EndpointResult::errors).sum(),
+        "Requests failed during the load run");
+  }
+
+  /**
+   * Issues requests at a fixed arrival rate for the given duration, independent of how fast the
+   * server answers, and waits for all of them to complete.
+   */
+  private Map<Operation, LatencyRecorder> run(final List<Operation> schedule,
+      final long seconds) {
+    Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+    for (Operation operation : Operation.values()) {
+      recorders.put(operation, new LatencyRecorder(operation.name()));
+    }
+
+    SplittableRandom random = new SplittableRandom(rate * 31L + seconds);
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+    long total = seconds * rate;
+    long start = System.nanoTime();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long i = 0; i < total; i++) {
+        long intended = start + i * intervalNanos;
+        long wait = intended - System.nanoTime();
+        if (wait > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        Operation operation = schedule.get(random.nextInt(schedule.size()));
+        HttpRequest request = request(operation, random);
+        executor.execute(() -> {
+          boolean success;
+          try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+            success = status >= 200 && status < 300;
+          } catch (IOException ex) {
+            success = false;
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+          recorders.get(operation).record(System.nanoTime() - intended, success);
+        });
+      }
+    }
+    return recorders;
+  }
+
+  private HttpRequest request(final Operation operation, final SplittableRandom random) {
+    Patient patient = seeded.get(random.nextInt(seeded.size()));
+    return switch (operation) {
+      case BY_ID -> get("/" + patient.getId());
+      case BY_EMAIL -> get("/email/" + URLEncoder.encode(patient.getEmail(),
+          StandardCharsets.UTF_8));
+      case LIST -> get("/page?limit=50");
+      case CREATE -> send("POST", "", UtilityService.buildRandomPatientDTO());
+      case UPDATE -> {
+        // Keep the email so BY_EMAIL lookups of seeded patients keep hitting.
+        PatientDTO changes = UtilityService.buildRandomPatientDTO();
+        changes.setEmail(patient.getEmail());
+        yield send("PUT", "/" + patient.getId(), changes);
+      }
+    };
+  }
+
+  private HttpRequest get(final String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(REQUEST_TIMEOUT)
+        .GET()
+        .build();
+  }
+
+  private HttpRequest send(final String method, final String path, final PatientDTO body) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(REQUEST_TIMEOUT)
+        .header("Content-Type", "application/json")
+        .method(method, HttpRequest.BodyPublishers.ofString(
+            UtilityService.convertObjectToJsonString(body)))
+        .build();
+  }
+
+  private List<Patient> seed(final int count) {
+    List<Patient> saved = new ArrayList<>(count);
+    for (int offset = 0; offset < count; offset += SEED_CHUNK_SIZE) {
+      List<Patient> chunk = Stream.generate(UtilityService::buildRandomPatient)
+          .limit(Math.min(SEED_CHUNK_SIZE, count - offset))
+          .toList();
+      chunk.forEach(patient -> patient.setId(null));
+      // Seeded behind the service's back, so announce the keys the way the service would.
+      saved.addAll(transactionTemplate.execute(status -> {
+        List<Patient> rows = patientRepository.saveAll(chunk);
+        patientLookupFilter.recordWrites(rows.stream()
+            .collect(Collectors.toMap(Patient::getId, Patient::getEmail)));
+        return rows;
+      }));
+    }
+    log.warn("Seeded {} patients", saved.size());
+    return saved;
+  }
+
+  /**
+   * Expands weights such as {@code BY_ID:40,CREATE:10} into a list to draw operations from.
+   */
+  private static List<Operation> weightedSchedule(final String mix) {
+    List<Operation> schedule = new ArrayList<>();
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.trim().split(":");
+      Operation operation = Operation.valueOf(parts[0].trim());
+      int weight = Integer.parseInt(parts[1].trim());
+      for (int i = 0; i < weight; i++) {
+        schedule.add(operation);
+      }
+    }
+    if (schedule.isEmpty()) {
+      throw new IllegalArgumentException("Load mix has no operations: " + mix);
+    }
+    return schedule;
+  }
+
+}
@@ -0,0 +1,266 @@
+package com.pm.patientservice.lookup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.pm.patientservice.datasource.ReadYourWrites;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class PatientLookupFilterTests {
+
+  private static final int PATIENTS = 10_000;
+
+  private PatientKeyNotifier notifier;
+
+  private PatientLookupFilter filter;
+
+  private List<UUID> ids;
+
+  @BeforeEach
+  void setUp() {
+    notifier = mock(PatientKeyNotifier.class);
+    filter = filter(0.01, DataSize.ofMegabytes(1));
+    ids = new ArrayList<>(PATIENTS);
+    for (int i = 0; i < PATIENTS; i++) {
+      ids.add(UUID.randomUUID());
+    }
+  }
+
+  @Test
+  @DisplayName("should let every key through until built and while not listening")
+  void shouldLetEveryKeyThroughUntilBuiltAndWhileNotListening() {
+    assertTrue(filter.mightContainId(UUID.randomUUID()));
+    assertFalse(filter.rebuild(0, keys -> { }));
+
+    filter.trackingStarted();
+    assertTrue(filter.needsRebuild());
+    assertTrue(filter.mightContainEmail("nobody@example.com"));
+    build();
+    assertFalse(filter.mightContainEmail("nobody@example.com"));
+
+    filter.trackingLost();
+    assertTrue(filter.mightContainEmail("nobody@example.com"));
+    assertFalse(filter.needsRebuild());
+  }
+
+  @Test
+  @DisplayName("should never rule out a scanned key and rule out most absent keys")
+  void shouldNeverRuleOutScannedKeyAndRuleOutMostAbsentKeys() {
+    filter.trackingStarted();
+    build();
+
+    for (int i = 0; i < PATIENTS; i++) {
+      assertTrue(filter.mightContainId(ids.get(i)));
+      assertTrue(filter.mightContainEmail(email(i)));
+    }
+    int letThrough = 0;
+    int probes = 100_000;
+    for (int i = 0; i < probes; i++) {
+      if (filter.mightContainId(UUID.randomUUID())) {
+        letThrough++;
+      }
+      if (filter.mightContainEmail("absent-" + i + "@example.com")) {
+        letThrough++;
+      }
+    }
+    // Sized with headroom, so well under the configured 1% while it holds only the scanned keys.
+    assertTrue(letThrough < 2 * probes * 0.01, "let through " + letThrough);
+  }
+
+  @Test
+  @DisplayName("should let every key through for a request pinned to the primary")
+  void shouldLetEveryKeyThroughForRequestPinnedToPrimary() {
+    filter.trackingStarted();
+    build();
+    UUID writtenElsewhere = UUID.randomUUID();
+    assertFalse(filter.mightContainId(writtenElsewhere));
+
+    ReadYourWrites.pinToPrimary();
+    try {
+      assertTrue(filter.mightContainId(writtenElsewhere));
+      assertTrue(filter.mightContainEmail("elsewhere@example.com"));
+    } finally {
+      ReadYourWrites.release();
+    }
+  }
+
+  @Test
+  @DisplayName("should announce written keys and add them to the filter")
+  void shouldAnnounceWrittenKeysAndAddThemToFilter() {
+    filter.trackingStarted();
+    build();
+    UUID id = UUID.randomUUID();
+
+    filter.recordWrite(id, "new@example.com");
+
+    assertTrue(filter.mightContainId(id));
+    assertTrue(filter.mightContainEmail("new@example.com"));
+    verify(notifier).publish(List.of(
+        PatientLookupFilter.encode(id, PatientLookupFilter.emailHash("new@example.com"))));
+  }
+
+  @Test
+  @DisplayName("should add keys announced by other instances and ignore malformed ones")
+  void shouldAddAnnouncedKeysAndIgnoreMalformedOnes() {
+    filter.trackingStarted();
+    build();
+    UUID id = UUID.randomUUID();
+
+    filter.applyNotification(
+        PatientLookupFilter.encode(id, PatientLookupFilter.emailHash("other@example.com")));
+    filter.applyNotification("not-a-key");
+
+    assertTrue(filter.mightContainId(id));
+    assertTrue(filter.mightContainEmail("other@example.com"));
+  }
+
+  @Test
+  @DisplayName("should keep keys written while a rebuild scans the table")
+  void shouldKeepKeysWrittenWhileRebuildScans() {
+    filter.trackingStarted();
+    UUID writtenDuringScan = UUID.randomUUID();
+
+    assertTrue(filter.rebuild(1, keys -> {
+      keys.accept(ids.get(0), email(0));
+      filter.applyNotification(PatientLookupFilter.encode(writtenDuringScan,
+          PatientLookupFilter.emailHash("during@example.com")));
+    }));
+
+    assertTrue(filter.mightContainId(writtenDuringScan));
+    assertTrue(filter.mightContainEmail("during@example.com"));
+  }
+
+  @Test
+  @DisplayName("should keep keys added while a rebuild swaps in the new filter")
+  void shouldKeepKeysAddedWhileRebuildSwapsInNewFilter() throws InterruptedException {
+    filter.trackingStarted();
+    for (int round = 0; round < 200; round++) {
+      CountDownLatch scanning = new CountDownLatch(1);
+      AtomicBoolean rebuilt = new AtomicBoolean();
+      List<UUID> added = new CopyOnWriteArrayList<>();
+      Thread writer = Thread.ofPlatform().start(() -> {
+        try {
+          scanning.await();
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        // Keeps adding until after the swap, so some adds race with it.
+        for (int i = 0; i < 50 || !rebuilt.get(); i++) {
+          UUID id = UUID.randomUUID();
+          filter.applyNotification(PatientLookupFilter.encode(id,
+              PatientLookupFilter.emailHash(id + "@example.com")));
+          added.add(id);
+        }
+      });
+
+      assertTrue(filter.rebuild(1, keys -> {
+        keys.accept(ids.get(0), email(0));
+        scanning.countDown();
+      }));
+      rebuilt.set(true);
+      writer.join();
+
+      for (UUID id : added) {
+        assertTrue(filter.mightContainId(id), "lost key added in round " + round);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("should discard a rebuild during which the listener disconnected")
+  void shouldDiscardRebuildDuringWhichListenerDisconnected() {
+    filter.trackingStarted();
+
+    assertFalse(filter.rebuild(1, keys -> {
+      filter.trackingLost();
+      filter.trackingStarted();
+    }));
+
+    assertTrue(filter.needsRebuild());
+    assertTrue(filter.mightContainId(UUID.randomUUID()));
+  }
+
+  @Test
+  @DisplayName("should ask for a rebuild once many patients were deleted")
+  void shouldAskForRebuildOnceManyPatientsWereDeleted() {
+    filter.trackingStarted();
+    build();
+    assertFalse(filter.needsRebuild());
+
+    for (int i = 0; i <= PATIENTS * PatientLookupFilter.MAX_DELETED_SHARE; i++) {
+      filter.recordDelete();
+    }
+
+    assertTrue(filter.needsRebuild());
+  }
+
+  @Test
+  @DisplayName("should stay within the memory budget at the cost of more false positives")
+  void shouldStayWithinMemoryBudget() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PatientLookupFilter small = new PatientLookupFilter(new LookupFilterProperties(true, 0.001,
+        DataSize.ofKilobytes(4), Duration.ofHours(1), Duration.ofSeconds(5)), notifier,
+        meterRegistry);
+    small.trackingStarted();
+    small.rebuild(PATIENTS, keys -> keys.accept(ids.get(0), email(0)));
+
+    assertEquals(4 * 1024, meterRegistry.get("patient.lookup_filter.size").gauge().value());
+  }
+
+  @Test
+  @DisplayName("should reject false-positive rates outside 0 to 1")
+  void shouldRejectInvalidFalsePositiveRates() {
+    assertThrows(IllegalArgumentException.class, () -> filter(0, DataSize.ofMegabytes(1)));
+    assertThrows(IllegalArgumentException.class, () -> filter(1, DataSize.ofMegabytes(1)));
+  }
+
+  @Test
+  @DisplayName("should neither announce nor add keys when disabled")
+  void shouldNeitherAnnounceNorAddKeysWhenDisabled() {
+    PatientLookupFilter disabled = new PatientLookupFilter(new LookupFilterProperties(false, 0.01,
+        DataSize.ofMegabytes(1), Duration.ofHours(1), Duration.ofSeconds(5)), notifier,
+        new SimpleMeterRegistry());
+
+    disabled.recordWrites(Map.of(UUID.randomUUID(), "new@example.com"));
+    disabled.trackingStarted();
+
+    assertFalse(disabled.needsRebuild());
+    verifyNoInteractions(notifier);
+  }
+
+  private void build() {
+    assertTrue(filter.rebuild(PATIENTS, keys -> {
+      for (int i = 0; i < PATIENTS; i++) {
+        keys.accept(ids.get(i), email(i));
+      }
+    }));
+  }
+
+  private PatientLookupFilter filter(final double falsePositiveRate, final DataSize maxMemory) {
+    return new PatientLookupFilter(new LookupFilterProperties(true, falsePositiveRate, maxMemory,
+        Duration.ofHours(1), Duration.ofSeconds(5)), notifier, new SimpleMeterRegistry());
+  }
+
+  private static String email(final int index) {
+    return "patient-" + index + "@example.com";
+  }
+
+}
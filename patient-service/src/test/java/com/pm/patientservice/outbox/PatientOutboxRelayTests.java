@@ -0,0 +1,272 @@
+package com.pm.patientservice.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.billingservice.grpc.v1.BillingAccountRequest;
+import com.pm.billingservice.grpc.v1.BillingAccountResponse;
+import com.pm.billingservice.grpc.v1.BillingServiceGrpc;
+import com.pm.patientservice.billing.BillingClient;
+import com.pm.patientservice.billing.BillingClientProperties;
+import com.pm.patientservice.billing.BillingPatientEventSink;
+import com.pm.patientservice.configuration.TestContainersConfiguration;
+import com.pm.patientservice.model.entities.Patient;
+import com.pm.patientservice.utility.UtilityService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+@ContextConfiguration(classes = TestContainersConfiguration.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PatientOutboxRelayTests {
+
+  private static final int BATCH_SIZE = 2;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  private final RecordingSink sink = new RecordingSink();
+
+  private PatientOutbox patientOutbox;
+
+  private TransactionTemplate transactionTemplate;
+
+  private PatientOutboxRelay relay;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate.update("delete from patient_outbox");
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    patientOutbox = new PatientOutbox(jdbcTemplate, entityManager, objectMapper);
+    relay = new PatientOutboxRelay(jdbcTemplate, transactionTemplate, objectMapper, sink,
+        new OutboxProperties(BATCH_SIZE, Duration.ofSeconds(30), Duration.ofMinutes(5),
+            Duration.ofMinutes(1)),
+        new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("should publish events in outbox order, in batches, and remove them")
+  void shouldPublishEventsInOutboxOrderInBatchesAndRemoveThem() {
+    List<PatientEvent> events = List.of(created(), created(), created());
+    append(events);
+
+    relay.relay();
+
+    assertAll(
+        () -> assertEquals(List.of(2, 1), sink.batches.stream().map(List::size).toList()),
+        () -> assertEquals(events, sink.published()),
+        () -> assertEquals(0, outboxSize())
+    );
+  }
+
+  @Test
+  @DisplayName("should hold back a failing patient's later events and publish the others")
+  void shouldHoldBackFailingPatientsLaterEventsAndPublishOthers() {
+    PatientEvent failingCreated = created();
+    PatientEvent other = created();
+    PatientEvent failingDeleted = PatientEvent.deleted(failingCreated.patientId());
+    append(List.of(failingCreated, other, failingDeleted));
+    sink.failing.add(failingCreated.patientId());
+
+    relay.relay();
+    relay.relay();
+
+    List<Map<String, Object>> remaining = jdbcTemplate.queryForList(
+        "select event_type, attempts, last_error from patient_outbox order by id");
+    assertAll(
+        () -> assertEquals(List.of(other), sink.published()),
+        () -> assertEquals(2, remaining.size()),
+        () -> assertEquals("CREATED", remaining.get(0).get("event_type")),
+        () -> assertEquals(1, remaining.get(0).get("attempts")),
+        () -> assertNotNull(remaining.get(0).get("last_error")),
+        () -> assertEquals("DELETED", remaining.get(1).get("event_type")),
+        () -> assertEquals(0, remaining.get(1).get("attempts"))
+    );
+  }
+
+  @Test
+  @DisplayName("should publish outside any transaction")
+  void shouldPublishOutsideAnyTransaction() {
+    append(List.of(created()));
+
+    relay.relay();
+
+    assertAll(
+        () -> assertEquals(1, sink.batches.size()),
+        () -> assertFalse(sink.inTransaction)
+    );
+  }
+
+  @Test
+  @DisplayName("should not claim events leased by a relay still publishing them")
+  void shouldNotClaimEventsLeasedByRelayStillPublishingThem() {
+    append(List.of(created()));
+    sink.duringPublish = () -> assertFalse(relay.relayBatch());
+
+    relay.relay();
+
+    assertAll(
+        () -> assertEquals(1, sink.batches.size()),
+        () -> assertEquals(0, outboxSize())
+    );
+  }
+
+  @Test
+  @DisplayName("should back off the whole batch with one call when billing-service is unavailable")
+  void shouldBackOffWholeBatchWithOneCallWhenBillingServiceIsUnavailable() throws Exception {
+    AtomicInteger unaryCalls = new AtomicInteger();
+    AtomicInteger streamingCalls = new AtomicInteger();
+    BillingServiceGrpc.BillingServiceImplBase unavailable =
+        new BillingServiceGrpc.BillingServiceImplBase() {
+          @Override
+          public void createBillingAccount(final BillingAccountRequest request,
+              final StreamObserver<BillingAccountResponse> responseObserver) {
+            unaryCalls.incrementAndGet();
+            responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+          }
+
+          @Override
+          public StreamObserver<BillingAccountRequest> createBillingAccounts(
+              final StreamObserver<BillingAccountResponse> responseObserver) {
+            streamingCalls.incrementAndGet();
+            responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+            return new NoopStreamObserver<>();
+          }
+        };
+    BillingClientProperties billingProperties = new BillingClientProperties("in-process",
+        Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(30),
+        Duration.ofSeconds(10), Duration.ofMinutes(5), 3, Duration.ofMillis(10),
+        Duration.ofMillis(100), null);
+    String name = InProcessServerBuilder.generateName();
+    Server server = InProcessServerBuilder.forName(name).directExecutor().addService(unavailable)
+        .build().start();
+    ManagedChannel channel = InProcessChannelBuilder.forName(name)
+        .directExecutor()
+        .defaultServiceConfig(BillingClient.serviceConfig(billingProperties))
+        .enableRetry()
+        .build();
+    try {
+      relay = new PatientOutboxRelay(jdbcTemplate, transactionTemplate, objectMapper,
+          new BillingPatientEventSink(new BillingClient(channel, billingProperties)),
+          new OutboxProperties(BATCH_SIZE, Duration.ofSeconds(30), Duration.ofMinutes(5),
+              Duration.ofMinutes(1)),
+          new SimpleMeterRegistry());
+      append(List.of(created(), created(), created()));
+
+      relay.relay();
+
+      assertAll(
+          () -> assertEquals(1, streamingCalls.get()),
+          () -> assertEquals(0, unaryCalls.get()),
+          () -> assertEquals(List.of(1, 1, 0), jdbcTemplate.queryForList(
+              "select attempts from patient_outbox order by id", Integer.class))
+      );
+    } finally {
+      channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+      server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+  }
+
+  private void append(final List<PatientEvent> events) {
+    transactionTemplate.executeWithoutResult(status -> patientOutbox.appendAll(events));
+  }
+
+  private static PatientEvent created() {
+    Patient patient = UtilityService.buildRandomPatient();
+    patient.setId(UUID.randomUUID());
+    return PatientEvent.created(patient);
+  }
+
+  private int outboxSize() {
+    return jdbcTemplate.queryForObject("select count(*) from patient_outbox", Integer.class);
+  }
+
+  /**
+   * Request stream ignoring what the client sends.
+   */
+  private static final class NoopStreamObserver<T> implements StreamObserver<T> {
+
+    @Override
+    public void onNext(final T value) {
+    }
+
+    @Override
+    public void onError(final Throwable t) {
+    }
+
+    @Override
+    public void onCompleted() {
+    }
+
+  }
+
+  /**
+   * Records published batches and fails any batch containing an event of a failing patient.
+   */
+  private static final class RecordingSink implements PatientEventSink {
+
+    private final List<List<PatientOutboxMessage>> batches = new ArrayList<>();
+
+    private final Set<UUID> failing = new HashSet<>();
+
+    private Runnable duringPublish = () -> { };
+
+    private boolean inTransaction;
+
+    @Override
+    public void publish(final List<PatientOutboxMessage> messages) {
+      inTransaction |= TransactionSynchronizationManager.isActualTransactionActive();
+      duringPublish.run();
+      if (messages.stream().anyMatch(message -> failing.contains(message.event().patientId()))) {
+        throw new IllegalStateException("Billing unavailable");
+      }
+      batches.add(messages);
+    }
+
+    private List<PatientEvent> published() {
+      return batches.stream().flatMap(List::stream).map(PatientOutboxMessage::event).toList();
+    }
+
+  }
+
+}
@@ -1,14 +1,27 @@
 package com.pm.patientservice.repository;
 
 import com.pm.patientservice.configuration.TestContainersConfiguration;
+import com.pm.patientservice.model.dto.PatientSearchCriteria;
 import com.pm.patientservice.model.entities.Patient;
+import com.pm.patientservice.model.projections.PatientMatch;
+import com.pm.patientservice.model.projections.PatientView;
 import com.pm.patientservice.utility.UtilityService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
@@ -20,6 +33,19 @@ public class PatientRepositoryTests {
   @Autowired
   private PatientRepository patientRepository;
 
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  @DisplayName("Test that the migrations create the access-path indexes")
+  public void testMigrationsCreateIndexes() {
+    List<String> indexes = jdbcTemplate.queryForList(
+        "select indexname from pg_indexes where tablename = 'patient'", String.class);
+
+    assert indexes.containsAll(List.of("patient_email_key", "idx_patient_registered_date_id",
+        "idx_patient_lower_name"));
+  }
+
   @Test
   @DisplayName("Test to find a patient by email")
   public void testFindByEmail() {
@@ -33,6 +59,21 @@ public class PatientRepositoryTests {
     assert foundPatient.get().getEmail().equals(savedPatient.getEmail());
   }
 
+  @Test
+  @DisplayName("Test to store emails lower-cased and find them ignoring case")
+  public void testFindByEmailIgnoringCase() {
+    Patient patient = UtilityService.buildRandomPatient();
+    patient.setId(null);
+    patient.setEmail("Mixed.Case@Example.COM");
+    Patient savedPatient = patientRepository.saveAndFlush(patient);
+
+    assert savedPatient.getEmail().equals("mixed.case@example.com");
+    assert patientRepository.findByEmail("MIXED.case@example.com").isPresent();
+    assert patientRepository.existsByEmail("mixed.CASE@EXAMPLE.com");
+    assert patientRepository.findExistingEmails(Set.of("Mixed.Case@Example.COM"))
+        .equals(Set.of("mixed.case@example.com"));
+  }
+
   @Test
   @DisplayName("Test to check if a patient not exists by email")
   public void testNotExistsByEmail() {
@@ -101,4 +142,212 @@ public class PatientRepositoryTests {
     assert !exists;
   }
 
-}
\ No newline at end of file
+  @Test
+  @DisplayName("Test to find which of the given emails already exist")
+  public void testFindExistingEmails() {
+    Patient patient = UtilityService.buildRandomPatient();
+    patient.setId(null);
+    Patient savedPatient = patientRepository.save(patient);
+    String randomEmail = Instancio.gen().net().email().get();
+
+    Set<String> existing = patientRepository.findExistingEmails(
+        List.of(savedPatient.getEmail(), randomEmail));
+
+    assert existing.equals(Set.of(savedPatient.getEmail()));
+  }
+
+  @Test
+  @DisplayName("Test to update a patient by ID in a single statement")
+  public void testUpdateById() {
+    Patient patient = UtilityService.buildRandomPatient();
+    patient.setId(null);
+    Patient savedPatient = patientRepository.saveAndFlush(patient);
+    Patient changes = UtilityService.buildRandomPatient();
+
+    Optional<Long> version = patientRepository.updateById(savedPatient.getId(), changes.getName(),
+        changes.getEmail(), changes.getAddress(), changes.getDateOfBirth(),
+        changes.getRegisteredDate());
+
+    assert version.isPresent() && version.get() == savedPatient.getVersion() + 1;
+    assert patientRepository.findVersionById(savedPatient.getId()).equals(version);
+  }
+
+  @Test
+  @DisplayName("Test to update a patient by a non-existent ID")
+  public void testUpdateByNonExistentId() {
+    Patient changes = UtilityService.buildRandomPatient();
+
+    Optional<Long> version = patientRepository.updateById(UUID.randomUUID(), changes.getName(),
+        changes.getEmail(), changes.getAddress(), changes.getDateOfBirth(),
+        changes.getRegisteredDate());
+
+    assert version.isEmpty();
+  }
+
+  @Test
+  @DisplayName("Test to update a patient only at one of the expected versions")
+  public void testUpdateByIdAndVersionIn() {
+    Patient patient = UtilityService.buildRandomPatient();
+    patient.setId(null);
+    Patient savedPatient = patientRepository.saveAndFlush(patient);
+    Patient changes = UtilityService.buildRandomPatient();
+
+    Optional<Long> stale = patientRepository.updateByIdAndVersionIn(savedPatient.getId(),
+        List.of(savedPatient.getVersion() + 1), changes.getName(), changes.getEmail(),
+        changes.getAddress(), changes.getDateOfBirth(), changes.getRegisteredDate());
+    Optional<Long> current = patientRepository.updateByIdAndVersionIn(savedPatient.getId(),
+        List.of(savedPatient.getVersion() + 1, savedPatient.getVersion()), changes.getName(),
+        changes.getEmail(), changes.getAddress(), changes.getDateOfBirth(),
+        changes.getRegisteredDate());
+
+    assert stale.isEmpty();
+    assert current.isPresent();
+  }
+
+
+  @Test
+  @DisplayName("Test to search patients by name prefix and address substring in keyset order")
+  public void testSearchByNamePrefixAndAddressInKeysetOrder() {
+    String prefix = "Qx" + UUID.randomUUID().toString().substring(0, 8);
+    List<Patient> patients = Stream.generate(UtilityService::buildRandomPatient)
+        .limit(3)
+        .toList();
+    for (int i = 0; i < patients.size(); i++) {
+      Patient patient = patients.get(i);
+      patient.setId(null);
+      patient.setName(prefix + " Patient " + i);
+      patient.setAddress("12 Main_Street " + i);
+      patient.setRegisteredDate(LocalDate.of(2024, 1, 1 + i));
+    }
+    patientRepository.saveAllAndFlush(patients);
+    Patient other = UtilityService.buildRandomPatient();
+    other.setId(null);
+    other.setName(prefix + " Other");
+    other.setAddress("99 Elm Road");
+    patientRepository.saveAndFlush(other);
+
+    Specification<Patient> matching = PatientSpecifications.matching(new PatientSearchCriteria(
+        prefix.toUpperCase(), null, null, LocalDate.of(2024, 1, 1), null, "main_street"));
+    Sort order = Sort.by(Sort.Direction.ASC, "registeredDate", "id");
+
+    List<Patient> firstPage = patientRepository.findBy(matching,
+        query -> query.sortBy(order).limit(2).all());
+    Patient last = firstPage.get(1);
+    List<Patient> secondPage = patientRepository.findBy(
+        matching.and(PatientSpecifications.after("registeredDate", Sort.Direction.ASC,
+            last.getRegisteredDate(), last.getId())),
+        query -> query.sortBy(order).limit(2).all());
+
+    assert firstPage.stream().map(Patient::getName).toList()
+        .equals(List.of(prefix + " Patient 0", prefix + " Patient 1"));
+    assert secondPage.stream().map(Patient::getName).toList()
+        .equals(List.of(prefix + " Patient 2"));
+  }
+
+
+  @Test
+  @DisplayName("Test to find patients by a misspelled name, best match first")
+  public void testFindSimilarByName() {
+    String surname = "Qz" + UUID.randomUUID().toString().substring(0, 6);
+    Patient exact = UtilityService.buildRandomPatient();
+    exact.setId(null);
+    exact.setName("Jonathan " + surname);
+    Patient close = UtilityService.buildRandomPatient();
+    close.setId(null);
+    close.setName("Jonathon " + surname);
+    patientRepository.saveAllAndFlush(List.of(exact, close));
+
+    List<PatientMatch> matches = patientRepository.findSimilarByName(
+        ("jonathan " + surname).toLowerCase(), 0.3, 10);
+
+    assert matches.size() == 2;
+    assert matches.get(0).getId().equals(exact.getId());
+    assert matches.get(0).getSimilarity() > matches.get(1).getSimilarity();
+    assert matches.get(0).getDateOfBirth().equals(exact.getDateOfBirth());
+  }
+
+  @Test
+  @DisplayName("Test to find possible duplicates by similar name and same date of birth")
+  public void testFindPossibleDuplicates() {
+    String surname = "Qz" + UUID.randomUUID().toString().substring(0, 6);
+    Patient existing = UtilityService.buildRandomPatient();
+    existing.setId(null);
+    existing.setName("Maria " + surname);
+    existing.setDateOfBirth(LocalDate.of(1985, 3, 14));
+    patientRepository.saveAndFlush(existing);
+
+    List<PatientMatch> sameBirthday = patientRepository.findPossibleDuplicates(
+        ("marja " + surname).toLowerCase(), LocalDate.of(1985, 3, 14), "unrelated address", 0.3,
+        5);
+    List<PatientMatch> otherBirthday = patientRepository.findPossibleDuplicates(
+        ("marja " + surname).toLowerCase(), LocalDate.of(1990, 1, 1), "unrelated address", 0.3,
+        5);
+
+    assert sameBirthday.size() == 1;
+    assert sameBirthday.get(0).getId().equals(existing.getId());
+    assert otherBirthday.isEmpty();
+  }
+
+
+  @Test
+  @DisplayName("Test to read a patient view by ID and email without loading the entity")
+  public void testFindViewByIdAndEmail() {
+    Patient patient = UtilityService.buildRandomPatient();
+    patient.setId(null);
+    Patient savedPatient = patientRepository.saveAndFlush(patient);
+
+    var byId = patientRepository.findViewById(savedPatient.getId());
+    var byEmail = patientRepository.findViewByEmail(savedPatient.getEmail().toUpperCase());
+
+    assert byId.isPresent();
+    assert !(byId.get() instanceof Patient);
+    assert byId.get().getEmail().equals(savedPatient.getEmail());
+    assert byId.get().getDateOfBirth().equals(savedPatient.getDateOfBirth());
+    assert byId.get().getVersion().equals(savedPatient.getVersion());
+    assert byEmail.isPresent();
+    assert byEmail.get().getId().equals(savedPatient.getId());
+  }
+
+  @Test
+  @DisplayName("Test to read patient views by many IDs and emails in one query each")
+  public void testFindViewsByIdInAndEmails() {
+    List<Patient> patients = Stream.generate(UtilityService::buildRandomPatient)
+        .limit(3)
+        .peek(patient -> patient.setId(null))
+        .toList();
+    List<Patient> saved = patientRepository.saveAllAndFlush(patients);
+
+    List<PatientView> byIds = patientRepository.findViewsByIdIn(
+        List.of(saved.get(0).getId(), saved.get(1).getId(), UUID.randomUUID()));
+    List<PatientView> byEmails = patientRepository.findViewsByEmails(
+        List.of(saved.get(2).getEmail().toUpperCase(), "nobody@example.com"));
+
+    assert byIds.stream().map(PatientView::getId).collect(Collectors.toSet())
+        .equals(Set.of(saved.get(0).getId(), saved.get(1).getId()));
+    assert byEmails.size() == 1;
+    assert byEmails.get(0).getId().equals(saved.get(2).getId());
+  }
+
+  @Test
+  @DisplayName("Test to read the patients after a keyset position as views")
+  public void testFindPageAfter() {
+    LocalDate registeredDate = LocalDate.of(1901, 1, 1);
+    List<Patient> patients = Stream.generate(UtilityService::buildRandomPatient)
+        .limit(3)
+        .toList();
+    patients.forEach(patient -> {
+      patient.setId(null);
+      patient.setRegisteredDate(registeredDate);
+    });
+    List<UUID> ids = patientRepository.saveAllAndFlush(patients).stream()
+        .map(Patient::getId)
+        .sorted()
+        .toList();
+
+    List<PatientView> page = patientRepository.findPageAfter(registeredDate, ids.get(0),
+        Limit.of(2));
+
+    assert page.stream().map(PatientView::getId).toList().equals(ids.subList(1, 3));
+  }
+
+}
@@ -0,0 +1,30 @@
+package com.pm.patientservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PatientCursorTests {
+
+  @Test
+  @DisplayName("should round trip cursor through its encoded form")
+  void shouldRoundTripCursorThroughEncodedForm() {
+    PatientCursor cursor = new PatientCursor(LocalDate.of(2024, 1, 10), UUID.randomUUID());
+
+    assertEquals(cursor, PatientCursor.decode(cursor.encode()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"not-base64!", "bm8tc2VwYXJhdG9y", "MjAyNC0xMy0wMXxhYmM"})
+  @DisplayName("should throw exception when cursor is malformed")
+  void shouldThrowExceptionWhenCursorIsMalformed(final String cursor) {
+    assertThrows(IllegalArgumentException.class, () -> PatientCursor.decode(cursor));
+  }
+
+}
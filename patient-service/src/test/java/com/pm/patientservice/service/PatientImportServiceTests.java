@@ -0,0 +1,166 @@
+package com.pm.patientservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.pm.patientservice.cache.PatientCache;
+import com.pm.patientservice.lookup.PatientLookupFilter;
+import com.pm.patientservice.model.dto.PatientDTO;
+import com.pm.patientservice.model.dto.PatientImportResultDTO;
+import com.pm.patientservice.model.dto.PatientImportResultDTO.Status;
+import com.pm.patientservice.model.entities.Patient;
+import com.pm.patientservice.model.mapper.PatientMapper;
+import com.pm.patientservice.outbox.PatientOutbox;
+import com.pm.patientservice.repository.PatientRepository;
+import com.pm.patientservice.utility.UtilityService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class PatientImportServiceTests {
+
+  @Mock
+  private PatientRepository patientRepository;
+
+  @Mock
+  private PatientCache patientCache;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  @Mock
+  private EntityManager entityManager;
+
+  @Mock
+  private PatientOutbox patientOutbox;
+
+  @Mock
+  private PatientLookupFilter patientLookupFilter;
+
+  private PatientImportService patientImportService;
+
+  @BeforeEach
+  void setUp() {
+    patientImportService = new PatientImportService(Mappers.getMapper(PatientMapper.class),
+        patientRepository, patientCache,
+        Validation.buildDefaultValidatorFactory().getValidator(), transactionTemplate,
+        entityManager, patientOutbox, patientLookupFilter);
+
+    when(transactionTemplate.execute(any())).thenAnswer(
+        invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    when(patientRepository.saveAll(any())).thenAnswer(invocation -> {
+      Iterable<Patient> patients = invocation.getArgument(0);
+      patients.forEach(patient -> patient.setId(UUID.randomUUID()));
+      return patients;
+    });
+  }
+
+  @Test
+  @DisplayName("should create valid rows and report invalid and duplicate rows in input order")
+  void shouldCreateValidRowsAndReportInvalidAndDuplicateRowsInInputOrder() {
+    PatientDTO valid = UtilityService.buildRandomPatientDTO();
+    PatientDTO invalid = UtilityService.buildRandomPatientDTO();
+    invalid.setEmail("invalid-email-format");
+    PatientDTO sameEmailInRequest = UtilityService.buildRandomPatientDTO();
+    sameEmailInRequest.setEmail(valid.getEmail());
+    PatientDTO existing = UtilityService.buildRandomPatientDTO();
+
+    when(patientRepository.findExistingEmails(anyCollection()))
+        .thenReturn(Set.of(existing.getEmail()));
+
+    List<PatientImportResultDTO> results = patientImportService.importPatients(
+        List.of(valid, invalid, sameEmailInRequest, existing).iterator());
+
+    assertAll(
+        () -> assertEquals(4, results.size()),
+        () -> assertEquals(Status.CREATED, results.get(0).status()),
+        () -> assertNotNull(results.get(0).id()),
+        () -> assertEquals(Status.INVALID, results.get(1).status()),
+        () -> assertEquals("Email should be valid", results.get(1).errors().get("email")),
+        () -> assertEquals(Status.DUPLICATE, results.get(2).status()),
+        () -> assertEquals(Status.DUPLICATE, results.get(3).status()),
+        () -> assertEquals(List.of(0, 1, 2, 3),
+            results.stream().map(PatientImportResultDTO::index).toList())
+    );
+    verify(patientRepository, times(1)).findExistingEmails(Set.of(valid.getEmail(),
+        existing.getEmail()));
+    verify(entityManager, times(1)).flush();
+    verify(patientCache, times(1)).evictEmail(valid.getEmail());
+    verify(patientOutbox, times(1)).appendAll(argThat(events -> events.size() == 1
+        && events.getFirst().patientId().equals(results.get(0).id())));
+  }
+
+  @Test
+  @DisplayName("should check duplicates and insert once per chunk")
+  void shouldCheckDuplicatesAndInsertOncePerChunk() {
+    int rows = PatientImportService.IMPORT_CHUNK_SIZE * 2 + 1;
+
+    when(patientRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+
+    List<PatientImportResultDTO> results = patientImportService.importPatients(
+        Stream.generate(UtilityService::buildRandomPatientDTO).limit(rows).iterator());
+
+    assertEquals(rows, results.size());
+    assertEquals(rows - 1, results.get(rows - 1).index());
+    verify(patientRepository, times(3)).findExistingEmails(anyCollection());
+    verify(patientRepository, times(3)).saveAll(any());
+    verify(transactionTemplate, times(3)).execute(any());
+  }
+
+  @Test
+  @DisplayName("should import rows read before an unreadable row and report it as invalid")
+  void shouldImportRowsReadBeforeUnreadableRowAndReportItAsInvalid() {
+    PatientDTO valid = UtilityService.buildRandomPatientDTO();
+    Iterator<PatientDTO> patients = new Iterator<>() {
+      private boolean consumed;
+
+      @Override
+      public boolean hasNext() {
+        return true;
+      }
+
+      @Override
+      public PatientDTO next() {
+        if (consumed) {
+          throw new NoSuchElementException("Unexpected character");
+        }
+        consumed = true;
+        return valid;
+      }
+    };
+
+    when(patientRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+
+    List<PatientImportResultDTO> results = patientImportService.importPatients(patients);
+
+    assertAll(
+        () -> assertEquals(2, results.size()),
+        () -> assertEquals(Status.CREATED, results.get(0).status()),
+        () -> assertEquals(Status.INVALID, results.get(1).status()),
+        () -> assertEquals(1, results.get(1).index())
+    );
+  }
+
+}
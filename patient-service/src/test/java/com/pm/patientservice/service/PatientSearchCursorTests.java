@@ -0,0 +1,42 @@
+package com.pm.patientservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.Sort;
+
+class PatientSearchCursorTests {
+
+  @Test
+  @DisplayName("should round trip search cursor through its encoded form")
+  void shouldRoundTripSearchCursorThroughEncodedForm() {
+    PatientSearchCursor cursor = new PatientSearchCursor(PatientSearchSort.DATE_OF_BIRTH,
+        Sort.Direction.DESC, LocalDate.of(1990, 5, 17), UUID.randomUUID());
+
+    assertEquals(cursor, PatientSearchCursor.decode(cursor.encode()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"not-base64!", "bm8tc2VwYXJhdG9y", "TkFNRXxBU0N8MjAyNC0wMS0wMXxhYmM"})
+  @DisplayName("should throw exception when search cursor is malformed")
+  void shouldThrowExceptionWhenSearchCursorIsMalformed(final String cursor) {
+    assertThrows(IllegalArgumentException.class, () -> PatientSearchCursor.decode(cursor));
+  }
+
+  @Test
+  @DisplayName("should reject search cursor issued for another ordering")
+  void shouldRejectSearchCursorIssuedForAnotherOrdering() {
+    PatientSearchCursor cursor = new PatientSearchCursor(PatientSearchSort.REGISTERED_DATE,
+        Sort.Direction.ASC, LocalDate.of(2024, 1, 10), UUID.randomUUID());
+
+    assertThrows(IllegalArgumentException.class,
+        () -> cursor.requireOrdering(PatientSearchSort.REGISTERED_DATE, Sort.Direction.DESC));
+  }
+
+}
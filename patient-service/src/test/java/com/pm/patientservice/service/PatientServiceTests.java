@@ -4,21 +4,47 @@ import static com.pm.patientservice.utility.UtilityService.assertDeepObjectEqual
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.pm.patientservice.cache.PatientCache;
 import com.pm.patientservice.exception.EmailAlreadyExistsException;
 import com.pm.patientservice.exception.PatientNotFoundException;
+import com.pm.patientservice.exception.PatientVersionMismatchException;
+import com.pm.patientservice.exception.ServiceOverloadedException;
+import com.pm.patientservice.lookup.LookupFilterProperties;
+import com.pm.patientservice.lookup.PatientKeyNotifier;
+import com.pm.patientservice.lookup.PatientLookupFilter;
+import com.pm.patientservice.metrics.PatientMetrics;
+import com.pm.patientservice.model.dto.PatientBatchGetResultDTO;
 import com.pm.patientservice.model.dto.PatientDTO;
+import com.pm.patientservice.model.dto.PatientPageDTO;
+import com.pm.patientservice.model.dto.PatientSearchCriteria;
 import com.pm.patientservice.model.entities.Patient;
 import com.pm.patientservice.model.mapper.PatientMapper;
+import com.pm.patientservice.model.projections.PatientMatch;
+import com.pm.patientservice.model.projections.PatientView;
+import com.pm.patientservice.outbox.PatientEvent;
+import com.pm.patientservice.outbox.PatientEventType;
+import com.pm.patientservice.outbox.PatientOutbox;
 import com.pm.patientservice.repository.PatientRepository;
 import com.pm.patientservice.utility.UtilityService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
@@ -29,6 +55,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.unit.DataSize;
 
 @ExtendWith(MockitoExtension.class)
 class PatientServiceTests {
@@ -36,9 +66,26 @@ class PatientServiceTests {
   @Mock
   private PatientRepository patientRepository;
 
+  @Mock
+  private PatientCache patientCache;
+
+  @Mock
+  private PatientOutbox patientOutbox;
+
   @Spy
   private PatientMapper patientMapper = Mappers.getMapper(PatientMapper.class);
 
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Spy
+  private PatientMetrics patientMetrics = new PatientMetrics(meterRegistry);
+
+  // Lets every key through until a test builds it.
+  @Spy
+  private PatientLookupFilter patientLookupFilter = new PatientLookupFilter(
+      new LookupFilterProperties(true, 0.01, DataSize.ofMegabytes(1), Duration.ofHours(1),
+          Duration.ofSeconds(5)), mock(PatientKeyNotifier.class), meterRegistry);
+
   @InjectMocks
   private PatientService patientService;
 
@@ -46,14 +93,16 @@ class PatientServiceTests {
   @Test
   @DisplayName("should retrieve all patients when repository returns empty list")
   void shouldRetrieveAllPatientsWhenRepositoryReturnsEmptyList() {
-    when(patientRepository.findAll()).thenReturn(List.of());
+    when(patientRepository.findViewsByOrderByRegisteredDateAscIdAsc(
+        Limit.of(PatientService.MAX_LIST_SIZE))).thenReturn(List.of());
 
     List<PatientDTO> patients = patientService.getAllPatients();
 
     assertNotNull(patients);
     assertEquals(0, patients.size());
-    verify(patientMapper, times(0)).toDto(any(Patient.class));
-    verify(patientRepository, times(1)).findAll();
+    verify(patientMapper, times(0)).toDto(any(PatientView.class));
+    verify(patientRepository, times(1)).findViewsByOrderByRegisteredDateAscIdAsc(
+        Limit.of(PatientService.MAX_LIST_SIZE));
   }
 
   @Test
@@ -62,7 +111,9 @@ class PatientServiceTests {
     List<Patient> existingEntities = Stream.generate(UtilityService::buildRandomPatient)
         .limit(5).toList();
 
-    when(patientRepository.findAll()).thenReturn(existingEntities);
+    when(patientRepository.findViewsByOrderByRegisteredDateAscIdAsc(
+        Limit.of(PatientService.MAX_LIST_SIZE)))
+        .thenReturn(existingEntities.stream().map(UtilityService::toPatientView).toList());
 
     List<PatientDTO> patients = patientService.getAllPatients();
 
@@ -71,9 +122,96 @@ class PatientServiceTests {
     assertDeepObjectEquals(existingEntities, patients);
 
     verify(patientMapper,
-        times(existingEntities.size())).toDto(any(Patient.class));
-    verify(patientRepository, times(1)).findAll();
+        times(existingEntities.size())).toDto(any(PatientView.class));
+    verify(patientRepository, times(1)).findViewsByOrderByRegisteredDateAscIdAsc(
+        Limit.of(PatientService.MAX_LIST_SIZE));
+
+  }
+
+  @Test
+  @DisplayName("should return first page with next cursor when more patients exist")
+  void shouldReturnFirstPageWithNextCursorWhenMorePatientsExist() {
+    List<PatientView> rows = Stream.generate(UtilityService::buildRandomPatient)
+        .map(UtilityService::toPatientView)
+        .limit(3)
+        .toList();
+
+    when(patientRepository.findViewsByOrderByRegisteredDateAscIdAsc(Limit.of(3)))
+        .thenReturn(rows);
+
+    PatientPageDTO page = patientService.getPatientsPage(null, 2);
+
+    assertAll(
+        () -> assertEquals(2, page.patients().size()),
+        () -> assertEquals(rows.get(1).getId(), page.patients().get(1).getId()),
+        () -> assertEquals(PatientCursor.of(rows.get(1)), PatientCursor.decode(page.next()))
+    );
+    verify(patientMapper, times(2)).toDto(any(PatientView.class));
+  }
+
+  @Test
+  @DisplayName("should seek after cursor and return no next cursor on the last page")
+  void shouldSeekAfterCursorAndReturnNoNextCursorOnLastPage() {
+    PatientView last = UtilityService.toPatientView(UtilityService.buildRandomPatient());
+    PatientCursor cursor = PatientCursor.of(
+        UtilityService.toPatientView(UtilityService.buildRandomPatient()));
+
+    when(patientRepository.findPageAfter(cursor.registeredDate(), cursor.id(), Limit.of(3)))
+        .thenReturn(List.of(last));
+
+    PatientPageDTO page = patientService.getPatientsPage(cursor.encode(), 2);
+
+    assertAll(
+        () -> assertEquals(1, page.patients().size()),
+        () -> assertEquals(last.getId(), page.patients().getFirst().getId()),
+        () -> assertNull(page.next())
+    );
+    verify(patientRepository, times(1)).findPageAfter(cursor.registeredDate(), cursor.id(),
+        Limit.of(3));
+  }
+
+  @Test
+  @DisplayName("should clamp page size to the maximum page size")
+  void shouldClampPageSizeToMaximumPageSize() {
+    when(patientRepository.findViewsByOrderByRegisteredDateAscIdAsc(
+        Limit.of(PatientService.MAX_PAGE_SIZE + 1))).thenReturn(List.of());
+
+    PatientPageDTO page = patientService.getPatientsPage(null, Integer.MAX_VALUE);
+
+    assertEquals(0, page.patients().size());
+    assertNull(page.next());
+  }
+
+  @Test
+  @DisplayName("should throw exception when page limit is not positive")
+  void shouldThrowExceptionWhenPageLimitIsNotPositive() {
+    assertThrows(IllegalArgumentException.class, () -> patientService.getPatientsPage(null, 0));
+  }
+
+  @Test
+  @DisplayName("should reject address filters too short to use the trigram index")
+  void shouldRejectAddressFiltersTooShortToUseTrigramIndex() {
+    PatientSearchCriteria criteria = new PatientSearchCriteria(null, null, null, null, null, "ab");
+
+    assertThrows(IllegalArgumentException.class, () -> patientService.searchPatients(criteria,
+        PatientSearchSort.REGISTERED_DATE, Sort.Direction.ASC, null, 10));
+    verifyNoInteractions(patientRepository);
+  }
+
+  @Test
+  @DisplayName("should export every patient in order")
+  void shouldExportEveryPatientInOrder() {
+    List<Patient> existingEntities = Stream.generate(UtilityService::buildRandomPatient)
+        .limit(5).toList();
+    List<PatientDTO> exported = new ArrayList<>();
+
+    when(patientRepository.streamViewsByOrderByRegisteredDateAscIdAsc())
+        .thenReturn(existingEntities.stream().map(UtilityService::toPatientView));
+
+    long count = patientService.exportPatients(exported::add);
 
+    assertEquals(existingEntities.size(), count);
+    assertDeepObjectEquals(existingEntities, exported);
   }
 
   @Test
@@ -86,38 +224,218 @@ class PatientServiceTests {
     PatientDTO expectedPatientDTO = UtilityService.convertObjectToObject(existingPatient,
         PatientDTO.class);
 
-    when(patientRepository.findById(patientId)).thenReturn(Optional.of(existingPatient));
+    when(patientRepository.findViewById(patientId))
+        .thenReturn(Optional.of(UtilityService.toPatientView(existingPatient)));
 
     PatientDTO actualPatientDTO = patientService.getPatientById(patientId);
 
     assertNotNull(actualPatientDTO);
     assertDeepObjectEquals(expectedPatientDTO, actualPatientDTO);
-    verify(patientRepository, times(1)).findById(patientId);
-    verify(patientMapper, times(1)).toDto(existingPatient);
+    verify(patientRepository, times(1)).findViewById(patientId);
+    verify(patientRepository, times(0)).findById(patientId);
+    verify(patientMapper, times(1)).toDto(any(PatientView.class));
+  }
+
+  @Test
+  @DisplayName("should retrieve patient by ID from cache without querying the repository")
+  void shouldRetrievePatientByIdFromCacheWithoutQueryingRepository() {
+    PatientDTO cachedPatient = UtilityService.buildRandomPatientDTO();
+    cachedPatient.setId(UUID.randomUUID());
+
+    when(patientCache.getById(cachedPatient.getId())).thenReturn(Optional.of(cachedPatient));
+
+    assertEquals(cachedPatient, patientService.getPatientById(cachedPatient.getId()));
+    verify(patientRepository, times(0)).findViewById(any(UUID.class));
+    assertEquals(1, timerCount("getPatientById", PatientMetrics.OUTCOME_FOUND));
+  }
+
+  @Test
+  @DisplayName("should cache patient retrieved by email on a cache miss")
+  void shouldCachePatientRetrievedByEmailOnCacheMiss() {
+    Patient existingPatient = UtilityService.buildRandomPatient();
+
+    when(patientRepository.findViewByEmail(existingPatient.getEmail()))
+        .thenReturn(Optional.of(UtilityService.toPatientView(existingPatient)));
+
+    PatientDTO actualPatientDTO = patientService.getPatientByEmail(existingPatient.getEmail());
+
+    verify(patientCache, times(1)).put(actualPatientDTO);
+  }
+
+  @Test
+  @DisplayName("should look up patient by normalized email")
+  void shouldLookUpPatientByNormalizedEmail() {
+    Patient existingPatient = UtilityService.buildRandomPatient();
+    existingPatient.setEmail("jane.doe@example.com");
+
+    when(patientRepository.findViewByEmail("jane.doe@example.com"))
+        .thenReturn(Optional.of(UtilityService.toPatientView(existingPatient)));
+
+    PatientDTO actualPatientDTO = patientService.getPatientByEmail("Jane.Doe@Example.com");
+
+    assertEquals("jane.doe@example.com", actualPatientDTO.getEmail());
+    verify(patientCache, times(1)).getByEmail("jane.doe@example.com");
   }
 
   @Test
   @DisplayName("should throw exception when retrieving patient by non-existent ID")
   void shouldThrowExceptionWhenRetrievingPatientByNonExistentId() {
     UUID nonExistentId = UUID.randomUUID();
-    when(patientRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+    when(patientRepository.findViewById(nonExistentId)).thenReturn(Optional.empty());
 
     assertThrows(PatientNotFoundException.class,
         () -> patientService.getPatientById(nonExistentId));
-    verify(patientRepository, times(1)).findById(nonExistentId);
+    verify(patientRepository, times(1)).findViewById(nonExistentId);
+
+  }
 
+  @Test
+  @DisplayName("should time a shed lookup as overloaded rather than as an error")
+  void shouldTimeShedLookupAsOverloaded() {
+    UUID patientId = UUID.randomUUID();
+    when(patientRepository.findViewById(patientId))
+        .thenThrow(new ServiceOverloadedException("overloaded", Duration.ofSeconds(1)));
+
+    assertThrows(ServiceOverloadedException.class,
+        () -> patientService.getPatientById(patientId));
+
+    assertEquals(1, timerCount("getPatientById", PatientMetrics.OUTCOME_OVERLOADED));
+    assertEquals(0, timerCount("getPatientById", PatientMetrics.OUTCOME_ERROR));
+  }
+
+  @Test
+  @DisplayName("should answer lookups the lookup filter rules out without querying the repository")
+  void shouldAnswerLookupsRuledOutByLookupFilterWithoutQueryingRepository() {
+    Patient existing = UtilityService.buildRandomPatient();
+    buildLookupFilter(existing);
+    UUID missingId = UUID.randomUUID();
+
+    assertThrows(PatientNotFoundException.class, () -> patientService.getPatientById(missingId));
+    assertThrows(PatientNotFoundException.class,
+        () -> patientService.getPatientVersion(missingId));
+    assertThrows(PatientNotFoundException.class,
+        () -> patientService.getPatientByEmail("nobody@example.com"));
+    verifyNoInteractions(patientRepository);
+    assertEquals(1, timerCount("getPatientById", PatientMetrics.OUTCOME_NOT_FOUND));
+  }
+
+  @Test
+  @DisplayName("should still query the repository for IDs the lookup filter may contain")
+  void shouldQueryRepositoryForIdsLookupFilterMayContain() {
+    Patient existing = UtilityService.buildRandomPatient();
+    buildLookupFilter(existing);
+    when(patientRepository.findViewById(existing.getId()))
+        .thenReturn(Optional.of(UtilityService.toPatientView(existing)));
+
+    PatientDTO patient = patientService.getPatientById(existing.getId());
+
+    assertEquals(existing.getId(), patient.getId());
+  }
+
+  @Test
+  @DisplayName("should leave keys the lookup filter rules out out of batch-get queries")
+  void shouldLeaveKeysRuledOutByLookupFilterOutOfBatchGetQueries() {
+    Patient existing = UtilityService.buildRandomPatient();
+    buildLookupFilter(existing);
+    UUID missingId = UUID.randomUUID();
+    when(patientRepository.findViewsByIdIn(List.of(existing.getId())))
+        .thenReturn(List.of(UtilityService.toPatientView(existing)));
+
+    PatientBatchGetResultDTO result = patientService.batchGetPatients(
+        List.of(existing.getId(), missingId), List.of("nobody@example.com"));
+
+    assertEquals(List.of(existing.getId()),
+        result.patients().stream().map(PatientDTO::getId).toList());
+    assertEquals(List.of(missingId), result.missingIds());
+    assertEquals(List.of("nobody@example.com"), result.missingEmails());
+    verify(patientRepository, times(0)).findViewsByEmails(any());
+  }
+
+  @Test
+  @DisplayName("should batch-get patients from cache and one query per key type in request order")
+  void shouldBatchGetPatientsFromCacheAndOneQueryPerKeyType() {
+    PatientDTO cached = UtilityService.buildRandomPatientDTO();
+    cached.setId(UUID.randomUUID());
+    Patient byId = UtilityService.buildRandomPatient();
+    Patient byEmail = UtilityService.buildRandomPatient();
+    byEmail.setEmail("jane.doe@example.com");
+    UUID missingId = UUID.randomUUID();
+
+    when(patientCache.getById(cached.getId())).thenReturn(Optional.of(cached));
+    when(patientRepository.findViewsByIdIn(List.of(byId.getId(), missingId)))
+        .thenReturn(List.of(UtilityService.toPatientView(byId)));
+    when(patientRepository.findViewsByEmails(List.of("jane.doe@example.com", "nobody@example.com")))
+        .thenReturn(List.of(UtilityService.toPatientView(byEmail)));
+
+    PatientBatchGetResultDTO result = patientService.batchGetPatients(
+        List.of(byId.getId(), cached.getId(), missingId, byId.getId()),
+        List.of("Jane.Doe@Example.com", "nobody@example.com"));
+
+    assertEquals(List.of(byId.getId(), cached.getId(), byEmail.getId()),
+        result.patients().stream().map(PatientDTO::getId).toList());
+    assertEquals(List.of(missingId), result.missingIds());
+    assertEquals(List.of("nobody@example.com"), result.missingEmails());
+    verify(patientRepository, times(1)).findViewsByIdIn(any());
+    verify(patientRepository, times(1)).findViewsByEmails(any());
+    verify(patientCache, times(2)).put(any(PatientDTO.class));
+  }
+
+  @Test
+  @DisplayName("should list a patient requested by both ID and email once")
+  void shouldListPatientRequestedByBothIdAndEmailOnce() {
+    PatientDTO cached = UtilityService.buildRandomPatientDTO();
+    cached.setId(UUID.randomUUID());
+    cached.setEmail("jane.doe@example.com");
+    when(patientCache.getById(cached.getId())).thenReturn(Optional.of(cached));
+    when(patientCache.getByEmail(cached.getEmail())).thenReturn(Optional.of(cached));
+
+    PatientBatchGetResultDTO result = patientService.batchGetPatients(List.of(cached.getId()),
+        List.of("Jane.Doe@Example.com"));
+
+    assertEquals(List.of(cached), result.patients());
+    assertEquals(List.of(), result.missingEmails());
+  }
+
+  @Test
+  @DisplayName("should not query the repository when every batch-get key is cached")
+  void shouldNotQueryRepositoryWhenEveryBatchGetKeyIsCached() {
+    PatientDTO cached = UtilityService.buildRandomPatientDTO();
+    cached.setId(UUID.randomUUID());
+    when(patientCache.getById(cached.getId())).thenReturn(Optional.of(cached));
+
+    PatientBatchGetResultDTO result = patientService.batchGetPatients(List.of(cached.getId()),
+        null);
+
+    assertEquals(List.of(cached), result.patients());
+    verifyNoInteractions(patientRepository);
+  }
+
+  @Test
+  @DisplayName("should reject a batch-get with too many keys")
+  void shouldRejectBatchGetWithTooManyKeys() {
+    List<UUID> ids = Stream.generate(UUID::randomUUID)
+        .limit(PatientService.MAX_BATCH_GET_SIZE + 1)
+        .toList();
+
+    IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+        () -> patientService.batchGetPatients(ids, List.of()));
+
+    assertEquals(String.format(PatientService.ERROR_MESSAGE_BATCH_GET_TOO_LARGE,
+        PatientService.MAX_BATCH_GET_SIZE, PatientService.MAX_BATCH_GET_SIZE + 1), ex.getMessage());
+    verifyNoInteractions(patientRepository);
   }
 
   @Test
   @DisplayName("should throw exception when retrieving patient by non-existent email")
   void shouldThrowExceptionWhenRetrievingPatientByNonExistentEmail() {
     String nonExistentEmail = "nonexistent@example.com";
-    when(patientRepository.findByEmail(nonExistentEmail)).thenReturn(Optional.empty());
+    when(patientRepository.findViewByEmail(nonExistentEmail)).thenReturn(Optional.empty());
 
     assertThrows(PatientNotFoundException.class,
         () -> patientService.getPatientByEmail(nonExistentEmail));
 
-    verify(patientRepository, times(1)).findByEmail(nonExistentEmail);
+    verify(patientRepository, times(1)).findViewByEmail(nonExistentEmail);
+    assertEquals(1, timerCount("getPatientByEmail", PatientMetrics.OUTCOME_NOT_FOUND));
   }
 
   @Test
@@ -132,10 +450,9 @@ class PatientServiceTests {
     Patient patientEntity = UtilityService.convertObjectToObject(patientDTO, Patient.class);
     patientEntity.setId(patientId);
 
-    when(patientRepository.existsByEmail(patientDTO.getEmail())).thenReturn(false);
     when(patientMapper.toEntity(patientDTO)).thenReturn(patientEntity);
 
-    when(patientRepository.save(any(Patient.class))).thenReturn(patientEntity);
+    when(patientRepository.saveAndFlush(any(Patient.class))).thenReturn(patientEntity);
     when(patientMapper.toDto(patientEntity)).thenReturn(patientDTO);
 
     PatientDTO createdPatient = patientService.createPatient(patientDTO);
@@ -149,10 +466,13 @@ class PatientServiceTests {
         () -> assertEquals(patientDTO.getName(), createdPatient.getName())
     );
 
-    verify(patientRepository, times(1)).existsByEmail(patientDTO.getEmail());
     verify(patientMapper, times(1)).toEntity(patientDTO);
-    verify(patientRepository, times(1)).save(any(Patient.class));
+    verify(patientRepository, times(1)).saveAndFlush(any(Patient.class));
+    verify(patientRepository, times(0)).existsByEmail(any());
     verify(patientMapper, times(1)).toDto(any(Patient.class));
+    verify(patientOutbox, times(1)).append(argThat(event ->
+        event.type() == PatientEventType.CREATED && event.patientId().equals(patientId)));
+    verify(patientLookupFilter, times(1)).recordWrite(patientId, patientEntity.getEmail());
 
   }
 
@@ -162,37 +482,112 @@ class PatientServiceTests {
     UUID patientId = UUID.randomUUID();
 
     PatientDTO patientDTO = UtilityService.buildRandomPatientDTO();
-    patientDTO.setId(patientId);
 
-    Patient existingPatient = UtilityService.convertObjectToObject(patientDTO, Patient.class);
-    existingPatient.setId(patientId);
+    when(patientRepository.updateById(patientId, patientDTO.getName(), patientDTO.getEmail(),
+        patientDTO.getAddress(), patientDTO.getDateOfBirth(), patientDTO.getRegisteredDate()))
+        .thenReturn(Optional.of(4L));
 
-    PatientDTO expectedPatientDTO = UtilityService.convertObjectToObject(existingPatient,
-        PatientDTO.class);
-
-    when(patientRepository.existsById(patientId)).thenReturn(true);
-    when(patientRepository.existsByEmailAndIdNot(patientDTO.getEmail(), patientId))
-        .thenReturn(false);
-    when(patientMapper.toEntity(patientDTO)).thenReturn(existingPatient);
-    when(patientRepository.save(any(Patient.class))).thenReturn(existingPatient);
-    when(patientMapper.toDto(existingPatient)).thenReturn(expectedPatientDTO);
-
-    PatientDTO updatedPatient = patientService.updatePatient(patientId, patientDTO);
+    PatientDTO updatedPatient = patientService.updatePatient(patientId, patientDTO, null);
 
     assertAll(
         () -> assertNotNull(updatedPatient),
-        () -> assertEquals(expectedPatientDTO.getId(), updatedPatient.getId()),
-        () -> assertEquals(expectedPatientDTO.getEmail(), updatedPatient.getEmail()),
-        () -> assertEquals(expectedPatientDTO.getRegisteredDate(),
-            updatedPatient.getRegisteredDate()),
-        () -> assertEquals(expectedPatientDTO.getDateOfBirth(), updatedPatient.getDateOfBirth()),
-        () -> assertEquals(expectedPatientDTO.getName(), updatedPatient.getName())
+        () -> assertEquals(patientId, updatedPatient.getId()),
+        () -> assertEquals(patientDTO.getEmail(), updatedPatient.getEmail()),
+        () -> assertEquals(patientDTO.getRegisteredDate(), updatedPatient.getRegisteredDate()),
+        () -> assertEquals(patientDTO.getDateOfBirth(), updatedPatient.getDateOfBirth()),
+        () -> assertEquals(patientDTO.getName(), updatedPatient.getName()),
+        () -> assertEquals(4L, updatedPatient.getVersion())
     );
-    verify(patientRepository, times(1)).existsById(patientId);
-    verify(patientRepository, times(1)).existsByEmailAndIdNot(patientDTO.getEmail(), patientId);
-    verify(patientMapper, times(1)).toEntity(patientDTO);
-    verify(patientRepository, times(1)).save(any(Patient.class));
-    verify(patientMapper, times(1)).toDto(any(Patient.class));
+    verify(patientRepository, times(0)).existsById(any());
+    verify(patientRepository, times(0)).existsByEmailAndIdNot(any(), any());
+    verify(patientRepository, times(0)).save(any(Patient.class));
+    verify(patientCache, times(1)).evict(patientId, 4L);
+    verify(patientCache, times(1)).evictEmail(patientDTO.getEmail());
+    verify(patientOutbox, times(1)).append(argThat(event ->
+        event.type() == PatientEventType.UPDATED && event.version() == 4L));
+  }
+
+  @Test
+  @DisplayName("should update patient only at the expected version")
+  void shouldUpdatePatientOnlyAtExpectedVersion() {
+    UUID patientId = UUID.randomUUID();
+    PatientDTO patientDTO = UtilityService.buildRandomPatientDTO();
+
+    when(patientRepository.updateByIdAndVersionIn(patientId, Set.of(3L), patientDTO.getName(),
+        patientDTO.getEmail(), patientDTO.getAddress(), patientDTO.getDateOfBirth(),
+        patientDTO.getRegisteredDate())).thenReturn(Optional.of(4L));
+
+    PatientDTO updatedPatient = patientService.updatePatient(patientId, patientDTO, Set.of(3L));
+
+    assertEquals(4L, updatedPatient.getVersion());
+    verify(patientRepository, times(0)).existsById(any());
+  }
+
+  @Test
+  @DisplayName("should throw version mismatch when updating a patient at another version")
+  void shouldThrowVersionMismatchWhenUpdatingPatientAtAnotherVersion() {
+    UUID patientId = UUID.randomUUID();
+    PatientDTO patientDTO = new PatientDTO();
+
+    when(patientRepository.updateByIdAndVersionIn(patientId, Set.of(3L), null, null, null, null,
+        null)).thenReturn(Optional.empty());
+    when(patientRepository.existsById(patientId)).thenReturn(true);
+
+    assertThrows(PatientVersionMismatchException.class,
+        () -> patientService.updatePatient(patientId, patientDTO, Set.of(3L)));
+    verify(patientCache, times(0)).evict(eq(patientId), anyLong());
+  }
+
+  @Test
+  @DisplayName("should throw version mismatch without writing when no version can match")
+  void shouldThrowVersionMismatchWithoutWritingWhenNoVersionCanMatch() {
+    UUID patientId = UUID.randomUUID();
+    when(patientRepository.existsById(patientId)).thenReturn(true);
+
+    assertThrows(PatientVersionMismatchException.class,
+        () -> patientService.updatePatient(patientId, new PatientDTO(), Set.of()));
+    assertThrows(PatientVersionMismatchException.class,
+        () -> patientService.deletePatient(patientId, Set.of()));
+    verify(patientRepository, times(0)).updateByIdAndVersionIn(any(), any(), any(), any(), any(),
+        any(), any());
+    verify(patientRepository, times(0)).deleteByIdAndVersionIn(any(), any());
+  }
+
+  @Test
+  @DisplayName("should delete patient in one statement when the expected version matches")
+  void shouldDeletePatientInOneStatementWhenExpectedVersionMatches() {
+    UUID patientId = UUID.randomUUID();
+
+    when(patientRepository.deleteByIdAndVersionIn(patientId, Set.of(2L))).thenReturn(1);
+
+    patientService.deletePatient(patientId, Set.of(2L));
+
+    verify(patientRepository, times(0)).existsById(any());
+    verify(patientCache, times(1)).evict(patientId);
+  }
+
+  @Test
+  @DisplayName("should throw not found when deleting a missing patient at an expected version")
+  void shouldThrowNotFoundWhenDeletingMissingPatientAtExpectedVersion() {
+    UUID patientId = UUID.randomUUID();
+
+    when(patientRepository.deleteByIdAndVersionIn(patientId, Set.of(2L))).thenReturn(0);
+    when(patientRepository.existsById(patientId)).thenReturn(false);
+
+    assertThrows(PatientNotFoundException.class,
+        () -> patientService.deletePatient(patientId, Set.of(2L)));
+  }
+
+  @Test
+  @DisplayName("should return cached version without querying repository")
+  void shouldReturnCachedVersionWithoutQueryingRepository() {
+    PatientDTO cached = UtilityService.buildRandomPatientDTO();
+    cached.setId(UUID.randomUUID());
+
+    when(patientCache.getById(cached.getId())).thenReturn(Optional.of(cached));
+
+    assertEquals(cached.getVersion(), patientService.getPatientVersion(cached.getId()));
+    verify(patientRepository, times(0)).findVersionById(any());
   }
 
   @Test
@@ -202,10 +597,13 @@ class PatientServiceTests {
 
     when(patientRepository.existsById(patientId)).thenReturn(true);
 
-    patientService.deletePatient(patientId);
+    patientService.deletePatient(patientId, null);
 
     verify(patientRepository, times(1)).existsById(patientId);
     verify(patientRepository, times(1)).deleteById(patientId);
+    verify(patientCache, times(1)).evict(patientId);
+    verify(patientOutbox, times(1)).append(argThat(event ->
+        event.type() == PatientEventType.DELETED && event.patientId().equals(patientId)));
   }
 
   @Test
@@ -222,21 +620,72 @@ class PatientServiceTests {
 
     verify(patientRepository, times(1)).findByEmail(patientEmail);
     verify(patientRepository, times(1)).delete(existingPatient);
+    verify(patientCache, times(1)).evict(existingPatient.getId());
+    verify(patientCache, times(1)).evictEmail(patientEmail);
+  }
+
+  @Test
+  @DisplayName("should report possible duplicates other than the created patient")
+  void shouldReportPossibleDuplicatesOtherThanCreatedPatient() {
+    PatientDTO patientDTO = UtilityService.buildRandomPatientDTO();
+    Patient saved = UtilityService.buildRandomPatient();
+    saved.setId(UUID.randomUUID());
+    UUID duplicateId = UUID.randomUUID();
+    PatientMatch self = mock(PatientMatch.class);
+    when(self.getId()).thenReturn(saved.getId());
+    PatientMatch duplicate = mock(PatientMatch.class);
+    when(duplicate.getId()).thenReturn(duplicateId);
+
+    when(patientRepository.saveAndFlush(any(Patient.class))).thenReturn(saved);
+    when(patientRepository.findPossibleDuplicates(saved.getName().toLowerCase(),
+        saved.getDateOfBirth(), saved.getAddress().toLowerCase(),
+        PatientService.DUPLICATE_SIMILARITY_THRESHOLD, PatientService.MAX_POSSIBLE_DUPLICATES + 1))
+        .thenReturn(List.of(self, duplicate));
+
+    PatientDTO createdPatient = patientService.createPatient(patientDTO);
+
+    assertEquals(List.of(duplicateId), createdPatient.getPossibleDuplicates());
+  }
+
+  @Test
+  @DisplayName("should reject fuzzy search thresholds below the trigram index threshold")
+  void shouldRejectFuzzySearchThresholdsBelowTrigramIndexThreshold() {
+    assertThrows(IllegalArgumentException.class,
+        () -> patientService.fuzzySearchByName("jon", 0.1, 10));
+    verifyNoInteractions(patientRepository);
   }
 
   @Test
   @DisplayName("should throw exception when creating patient with existing email")
   void shouldThrowExceptionWhenCreatingPatientWithExistingEmail() {
-    PatientDTO patientDTO = new PatientDTO();
-
+    PatientDTO patientDTO = UtilityService.buildRandomPatientDTO();
     patientDTO.setEmail("existing@example.com");
 
-    when(patientRepository.existsByEmail(patientDTO.getEmail())).thenReturn(true);
+    when(patientRepository.saveAndFlush(any(Patient.class))).thenThrow(
+        new DataIntegrityViolationException("duplicate key",
+            new SQLException("duplicate key value violates unique constraint", "23505")));
 
     assertThrows(EmailAlreadyExistsException.class,
         () -> patientService.createPatient(patientDTO));
-    verify(patientRepository, times(1)).existsByEmail(patientDTO.getEmail());
+    verify(patientRepository, times(1)).saveAndFlush(any(Patient.class));
+    verify(patientCache, times(0)).evictEmail(any());
+    verify(patientOutbox, times(0)).append(any(PatientEvent.class));
+    assertEquals(1, timerCount("createPatient", PatientMetrics.OUTCOME_CONFLICT));
+    assertEquals(0, timerCount("createPatient", PatientMetrics.OUTCOME_SUCCESS));
+
+  }
+
+  @Test
+  @DisplayName("should rethrow non-unique constraint violations when creating patient")
+  void shouldRethrowNonUniqueConstraintViolationsWhenCreatingPatient() {
+    PatientDTO patientDTO = UtilityService.buildRandomPatientDTO();
+
+    when(patientRepository.saveAndFlush(any(Patient.class))).thenThrow(
+        new DataIntegrityViolationException("not null",
+            new SQLException("null value violates not-null constraint", "23502")));
 
+    assertThrows(DataIntegrityViolationException.class,
+        () -> patientService.createPatient(patientDTO));
   }
 
   @Test
@@ -247,11 +696,12 @@ class PatientServiceTests {
     PatientDTO patientDTO = new PatientDTO();
     patientDTO.setEmail("update@example.com");
 
-    when(patientRepository.existsById(nonExistentId)).thenReturn(false);
+    when(patientRepository.updateById(nonExistentId, null, patientDTO.getEmail(), null, null,
+        null)).thenReturn(Optional.empty());
 
     assertThrows(PatientNotFoundException.class,
-        () -> patientService.updatePatient(nonExistentId, patientDTO));
-    verify(patientRepository, times(1)).existsById(nonExistentId);
+        () -> patientService.updatePatient(nonExistentId, patientDTO, null));
+    verify(patientCache, times(0)).evict(eq(nonExistentId), anyLong());
 
   }
 
@@ -263,16 +713,15 @@ class PatientServiceTests {
     PatientDTO patientDTO = new PatientDTO();
     patientDTO.setEmail("existing@example.com");
 
-    when(patientRepository.existsById(patientId)).thenReturn(true);
-    when(patientRepository.existsByEmailAndIdNot(patientDTO.getEmail(), patientId)).thenReturn(
-        true);
+    when(patientRepository.updateById(patientId, null, patientDTO.getEmail(), null, null, null))
+        .thenThrow(new DataIntegrityViolationException("duplicate key",
+            new SQLException("duplicate key value violates unique constraint", "23505")));
 
     assertThrows(EmailAlreadyExistsException.class,
-        () -> patientService.updatePatient(patientId, patientDTO));
+        () -> patientService.updatePatient(patientId, patientDTO, null));
 
-    verify(patientRepository, times(1)).existsById(patientId);
-    verify(patientRepository, times(1)).existsByEmailAndIdNot(patientDTO.getEmail(), patientId);
     verify(patientMapper, times(0)).toEntity(any(PatientDTO.class));
+    verify(patientCache, times(0)).evict(eq(patientId), anyLong());
   }
 
   @Test
@@ -283,7 +732,7 @@ class PatientServiceTests {
     when(patientRepository.existsById(nonExistentId)).thenReturn(false);
 
     assertThrows(PatientNotFoundException.class,
-        () -> patientService.deletePatient(nonExistentId));
+        () -> patientService.deletePatient(nonExistentId, null));
 
     verify(patientRepository, times(1)).existsById(nonExistentId);
   }
@@ -301,4 +750,21 @@ class PatientServiceTests {
     verify(patientRepository, times(1)).findByEmail(nonExistentEmail);
   }
 
+  private long timerCount(final String operation, final String outcome) {
+    var timer = meterRegistry.find(PatientMetrics.TIMER_NAME)
+        .tag("operation", operation)
+        .tag("outcome", outcome)
+        .timer();
+    return timer == null ? 0 : timer.count();
+  }
+
+  private void buildLookupFilter(final Patient... patients) {
+    patientLookupFilter.trackingStarted();
+    patientLookupFilter.rebuild(patients.length, keys -> {
+      for (Patient patient : patients) {
+        keys.accept(patient.getId(), patient.getEmail());
+      }
+    });
+  }
+
 }
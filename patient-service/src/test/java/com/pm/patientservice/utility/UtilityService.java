@@ -9,7 +9,10 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.pm.patientservice.model.dto.PatientDTO;
 import com.pm.patientservice.model.entities.Patient;
+import com.pm.patientservice.model.projections.PatientView;
 import org.instancio.Instancio;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 public final class UtilityService {
 
@@ -21,6 +24,9 @@ public final class UtilityService {
       .configure(SerializationFeature.WRITE_DATES_WITH_ZONE_ID, true)
       .configure(SerializationFeature.WRITE_DATES_WITH_CONTEXT_TIME_ZONE, true);
 
+  private static final ProjectionFactory PROJECTION_FACTORY =
+      new SpelAwareProxyProjectionFactory();
+
   private UtilityService() {
     // Utility class, no instantiation allowed
   }
@@ -41,6 +47,8 @@ public final class UtilityService {
         .generate(field(PatientDTO::getRegisteredDate), gen -> gen.temporal().localDate().past())
         .generate(field(PatientDTO::getDateOfBirth), gen -> gen.temporal().localDate().past())
         .generate(field(PatientDTO::getEmail), gen -> gen.net().email())
+        .generate(field(PatientDTO::getVersion), gen -> gen.longs().min(0L))
+        .ignore(field(PatientDTO::getPossibleDuplicates))
         .create();
   }
 
@@ -56,6 +64,7 @@ public final class UtilityService {
   // Helper method to create a Patient with random data
   public static Patient buildRandomPatient() {
     return Instancio.of(Patient.class)
+        .ignore(field(Patient::getVersion))
         .generate(field(Patient::getEmail), gen -> gen.net().email())
         .generate(field(Patient::getRegisteredDate), gen -> gen.temporal().localDate().past())
         .generate(field(Patient::getDateOfBirth), gen -> gen.temporal().localDate().past())
@@ -63,6 +72,17 @@ public final class UtilityService {
   }
 
 
+  /**
+   * Builds a PatientView backed by the given patient, as a repository projection would return.
+   *
+   * @param patient the patient to expose
+   * @return a PatientView reading from the patient
+   */
+  public static PatientView toPatientView(final Patient patient) {
+    return PROJECTION_FACTORY.createProjection(PatientView.class, patient);
+  }
+
+
   /**
    * Converts an object of type T to a JSON string.
    *